@@ -0,0 +1,35 @@
+package com.pool.adapter.executor;
+
+/**
+ * Permission to run one task, granted by {@link PoolExecutor#acquire}.
+ * The holder runs the work itself and reports when it is done, so limits on
+ * in-flight work see the completion.
+ */
+public interface Admission extends AutoCloseable {
+
+    /**
+     * Executor the work was admitted to.
+     */
+    String getExecutorId();
+
+    /**
+     * Report that the admitted work finished. Only the first call counts.
+     *
+     * @param success false if the work failed
+     */
+    void release(boolean success);
+
+    /**
+     * Give the admission back without running the work. Frees its in-flight
+     * slot without reporting a latency or outcome. Ignored after a release.
+     */
+    void abandon();
+
+    /**
+     * Report that the admitted work finished successfully.
+     */
+    @Override
+    default void close() {
+        release(true);
+    }
+}
@@ -3,8 +3,11 @@ package com.pool.adapter.executor;
 import com.pool.core.TaskContext;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Main entry point for submitting tasks to Pool.
@@ -32,6 +35,37 @@ public interface PoolExecutor {
      */
     <T> Future<T> submit(TaskContext context, Callable<T> task);
 
+    /**
+     * Acquire admission for work the caller runs on its own thread.
+     * <p>
+     * The future completes when the request is admitted, immediately if there is
+     * capacity, otherwise once it leaves the priority queue. Cancelling it or letting it
+     * time out ({@link CompletableFuture#orTimeout}) removes the queued request.
+     * Stages chained on it never run on a queue drainer thread.
+     *
+     * @param context Task context containing variables for priority calculation
+     * @return Future of the admission; the caller must release it when its work is done.
+     * Completes exceptionally with {@link com.pool.exception.TaskRejectedException} if the queue is full
+     * @throws com.pool.exception.TaskRejectedException if executor is shutdown
+     */
+    CompletableFuture<Admission> acquire(TaskContext context);
+
+    /**
+     * Start asynchronous work once admitted, without blocking any thread while queued.
+     * <p>
+     * {@code task} is called on the admitting thread (the caller's, or a pool thread
+     * for queued requests) and should only start the work. Its stage's completion
+     * releases the admission. Cancelling the returned future before admission removes
+     * the queued request.
+     *
+     * @param context Task context containing variables for priority calculation
+     * @param task    Starts the work and returns its completion stage
+     * @param <T>     Result type of the work
+     * @return Future completing with the work's result
+     * @throws com.pool.exception.TaskRejectedException if executor is shutdown
+     */
+    <T> CompletableFuture<T> submitAsync(TaskContext context, Supplier<? extends CompletionStage<T>> task);
+
     /**
      * Graceful shutdown - waits for queued tasks to complete.
      */
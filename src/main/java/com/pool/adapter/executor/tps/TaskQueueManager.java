@@ -6,15 +6,19 @@ import com.pool.core.TaskContext;
 import com.pool.exception.TaskRejectedException;
 import com.pool.exception.TpsExceededException;
 import com.pool.priority.PriorityKey;
+import com.pool.strategy.PartitionedStrategy;
 import com.pool.strategy.PriorityStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Manages per-executor priority queues, capacity signaling, drainer threads,
@@ -24,33 +28,58 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 1. Fire-and-forget: executeTask / queueTask for Runnable tasks
  * 2. Blocking admission: queueAndAwait for the AOP aspect — caller blocks
  *    on a CompletableFuture until the drainer acquires TPS capacity
+ *
+ * A root backed by a {@link PartitionedStrategy} is drained per target
+ * executor, so a throttled child does not hold up its siblings.
  */
 public class TaskQueueManager {
 
     private static final Logger log = LoggerFactory.getLogger(TaskQueueManager.class);
+    // Idle drainers block on their queue and are interrupted on shutdown;
+    // the bound only limits how long a missed wakeup could go unnoticed
+    private static final long IDLE_WAIT_MS = TimeUnit.MINUTES.toMillis(1);
+    // Most tasks a drainer takes from its queue in one pass
+    private static final int MAX_DRAIN_BATCH = 1024;
 
     private final ExecutorHierarchy hierarchy;
     private final TpsGate tpsGate;
     private final Map<String, PriorityStrategy<QueuedTask>> executorStrategies;
     private final ExecutorService threadPool;
+    private final ThreadFactory drainerThreadFactory;
     private final Map<String, Thread> drainerThreads = new ConcurrentHashMap<>();
     private final Map<String, java.util.concurrent.locks.ReentrantLock> capacityLocks;
     private final Map<String, java.util.concurrent.locks.Condition> capacityConditions;
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
     private final AtomicInteger activeCount = new AtomicInteger(0);
     private final AtomicInteger executedCount = new AtomicInteger(0);
+    /** Bumped on every capacity signal, so a drainer can tell it missed one before waiting. */
+    private final AtomicLong capacitySignals = new AtomicLong();
 
     public TaskQueueManager(ExecutorHierarchy hierarchy, TpsGate tpsGate,
                             Map<String, PriorityStrategy<QueuedTask>> executorStrategies,
                             Map<String, java.util.concurrent.locks.ReentrantLock> capacityLocks,
                             Map<String, java.util.concurrent.locks.Condition> capacityConditions,
                             ExecutorService threadPool) {
+        this(hierarchy, tpsGate, executorStrategies, capacityLocks, capacityConditions, threadPool,
+                TaskQueueManager::platformDrainer);
+    }
+
+    /**
+     * @param drainerThreadFactory Creates the per-root drainer threads (e.g. virtual threads)
+     */
+    public TaskQueueManager(ExecutorHierarchy hierarchy, TpsGate tpsGate,
+                            Map<String, PriorityStrategy<QueuedTask>> executorStrategies,
+                            Map<String, java.util.concurrent.locks.ReentrantLock> capacityLocks,
+                            Map<String, java.util.concurrent.locks.Condition> capacityConditions,
+                            ExecutorService threadPool,
+                            ThreadFactory drainerThreadFactory) {
         this.hierarchy = hierarchy;
         this.tpsGate = tpsGate;
         this.executorStrategies = executorStrategies;
         this.capacityLocks = capacityLocks;
         this.capacityConditions = capacityConditions;
         this.threadPool = threadPool;
+        this.drainerThreadFactory = drainerThreadFactory;
 
         startDrainers();
         log.info("TaskQueueManager initialized for {} executors", hierarchy.getAllExecutorIds().size());
@@ -58,55 +87,158 @@ public class TaskQueueManager {
 
     private void startDrainers() {
         for (String rootId : hierarchy.getRootIds()) {
-            Thread drainer = new Thread(() -> drainQueue(rootId),
-                    "queue-drainer-" + rootId);
-            drainer.setDaemon(true);
+            Thread drainer = drainerThreadFactory.newThread(() -> drainQueue(rootId));
+            drainer.setName("queue-drainer-" + rootId);
             drainer.start();
             drainerThreads.put(rootId, drainer);
         }
     }
 
+    /**
+     * Default drainer thread factory: a daemon platform thread per root.
+     */
+    public static Thread platformDrainer(Runnable drainer) {
+        Thread thread = new Thread(drainer);
+        thread.setDaemon(true);
+        return thread;
+    }
+
     /**
      * Execute a task immediately on the thread pool.
+     * The executed count is taken when the task starts, so it is already
+     * visible once the task's own future completes.
+     * On completion the task's latency and outcome are reported to the gate,
+     * which frees its in-flight slot on concurrency-limited chains.
      */
     public void executeTask(Runnable task, String requestId, String executorId) {
         activeCount.incrementAndGet();
 
-        threadPool.submit(() -> {
-            try {
-                task.run();
-                executedCount.incrementAndGet();
-            } finally {
-                activeCount.decrementAndGet();
-            }
-        });
+        try {
+            threadPool.submit(() -> {
+                long start = System.nanoTime();
+                boolean success = false;
+                try {
+                    executedCount.incrementAndGet();
+                    task.run();
+                    success = !(task instanceof Future<?> future) || future.state() != Future.State.FAILED;
+                } finally {
+                    activeCount.decrementAndGet();
+                    onComplete(executorId, System.nanoTime() - start, success);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            activeCount.decrementAndGet();
+            tpsGate.releaseConcurrency(executorId, 1);
+            throw e;
+        }
+    }
+
+    /**
+     * Report a finished task to the gate. A freed in-flight slot may be what a
+     * queued task is waiting for, so the root's drainer is woken.
+     *
+     * @param executorId   Executor the task was admitted to
+     * @param latencyNanos How long the task ran
+     * @param success      false if the task failed
+     */
+    public void onComplete(String executorId, long latencyNanos, boolean success) {
+        tpsGate.onComplete(executorId, latencyNanos, success);
+        if (tpsGate.hasConcurrencyLimit(executorId)) {
+            signalCapacity(hierarchy.getRootIdFor(executorId));
+        }
+    }
+
+    /**
+     * Count work admitted through {@code acquire()}, which the caller runs itself,
+     * as executed and active, the same as a task run on the pool.
+     */
+    public void onAcquired() {
+        activeCount.incrementAndGet();
+        executedCount.incrementAndGet();
+    }
+
+    /**
+     * Report acquired work that finished: it is no longer active.
+     *
+     * @see #onComplete(String, long, boolean)
+     */
+    public void onAcquiredComplete(String executorId, long latencyNanos, boolean success) {
+        activeCount.decrementAndGet();
+        onComplete(executorId, latencyNanos, success);
+    }
+
+    /**
+     * Take back an acquired admission that will never run: it was neither
+     * executed nor active.
+     */
+    public void onAcquiredAbandoned(String executorId) {
+        activeCount.decrementAndGet();
+        executedCount.decrementAndGet();
+        releaseAdmission(executorId);
+    }
+
+    /**
+     * Return the in-flight slot of an admission that will never run, waking the drainer.
+     */
+    public void releaseAdmission(String executorId) {
+        if (tpsGate.hasConcurrencyLimit(executorId)) {
+            tpsGate.releaseConcurrency(executorId, 1);
+            signalCapacity(hierarchy.getRootIdFor(executorId));
+        }
     }
 
     /**
      * Queue a task for deferred execution when TPS capacity becomes available.
      * Fire-and-forget mode — task runs on thread pool when dequeued.
+     *
+     * @return Handle of the queued entry, for {@link #remove}
      */
-    public void queueTask(Runnable task, String requestId, String executorId,
+    public PrioritizedPayload<QueuedTask> queueTask(Runnable task, String requestId, String executorId,
                            PriorityKey priorityKey, TaskContext context) {
         PriorityStrategy<QueuedTask> strategy = getStrategy(hierarchy.getRootIdFor(executorId));
 
         QueuedTask queuedTask = new QueuedTask(task, requestId, executorId, priorityKey, context, null);
         PrioritizedPayload<QueuedTask> payload = new PrioritizedPayload<>(queuedTask, requestId, priorityKey);
+        queuedTask.entry().set(payload);
 
         if (!strategy.enqueue(payload)) {
             throw new TaskRejectedException("Queue full for executor '" + executorId +
                     "' (capacity: " + strategy.getCapacity() + "), task rejected: " + requestId);
         }
+        signalPartitionedDrainer(executorId, strategy);
 
         log.debug("Task {} queued for executor '{}' (queue size: {}/{})",
                 requestId, executorId, strategy.getQueueSize(),
                 strategy.getCapacity() > 0 ? strategy.getCapacity() : "unbounded");
+        return payload;
+    }
+
+    /**
+     * Remove a queued task that will never run (cancelled or timed out).
+     * Its queue slot is freed immediately and the drainer never spends TPS on it.
+     * If the drainer has handed the task back to the queue since, its current entry is removed.
+     *
+     * @param handle Handle returned by {@link #queueTask}
+     * @return true if the task was still queued
+     */
+    public boolean remove(PrioritizedPayload<QueuedTask> handle) {
+        PriorityStrategy<QueuedTask> strategy =
+                executorStrategies.get(hierarchy.getRootIdFor(handle.getPayload().executorId()));
+        PrioritizedPayload<QueuedTask> current = handle.getPayload().entry().get();
+        boolean removed = strategy != null && strategy.remove(current != null ? current : handle);
+        if (removed) {
+            log.debug("Queued task {} removed before admission", handle.getTaskId());
+        }
+        return removed;
     }
 
     /**
      * Queue a request and return a CompletableFuture that completes when TPS is acquired.
      * Used by the AOP aspect — the caller blocks on the future with a timeout.
      * When the drainer acquires TPS, it completes the future, and the caller proceeds.
+     * The future is completed on a pool thread, so stages chained on it never run on
+     * the drainer. On concurrency-limited chains the caller must report the end of its
+     * work with {@link #onComplete}, or the in-flight slot is never returned.
      *
      * @return CompletableFuture that completes when admitted, or exceptionally on queue full
      */
@@ -118,10 +250,19 @@ public class TaskQueueManager {
 
         QueuedTask queuedTask = new QueuedTask(null, requestId, executorId, priorityKey, context, future);
         PrioritizedPayload<QueuedTask> payload = new PrioritizedPayload<>(queuedTask, requestId, priorityKey);
+        queuedTask.entry().set(payload);
 
         if (!strategy.enqueue(payload)) {
             future.completeExceptionally(new TaskRejectedException(
                     "Queue full for executor '" + executorId + "' (capacity: " + strategy.getCapacity() + ")"));
+        } else {
+            signalPartitionedDrainer(executorId, strategy);
+            // Caller gave up (timeout/cancel): drop the entry instead of admitting it later
+            future.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    remove(payload);
+                }
+            });
         }
 
         log.debug("Request {} queued for admission to executor '{}' (queue size: {})",
@@ -132,50 +273,181 @@ public class TaskQueueManager {
 
     /**
      * Drains queued tasks when TPS capacity becomes available.
+     * Once the head task is polled, up to the root's free TPS worth of further
+     * tasks is drained with it and admitted in runs, so a window rollover costs
+     * a handful of gate calls instead of one lock round-trip per task.
+     * A drainer blocked on TPS parks until the exact time its chain regains
+     * capacity; an idle drainer blocks on its queue until a task arrives.
      */
     private void drainQueue(String executorId) {
         PriorityStrategy<QueuedTask> strategy = executorStrategies.get(executorId);
         java.util.concurrent.locks.ReentrantLock lock = capacityLocks.get(executorId);
         java.util.concurrent.locks.Condition capacityAvailable = capacityConditions.get(executorId);
 
+        if (strategy instanceof PartitionedStrategy<QueuedTask> partitioned) {
+            drainPartitioned(executorId, partitioned, lock, capacityAvailable);
+            return;
+        }
+
+        ArrayDeque<PrioritizedPayload<QueuedTask>> batch = new ArrayDeque<>();
         while (!shutdown.get()) {
             try {
-                Optional<PrioritizedPayload<QueuedTask>> polled = strategy.pollNext(100, TimeUnit.MILLISECONDS);
-                if (polled.isEmpty()) continue;
+                if (batch.isEmpty()) {
+                    Optional<PrioritizedPayload<QueuedTask>> polled = strategy.pollNext(IDLE_WAIT_MS, TimeUnit.MILLISECONDS);
+                    if (polled.isEmpty()) continue;
+                    batch.add(polled.get());
+                    // Take as many more as the root's TPS could admit right now
+                    int budget = Math.min(MAX_DRAIN_BATCH, tpsGate.getAvailableCapacity(executorId)) - 1;
+                    if (budget > 0) {
+                        strategy.drainTo(batch, budget);
+                    }
+                }
 
-                QueuedTask task = polled.get().getPayload();
+                if (admitBatch(batch, executorId)) {
+                    continue;
+                }
 
-                while (!shutdown.get() && !tpsGate.tryAcquire(task.executorId())) {
-                    lock.lock();
-                    try {
-                        capacityAvailable.await(tpsGate.getWindowSizeMs(), TimeUnit.MILLISECONDS);
-                    } finally {
-                        lock.unlock();
+                // Head is blocked on TPS: hand the rest back so newer, higher-priority
+                // tasks are not stuck behind it, then park until its chain frees up
+                requeueTail(batch, strategy);
+                // The wait is computed before taking the capacity lock: the gate takes counter
+                // locks, and a counter reset signals this lock while holding its own
+                QueuedTask task = batch.peekFirst().getPayload();
+                long seenSignals = capacitySignals.get();
+                long waitMs = Math.max(1, tpsGate.millisUntilCapacity(task.executorId()));
+                lock.lock();
+                try {
+                    // Completions signal under this lock; skip the wait if one slipped in since
+                    if (capacitySignals.get() == seenSignals) {
+                        capacityAvailable.await(waitMs, TimeUnit.MILLISECONDS);
                     }
+                } finally {
+                    lock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
 
-                    // Check if the future has been cancelled/timed out by the caller
-                    if (task.admissionFuture() != null && task.admissionFuture().isDone()) {
-                        log.debug("Queued request {} cancelled/timed out, discarding", task.requestId());
-                        break;
-                    }
+        for (PrioritizedPayload<QueuedTask> held : batch) {
+            requeue(held.getPayload(), strategy);
+        }
+    }
+
+    /**
+     * Admit drained tasks in order. Each run of consecutive tasks for the same
+     * executor takes its TPS with one {@link TpsGate#tryAcquire(String, int)} call.
+     * Tasks whose caller already gave up are discarded without spending TPS.
+     *
+     * @return true if the whole batch was dispatched, false if the head is blocked on TPS
+     */
+    private boolean admitBatch(ArrayDeque<PrioritizedPayload<QueuedTask>> batch, String rootId) {
+        while (!batch.isEmpty()) {
+            QueuedTask head = batch.peekFirst().getPayload();
+            if (head.isDone()) {
+                batch.pollFirst();
+                log.debug("Queued request {} already cancelled/timed out, discarding", head.requestId());
+                continue;
+            }
+
+            int run = 0;
+            for (PrioritizedPayload<QueuedTask> queued : batch) {
+                QueuedTask task = queued.getPayload();
+                if (!task.executorId().equals(head.executorId()) || task.isDone()) {
+                    break;
                 }
+                run++;
+            }
+
+            int granted = tpsGate.tryAcquire(head.executorId(), run);
+            for (int i = 0; i < granted; i++) {
+                dispatch(batch.pollFirst().getPayload(), rootId);
+            }
+            if (granted < run) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Put everything after the blocked head back in the queue. A task that no
+     * longer fits (producers took the freed capacity) stays in the batch.
+     */
+    private void requeueTail(ArrayDeque<PrioritizedPayload<QueuedTask>> batch,
+                             PriorityStrategy<QueuedTask> strategy) {
+        if (batch.size() <= 1) {
+            return;
+        }
+        PrioritizedPayload<QueuedTask> head = batch.pollFirst();
+        int kept = 0;
+        for (int i = batch.size(); i > 0; i--) {
+            PrioritizedPayload<QueuedTask> drained = batch.pollFirst();
+            if (!requeue(drained.getPayload(), strategy)) {
+                batch.addLast(drained);
+                kept++;
+            }
+        }
+        batch.addFirst(head);
+        if (kept > 0) {
+            log.debug("{} drained tasks held by the drainer, queue is full", kept);
+        }
+    }
+
+    /**
+     * Put a drained task back in the queue as a new entry and point the task at it,
+     * so {@link #remove} through the caller's original handle still finds it.
+     * The entry is published only once it is queued; if the caller gave up in the
+     * meantime it may have removed the old, already claimed entry, so the check
+     * after publishing removes the new one instead.
+     *
+     * @return false if the queue is full
+     */
+    private boolean requeue(QueuedTask task, PriorityStrategy<QueuedTask> strategy) {
+        PrioritizedPayload<QueuedTask> requeued = new PrioritizedPayload<>(task, task.requestId(), task.priorityKey());
+        if (!strategy.enqueue(requeued)) {
+            return false;
+        }
+        task.entry().set(requeued);
+        if (task.isDone()) {
+            strategy.remove(requeued);
+        }
+        return true;
+    }
 
-                if (shutdown.get()) {
-                    strategy.enqueue(new PrioritizedPayload<>(task, task.requestId(), task.priorityKey()));
+    /**
+     * Drains a partitioned root queue: admits the highest-priority task whose
+     * executor chain has TPS, so a throttled child never blocks its siblings.
+     * Tasks whose caller already gave up are dropped without spending TPS.
+     * Waits only when no pending partition can be admitted.
+     */
+    private void drainPartitioned(String executorId, PartitionedStrategy<QueuedTask> strategy,
+                                  java.util.concurrent.locks.ReentrantLock lock,
+                                  java.util.concurrent.locks.Condition capacityAvailable) {
+        while (!shutdown.get()) {
+            try {
+                long seenEnqueues = strategy.getEnqueueCount();
+                Optional<PrioritizedPayload<QueuedTask>> polled = strategy.pollNext(
+                        QueuedTask::isDone, tpsGate::tryAcquire, partition -> tpsGate.release(partition, 1));
+                if (polled.isPresent()) {
+                    dispatch(polled.get().getPayload(), executorId);
                     continue;
                 }
 
-                // TPS acquired — either complete the future or execute the task
-                if (task.admissionFuture() != null) {
-                    if (!task.admissionFuture().isDone()) {
-                        task.admissionFuture().complete(null);
-                        log.debug("Admission granted for queued request {} on executor '{}'",
-                                task.requestId(), executorId);
+                long waitMs = IDLE_WAIT_MS;
+                for (String pending : strategy.getPendingPartitions()) {
+                    waitMs = Math.min(waitMs, Math.max(1, tpsGate.millisUntilCapacity(pending)));
+                }
+
+                lock.lock();
+                try {
+                    // Enqueues signal under this lock; skip the wait if one slipped in since the poll
+                    if (strategy.getEnqueueCount() == seenEnqueues) {
+                        capacityAvailable.await(waitMs, TimeUnit.MILLISECONDS);
                     }
-                } else if (task.task() != null) {
-                    executeTask(task.task(), task.requestId(), executorId);
-                    log.debug("Dequeued and executed task {} for executor '{}'",
-                            task.requestId(), executorId);
+                } finally {
+                    lock.unlock();
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -184,6 +456,56 @@ public class TaskQueueManager {
         }
     }
 
+    /**
+     * TPS acquired — either complete the admission future or execute the task.
+     */
+    private void dispatch(QueuedTask task, String executorId) {
+        if (task.admissionFuture() != null) {
+            try {
+                threadPool.execute(() -> {
+                    if (task.admissionFuture().complete(null)) {
+                        log.debug("Admission granted for queued request {} on executor '{}'",
+                                task.requestId(), executorId);
+                    } else {
+                        // Caller gave up after the slot was taken: it will never report completion
+                        releaseAdmission(task.executorId());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                tpsGate.releaseConcurrency(task.executorId(), 1);
+                task.admissionFuture().completeExceptionally(new TaskRejectedException("Executor is shutdown"));
+            }
+        } else if (task.task() != null) {
+            executeTask(task.task(), task.requestId(), task.executorId());
+            log.debug("Dequeued and executed task {} for executor '{}'",
+                    task.requestId(), executorId);
+        }
+    }
+
+    /**
+     * Wake the root's drainer after an enqueue. Only the partitioned drainer
+     * waits on the capacity condition while its queue is non-empty but idle.
+     */
+    private void signalPartitionedDrainer(String executorId, PriorityStrategy<QueuedTask> strategy) {
+        if (strategy instanceof PartitionedStrategy) {
+            signalCapacity(hierarchy.getRootIdFor(executorId));
+        }
+    }
+
+    private void signalCapacity(String rootId) {
+        java.util.concurrent.locks.ReentrantLock lock = capacityLocks.get(rootId);
+        java.util.concurrent.locks.Condition condition = capacityConditions.get(rootId);
+        if (lock != null && condition != null) {
+            capacitySignals.incrementAndGet();
+            lock.lock();
+            try {
+                condition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     private PriorityStrategy<QueuedTask> getStrategy(String executorId) {
         PriorityStrategy<QueuedTask> strategy = executorStrategies.get(executorId);
         if (strategy == null) {
@@ -244,6 +566,8 @@ public class TaskQueueManager {
     /**
      * Queued task wrapper. Supports both fire-and-forget (task != null)
      * and blocking admission (admissionFuture != null) modes.
+     * {@code entry} is the task's current queue entry, which changes when the
+     * drainer hands the task back to the queue.
      */
     public record QueuedTask(
             Runnable task,
@@ -251,9 +575,25 @@ public class TaskQueueManager {
             String executorId,
             PriorityKey priorityKey,
             TaskContext context,
-            CompletableFuture<Void> admissionFuture
+            CompletableFuture<Void> admissionFuture,
+            AtomicReference<PrioritizedPayload<QueuedTask>> entry
     ) implements Comparable<QueuedTask> {
 
+        public QueuedTask(Runnable task, String requestId, String executorId, PriorityKey priorityKey,
+                          TaskContext context, CompletableFuture<Void> admissionFuture) {
+            this(task, requestId, executorId, priorityKey, context, admissionFuture, new AtomicReference<>());
+        }
+
+        /**
+         * Check if the caller no longer needs this task (admission future or task future already done).
+         */
+        public boolean isDone() {
+            if (admissionFuture != null) {
+                return admissionFuture.isDone();
+            }
+            return task instanceof Future<?> future && future.isDone();
+        }
+
         @Override
         public int compareTo(QueuedTask other) {
             return this.priorityKey.compareTo(other.priorityKey);
@@ -0,0 +1,280 @@
+package com.pool.adapter.executor.tps;
+
+import com.pool.config.ExecutorHierarchy;
+import com.pool.config.ExecutorSpec;
+import com.pool.core.RingBufferTpsCounter;
+import com.pool.core.TokenBucket;
+import com.pool.core.TpsCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lock-free TPS gate backed by one {@link TokenBucket} per executor.
+ *
+ * Same hierarchical rule as {@link TpsGate}: an admission to a child takes a
+ * token at every level of the chain (leaf → root). The chain is reserved
+ * level by level with a CAS per bucket; if any level is empty, the tokens
+ * already taken lower in the chain are returned, so a reservation is
+ * all-or-nothing and no level ever overshoots its cap. There is no global
+ * lock — concurrent admissions only contend on the buckets they share.
+ *
+ * Each bucket allows a burst of {@code tps} (or the executor's {@code burst})
+ * and then refills continuously at {@code tps} per window, rather than
+ * forgetting admissions a full window later.
+ *
+ * A bucket whose other children have min-tps reservations keeps their unused
+ * part: a CAS only takes tokens beyond it. A bucket holds at most its burst, so
+ * the unused part is scaled by {@code burst / tps} into tokens; a reservation
+ * below the whole budget never keeps the entire bucket. Reserved executors'
+ * admissions are counted per window in a {@link RingBufferTpsCounter}, since a
+ * bucket's fill says how far ahead of its rate it runs, not how many admissions
+ * it took. The unused part is read just before the CAS, so a racing sibling
+ * admission can briefly overlap it.
+ *
+ * In-flight slots of concurrency-limited executors are reserved before the
+ * tokens and handed back if the tokens run short.
+ */
+public class TokenBucketTpsGate extends TpsGate {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBucketTpsGate.class);
+
+    private final Map<String, TokenBucket> buckets;
+    // executor → buckets of its leaf-to-root chain (unbounded levels omitted)
+    private final Map<String, TokenBucket[]> chains;
+    // executor → per bucket of its chain, the siblings whose unused min-tps that bucket keeps
+    // (absent if no level of the chain holds anything back)
+    private final Map<String, ExecutorSpec[][]> keepChains;
+    // executor → admission counters of the executors with min-tps in its chain (absent if none)
+    private final Map<String, TpsCounter[]> admissionChains;
+    // executor with min-tps → its admissions in the current window
+    private final Map<String, TpsCounter> admissions;
+
+    public TokenBucketTpsGate(ExecutorHierarchy hierarchy) {
+        this(hierarchy, 1000);
+    }
+
+    public TokenBucketTpsGate(ExecutorHierarchy hierarchy, long windowSizeMs) {
+        super(hierarchy, new ConcurrentHashMap<>(), windowSizeMs);
+
+        this.buckets = new HashMap<>();
+        for (String executorId : hierarchy.getAllExecutorIds()) {
+            int tps = hierarchy.getTps(executorId);
+            if (tps > 0) {
+                buckets.put(executorId, new TokenBucket(tps, windowSizeMs,
+                        hierarchy.getExecutor(executorId).effectiveBurst()));
+            }
+        }
+
+        this.chains = new HashMap<>();
+        for (String executorId : hierarchy.getAllExecutorIds()) {
+            List<TokenBucket> chain = hierarchy.getExecutorChain(executorId).stream()
+                    .map(buckets::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            chains.put(executorId, chain.toArray(new TokenBucket[0]));
+        }
+
+        this.keepChains = new HashMap<>();
+        for (String executorId : hierarchy.getAllExecutorIds()) {
+            ExecutorSpec[][] reservations = initReservations(hierarchy, executorId);
+            if (reservations == null) {
+                continue;
+            }
+            List<String> chain = hierarchy.getExecutorChain(executorId);
+            List<ExecutorSpec[]> keep = new ArrayList<>();
+            for (int level = 0; level < chain.size(); level++) {
+                if (buckets.containsKey(chain.get(level))) {
+                    keep.add(reservations[level]);
+                }
+            }
+            keepChains.put(executorId, keep.toArray(new ExecutorSpec[0][]));
+        }
+
+        this.admissions = new HashMap<>();
+        for (String executorId : hierarchy.getAllExecutorIds()) {
+            int minTps = hierarchy.getMinTps(executorId);
+            if (minTps > 0) {
+                admissions.put(executorId, new RingBufferTpsCounter(windowSizeMs,
+                        Math.max(minTps, hierarchy.getTps(executorId))));
+            }
+        }
+        this.admissionChains = new HashMap<>();
+        for (String executorId : hierarchy.getAllExecutorIds()) {
+            TpsCounter[] counted = hierarchy.getExecutorChain(executorId).stream()
+                    .map(admissions::get)
+                    .filter(Objects::nonNull)
+                    .toArray(TpsCounter[]::new);
+            if (counted.length > 0) {
+                admissionChains.put(executorId, counted);
+            }
+        }
+
+        log.info("TokenBucketTpsGate initialized: {} bounded executors", buckets.size());
+    }
+
+    @Override
+    public boolean tryAcquire(String executorId) {
+        if (executorId == null || executorId.isEmpty()) {
+            throw new IllegalArgumentException("Executor ID cannot be null or empty");
+        }
+
+        TokenBucket[] chain = chains.get(executorId);
+        if (chain == null) {
+            throw new IllegalArgumentException("Unknown executor: " + executorId);
+        }
+
+        if (reserveConcurrency(executorId, 1) == 0) {
+            return false;
+        }
+        ExecutorSpec[][] keep = keepChains.get(executorId);
+        for (int i = 0; i < chain.length; i++) {
+            int kept = keep != null ? kept(chain[i], keep[i]) : 0;
+            if (kept == 0 ? !chain[i].tryAcquire() : chain[i].tryAcquire(1, kept) == 0) {
+                for (int j = 0; j < i; j++) {
+                    chain[j].release();
+                }
+                releaseConcurrency(executorId, 1);
+                log.debug("TPS limit reached in chain of executor '{}', rejecting", executorId);
+                return false;
+            }
+        }
+        countAdmissions(executorId, 1);
+        return true;
+    }
+
+    /**
+     * Reserve up to {@code n} tokens along the chain. Each level grants what it can
+     * out of what the levels below it granted; the surplus taken lower in the chain
+     * is returned, so every level ends up charged the same amount.
+     */
+    @Override
+    public int tryAcquire(String executorId, int n) {
+        if (executorId == null || executorId.isEmpty()) {
+            throw new IllegalArgumentException("Executor ID cannot be null or empty");
+        }
+
+        TokenBucket[] chain = chains.get(executorId);
+        if (chain == null) {
+            throw new IllegalArgumentException("Unknown executor: " + executorId);
+        }
+        if (n <= 0) {
+            return 0;
+        }
+
+        int reserved = reserveConcurrency(executorId, n);
+        if (reserved == 0) {
+            return 0;
+        }
+        ExecutorSpec[][] keep = keepChains.get(executorId);
+        int granted = reserved;
+        for (int i = 0; i < chain.length; i++) {
+            int taken = chain[i].tryAcquire(granted, keep != null ? kept(chain[i], keep[i]) : 0);
+            if (taken < granted) {
+                for (int j = 0; j < i; j++) {
+                    chain[j].release(granted - taken);
+                }
+                granted = taken;
+                if (granted == 0) {
+                    break;
+                }
+            }
+        }
+        if (granted < reserved) {
+            releaseConcurrency(executorId, reserved - granted);
+        }
+        if (granted == 0) {
+            log.debug("TPS limit reached in chain of executor '{}', rejecting", executorId);
+        } else {
+            countAdmissions(executorId, granted);
+        }
+        return granted;
+    }
+
+    @Override
+    public void release(String executorId, int n) {
+        for (TokenBucket bucket : chains.get(executorId)) {
+            bucket.release(n);
+        }
+        TpsCounter[] counted = admissionChains.get(executorId);
+        if (counted != null) {
+            for (TpsCounter counter : counted) {
+                counter.release(n);
+            }
+        }
+        releaseConcurrency(executorId, n);
+    }
+
+    @Override
+    public boolean hasCapacity(String executorId) {
+        TokenBucket bucket = buckets.get(executorId);
+        return bucket == null || bucket.hasCapacity();
+    }
+
+    @Override
+    public long millisUntilCapacity(String executorId) {
+        TokenBucket[] chain = chains.get(executorId);
+        if (chain == null) {
+            return getWindowSizeMs();
+        }
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(getWindowSizeMs());
+        long nanos = isConcurrencyBlocked(executorId) ? windowNanos : 0;
+        ExecutorSpec[][] keep = keepChains.get(executorId);
+        for (int i = 0; i < chain.length; i++) {
+            int kept = keep != null ? kept(chain[i], keep[i]) : 0;
+            nanos = Math.max(nanos, Math.min(windowNanos, chain[i].nanosUntilAvailable(kept)));
+        }
+        return TimeUnit.NANOSECONDS.toMillis(nanos + 999_999);
+    }
+
+    @Override
+    public int getCurrentTps(String executorId) {
+        TokenBucket bucket = buckets.get(executorId);
+        return bucket != null ? bucket.getCount() : 0;
+    }
+
+    @Override
+    protected int getWindowAdmissions(String executorId) {
+        TpsCounter counter = admissions.get(executorId);
+        return counter != null ? counter.getCount() : 0;
+    }
+
+    @Override
+    public void clear() {
+        for (TokenBucket bucket : buckets.values()) {
+            bucket.clear();
+        }
+        for (TpsCounter counter : admissions.values()) {
+            counter.clear();
+        }
+    }
+
+    /**
+     * Get the tokens a bucket keeps for its other children's unused min-tps:
+     * their share of the rate applied to the bucket's burst.
+     */
+    private int kept(TokenBucket bucket, ExecutorSpec[] reserved) {
+        return (int) ((long) unusedMinTps(reserved) * bucket.getBurst() / bucket.getCapacity());
+    }
+
+    private void countAdmissions(String executorId, int n) {
+        TpsCounter[] counted = admissionChains.get(executorId);
+        if (counted == null) {
+            return;
+        }
+        for (TpsCounter counter : counted) {
+            if (n == 1) {
+                counter.increment();
+            } else {
+                counter.increment(n);
+            }
+        }
+    }
+}
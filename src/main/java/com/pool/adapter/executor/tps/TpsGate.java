@@ -1,13 +1,20 @@
 package com.pool.adapter.executor.tps;
 
 import com.pool.config.ExecutorHierarchy;
+import com.pool.config.ExecutorSpec;
+import com.pool.core.AimdConcurrencyLimiter;
+import com.pool.core.ConcurrencyLimiter;
 import com.pool.core.TpsCounter;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -16,7 +23,16 @@ import java.util.concurrent.locks.ReentrantLock;
  *
  * Children consume from parent: a request admitted to a child executor
  * increments counters at every level in the chain (leaf → root).
- * Max caps only — no guaranteed minimums.
+ *
+ * Children with {@code min-tps} have that much of their parent's TPS reserved:
+ * each level of a chain holds back the part of its other children's minimums
+ * they have not used in the current window. Capacity a child leaves unused
+ * beyond its minimum is borrowable by its siblings.
+ *
+ * Executors with {@code max-concurrency} also cap their in-flight tasks: an
+ * admission takes a slot at every limited level of the chain, which is held
+ * until {@link #onComplete} (or {@link #releaseConcurrency} if the task never
+ * runs). A request is admitted only if both its TPS and its concurrency fit.
  */
 public class TpsGate {
 
@@ -28,6 +44,11 @@ public class TpsGate {
     @Getter
     private final long windowSizeMs;
     private final ReentrantLock acquireLock = new ReentrantLock();
+    private final Map<String, ConcurrencyLimiter> limiters;
+    // executor → limiters of its leaf-to-root chain (unlimited levels omitted)
+    private final Map<String, ConcurrencyLimiter[]> limiterChains;
+    // executor → per level of its chain, the other children whose unused min-tps that level holds back
+    private final Map<String, ExecutorSpec[][]> reservationChains;
 
     public TpsGate(ExecutorHierarchy hierarchy,
                    ConcurrentHashMap<String, TpsCounter> counters,
@@ -36,7 +57,32 @@ public class TpsGate {
         this.counters = counters;
         this.windowSizeMs = windowSizeMs;
 
-        log.info("TpsGate initialized: windowSize={}ms, executors={}", windowSizeMs, counters.size());
+        this.limiters = new HashMap<>();
+        for (String executorId : hierarchy.getAllExecutorIds()) {
+            ConcurrencyLimiter limiter = createLimiter(hierarchy.getExecutor(executorId));
+            if (limiter != null) {
+                limiters.put(executorId, limiter);
+            }
+        }
+        this.limiterChains = new HashMap<>();
+        for (String executorId : hierarchy.getAllExecutorIds()) {
+            List<ConcurrencyLimiter> chain = hierarchy.getExecutorChain(executorId).stream()
+                    .map(limiters::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            limiterChains.put(executorId, chain.toArray(new ConcurrencyLimiter[0]));
+        }
+
+        this.reservationChains = new HashMap<>();
+        for (String executorId : hierarchy.getAllExecutorIds()) {
+            ExecutorSpec[][] reservations = initReservations(hierarchy, executorId);
+            if (reservations != null) {
+                reservationChains.put(executorId, reservations);
+            }
+        }
+
+        log.info("TpsGate initialized: windowSize={}ms, executors={}, concurrency-limited={}, with reservations={}",
+                windowSizeMs, hierarchy.getAllExecutorIds().size(), limiters.size(), reservationChains.size());
     }
 
     /**
@@ -58,33 +104,73 @@ public class TpsGate {
      * @return true if acquired, false if any level's TPS limit is exceeded
      */
     public boolean tryAcquire(String executorId) {
+        return tryAcquire(executorId, 1) == 1;
+    }
+
+    /**
+     * Try to acquire up to {@code n} admissions for an executor in one pass.
+     * Grants as many as every level of the chain can take, and records them
+     * at every level, under a single lock acquisition.
+     *
+     * @param executorId Target executor ID
+     * @param n          Admissions wanted
+     * @return Number granted (0 if any level's TPS or concurrency limit is reached)
+     */
+    public int tryAcquire(String executorId, int n) {
         if (executorId == null || executorId.isEmpty()) {
             throw new IllegalArgumentException("Executor ID cannot be null or empty");
         }
+        if (n <= 0) {
+            return 0;
+        }
 
         List<String> chain = hierarchy.getExecutorChain(executorId);
 
+        ExecutorSpec[][] reservations = getReservationChain(executorId);
+
         acquireLock.lock();
         try {
-            for (String execId : chain) {
+            int granted = n;
+            for (int level = 0; level < chain.size(); level++) {
+                String execId = chain.get(level);
                 int maxTps = hierarchy.getTps(execId);
                 TpsCounter counter = counters.get(execId);
-                if (counter != null && !counter.hasCapacity(maxTps)) {
-                    log.debug("TPS limit reached for executor '{}' ({}/{}), rejecting",
-                            execId, counter.getCount(), maxTps);
-                    return false;
+                if (counter != null) {
+                    int limit = maxTps;
+                    if (reservations != null && maxTps > 0) {
+                        limit -= unusedMinTps(reservations[level]);
+                    }
+                    // The counter applies the lowered limit itself, so a pacing counter can scale it to its burst
+                    int available = limit > 0 || maxTps <= 0 ? counter.getAvailable(limit) : 0;
+                    granted = Math.min(granted, Math.max(0, available));
+                    if (granted == 0) {
+                        log.debug("TPS limit reached for executor '{}' ({}/{}), rejecting",
+                                execId, counter.getCount(), maxTps);
+                        return 0;
+                    }
                 }
             }
 
+            // Slots are reserved before any admission is recorded, so a
+            // concurrency rejection never spends TPS
+            granted = reserveConcurrency(executorId, granted);
+            if (granted == 0) {
+                return 0;
+            }
+
             for (String execId : chain) {
                 TpsCounter counter = counters.get(execId);
                 if (counter != null) {
-                    counter.increment();
+                    if (granted == 1) {
+                        counter.increment();
+                    } else {
+                        counter.increment(granted);
+                    }
                 }
             }
 
-            log.debug("Request acquired for executor '{}' (chain: {})", executorId, chain);
-            return true;
+            log.debug("{} request(s) acquired for executor '{}' (chain: {})", granted, executorId, chain);
+            return granted;
         } finally {
             acquireLock.unlock();
         }
@@ -114,6 +200,182 @@ public class TpsGate {
         return true;
     }
 
+    /**
+     * Get, per level of an executor's chain (as in {@link ExecutorHierarchy#getExecutorChain}),
+     * the other children of that level whose unused min-tps it holds back.
+     *
+     * @return The per-level siblings, or null if no level holds anything back
+     */
+    protected ExecutorSpec[][] getReservationChain(String executorId) {
+        return reservationChains.get(executorId);
+    }
+
+    /**
+     * Get how much of their min-tps the given executors have not used in the current window.
+     */
+    protected int unusedMinTps(ExecutorSpec[] reserved) {
+        int unused = 0;
+        for (ExecutorSpec sibling : reserved) {
+            unused += Math.max(0, sibling.getMinTps() - getWindowAdmissions(sibling.getId()));
+        }
+        return unused;
+    }
+
+    /**
+     * Get the admissions of an executor (including its descendants) in the current
+     * window, which is what its min-tps is measured against.
+     */
+    protected int getWindowAdmissions(String executorId) {
+        return getCurrentTps(executorId);
+    }
+
+    /**
+     * Reserve up to {@code n} in-flight slots along the chain. Each level grants what
+     * it can out of what the levels below it granted; the surplus taken lower in the
+     * chain is returned, so every level ends up holding the same number of slots.
+     *
+     * @return Number of slots reserved at every limited level (n if none is limited)
+     */
+    protected int reserveConcurrency(String executorId, int n) {
+        ConcurrencyLimiter[] chain = limiterChains.get(executorId);
+        if (chain == null) {
+            throw new IllegalArgumentException("Unknown executor: " + executorId);
+        }
+        int granted = n;
+        for (int i = 0; i < chain.length; i++) {
+            int taken = chain[i].tryAcquire(granted);
+            if (taken < granted) {
+                for (int j = 0; j < i; j++) {
+                    chain[j].release(granted - taken);
+                }
+                granted = taken;
+                if (granted == 0) {
+                    log.debug("Concurrency limit reached in chain of executor '{}', rejecting", executorId);
+                    return 0;
+                }
+            }
+        }
+        return granted;
+    }
+
+    /**
+     * Undo {@code n} admissions granted by {@link #tryAcquire(String, int)} for
+     * tasks that were never dispatched: their TPS is given back at every level
+     * of the chain, along with their in-flight slots.
+     */
+    public void release(String executorId, int n) {
+        List<String> chain = hierarchy.getExecutorChain(executorId);
+        acquireLock.lock();
+        try {
+            for (String execId : chain) {
+                TpsCounter counter = counters.get(execId);
+                if (counter != null) {
+                    counter.release(n);
+                }
+            }
+        } finally {
+            acquireLock.unlock();
+        }
+        releaseConcurrency(executorId, n);
+        log.debug("{} unused admission(s) released for executor '{}'", n, executorId);
+    }
+
+    /**
+     * Return the in-flight slots of admitted tasks that will never run.
+     */
+    public void releaseConcurrency(String executorId, int n) {
+        for (ConcurrencyLimiter limiter : limiterChains.get(executorId)) {
+            limiter.release(n);
+        }
+    }
+
+    /**
+     * Record the completion of an admitted task: frees its in-flight slot at every
+     * limited level and feeds its latency to adaptive limits.
+     *
+     * @param executorId   Executor the task was admitted to
+     * @param latencyNanos How long the task ran
+     * @param success      false if the task failed
+     */
+    public void onComplete(String executorId, long latencyNanos, boolean success) {
+        for (ConcurrencyLimiter limiter : limiterChains.get(executorId)) {
+            limiter.onComplete(latencyNanos, success);
+        }
+    }
+
+    /**
+     * Check if any level of the executor's chain caps in-flight tasks.
+     */
+    public boolean hasConcurrencyLimit(String executorId) {
+        ConcurrencyLimiter[] chain = limiterChains.get(executorId);
+        return chain != null && chain.length > 0;
+    }
+
+    /**
+     * Get the number of in-flight tasks counted against an executor.
+     */
+    public int getInFlight(String executorId) {
+        ConcurrencyLimiter limiter = limiters.get(executorId);
+        return limiter != null ? limiter.getInFlight() : 0;
+    }
+
+    /**
+     * Get the current in-flight limit of an executor (0 if unbounded).
+     */
+    public int getConcurrencyLimit(String executorId) {
+        ConcurrencyLimiter limiter = limiters.get(executorId);
+        return limiter != null ? limiter.getLimit() : 0;
+    }
+
+    /**
+     * Check if some level of the chain has no free in-flight slot.
+     * Such a chain frees up on a completion, not after a known time.
+     */
+    protected boolean isConcurrencyBlocked(String executorId) {
+        ConcurrencyLimiter[] chain = limiterChains.get(executorId);
+        if (chain != null) {
+            for (ConcurrencyLimiter limiter : chain) {
+                if (!limiter.hasCapacity()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get how long a drainer blocked on this executor should wait before retrying:
+     * until the binding admission at every level of the chain has left its window.
+     * Levels holding back their children's reservations count the unused part as taken.
+     * A chain at its concurrency limit waits up to a full window; completions wake
+     * the drainer sooner.
+     *
+     * @param executorId Target executor ID
+     * @return Wait in milliseconds, 0 if the chain has capacity now
+     */
+    public long millisUntilCapacity(String executorId) {
+        long wait = isConcurrencyBlocked(executorId) ? windowSizeMs : 0;
+        List<String> chain = hierarchy.getExecutorChain(executorId);
+        ExecutorSpec[][] reservations = getReservationChain(executorId);
+        for (int level = 0; level < chain.size(); level++) {
+            String execId = chain.get(level);
+            TpsCounter counter = counters.get(execId);
+            if (counter != null) {
+                int maxTps = hierarchy.getTps(execId);
+                if (reservations != null && maxTps > 0) {
+                    maxTps -= unusedMinTps(reservations[level]);
+                    if (maxTps <= 0) {
+                        // Siblings hold back the whole budget until they use it or their window passes
+                        wait = Math.max(wait, windowSizeMs);
+                        continue;
+                    }
+                }
+                wait = Math.max(wait, counter.millisUntilCapacity(maxTps));
+            }
+        }
+        return wait;
+    }
+
     /**
      * Get current TPS for an executor.
      */
@@ -158,6 +420,37 @@ public class TpsGate {
         }
     }
 
+    /**
+     * Build the per-level reservations behind {@link #getReservationChain}. Static so
+     * subclass constructors can use it without calling into a half-built gate.
+     */
+    static ExecutorSpec[][] initReservations(ExecutorHierarchy hierarchy, String executorId) {
+        List<String> chain = hierarchy.getExecutorChain(executorId);
+        ExecutorSpec[][] reservations = new ExecutorSpec[chain.size()][];
+        boolean any = false;
+        for (int level = 0; level < chain.size(); level++) {
+            String below = level > 0 ? chain.get(level - 1) : null;
+            reservations[level] = hierarchy.getChildren(chain.get(level)).stream()
+                    .filter(child -> !child.equals(below) && hierarchy.getMinTps(child) > 0)
+                    .map(hierarchy::getExecutor)
+                    .toArray(ExecutorSpec[]::new);
+            any |= reservations[level].length > 0;
+        }
+        return any ? reservations : null;
+    }
+
+    private static ConcurrencyLimiter createLimiter(ExecutorSpec spec) {
+        if (spec == null || !spec.hasConcurrencyLimit()) {
+            return null;
+        }
+        ExecutorSpec.AdaptiveConcurrencyConfig adaptive = spec.getAdaptiveConcurrency();
+        if (adaptive == null) {
+            return new ConcurrencyLimiter(spec.getMaxConcurrency());
+        }
+        return new AimdConcurrencyLimiter(spec.getMaxConcurrency(), adaptive.getMinLimit(),
+                adaptive.getBackoffRatio(), TimeUnit.MILLISECONDS.toNanos(adaptive.getLatencyThresholdMs()));
+    }
+
     private static ConcurrentHashMap<String, TpsCounter> initCounters(
             ExecutorHierarchy hierarchy, long windowSizeMs) {
         ConcurrentHashMap<String, TpsCounter> map = new ConcurrentHashMap<>();
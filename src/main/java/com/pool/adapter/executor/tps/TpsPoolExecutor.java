@@ -1,7 +1,9 @@
 package com.pool.adapter.executor.tps;
 
+import com.pool.adapter.executor.Admission;
 import com.pool.config.ExecutorHierarchy;
 import com.pool.config.PoolConfig;
+import com.pool.core.PrioritizedPayload;
 import com.pool.core.TaskContext;
 import com.pool.exception.ConfigurationException;
 import com.pool.exception.TaskRejectedException;
@@ -10,8 +12,11 @@ import com.pool.policy.PolicyEngine;
 import com.pool.priority.PriorityKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.Objects;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * TPS-based executor with hierarchical executor support.
@@ -60,14 +65,8 @@ public class TpsPoolExecutor implements com.pool.adapter.executor.PoolExecutor {
         }
 
         // Evaluate priority and get target executor
-        EvaluationResult result = policyEngine.evaluate(context);
+        EvaluationResult result = evaluate(context);
         String executorId = result.getMatchedPath().executor();
-
-        // Use default executor if none specified
-        if (executorId == null || executorId.isEmpty()) {
-            throw new ConfigurationException("Priority tree leaf node has no executor assigned — check your YAML priority-tree configuration");
-        }
-
         PriorityKey priorityKey = result.getPriorityKey();
         String requestId = context.getTaskId();
 
@@ -101,15 +100,10 @@ public class TpsPoolExecutor implements com.pool.adapter.executor.PoolExecutor {
             throw new TaskRejectedException("Executor is shutdown");
         }
 
-        FutureTask<T> futureTask = new FutureTask<>(task);
+        QueuedFutureTask<T> futureTask = new QueuedFutureTask<>(task, queueManager);
 
-        EvaluationResult result = policyEngine.evaluate(context);
+        EvaluationResult result = evaluate(context);
         String executorId = result.getMatchedPath().executor();
-
-        if (executorId == null || executorId.isEmpty()) {
-            throw new ConfigurationException("Priority tree leaf node has no executor assigned — check your YAML priority-tree configuration");
-        }
-
         PriorityKey priorityKey = result.getPriorityKey();
         String requestId = context.getTaskId();
 
@@ -119,7 +113,7 @@ public class TpsPoolExecutor implements com.pool.adapter.executor.PoolExecutor {
             queueManager.executeTask(futureTask, requestId, executorId);
         } else {
             try {
-                queueManager.queueTask(futureTask, requestId, executorId, priorityKey, context);
+                futureTask.attach(queueManager.queueTask(futureTask, requestId, executorId, priorityKey, context));
             } catch (TaskRejectedException e) {
                 rejectedCount.incrementAndGet();
                 throw e;
@@ -129,6 +123,93 @@ public class TpsPoolExecutor implements com.pool.adapter.executor.PoolExecutor {
         return futureTask;
     }
 
+    @Override
+    public CompletableFuture<Admission> acquire(TaskContext context) {
+        if (context == null) {
+            throw new NullPointerException("Context cannot be null");
+        }
+        if (queueManager.isShutdown()) {
+            throw new TaskRejectedException("Executor is shutdown");
+        }
+
+        EvaluationResult result = evaluate(context);
+        String executorId = result.getMatchedPath().executor();
+
+        submittedCount.incrementAndGet();
+
+        if (tpsGate.tryAcquire(executorId)) {
+            return CompletableFuture.completedFuture(new GateAdmission(executorId, queueManager));
+        }
+
+        CompletableFuture<Void> admitted = queueManager.queueAndAwait(executorId, result.getPriorityKey(), context);
+        if (admitted.isCompletedExceptionally()) {
+            rejectedCount.incrementAndGet();
+        }
+
+        CompletableFuture<Admission> admission = new CompletableFuture<>();
+        admitted.whenComplete((ignored, error) -> {
+            if (error != null) {
+                admission.completeExceptionally(error);
+                return;
+            }
+            GateAdmission granted = new GateAdmission(executorId, queueManager);
+            if (!admission.complete(granted)) {
+                // Caller gave up just as the drainer admitted it
+                granted.abandon();
+            }
+        });
+        // Cancel or timeout: drop the queued request
+        admission.whenComplete((ignored, error) -> {
+            if (error != null) {
+                admitted.completeExceptionally(error);
+            }
+        });
+        return admission;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submitAsync(TaskContext context, Supplier<? extends CompletionStage<T>> task) {
+        if (task == null) {
+            throw new NullPointerException("Task cannot be null");
+        }
+
+        CompletableFuture<Admission> admission = acquire(context);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        admission.whenComplete((granted, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (result.isDone()) {
+                // Cancelled before the task started: nothing ran, so nothing to report
+                granted.abandon();
+                return;
+            }
+            CompletionStage<T> stage;
+            try {
+                stage = Objects.requireNonNull(task.get(), "Task returned a null CompletionStage");
+            } catch (RuntimeException | Error e) {
+                granted.release(false);
+                result.completeExceptionally(e);
+                return;
+            }
+            stage.whenComplete((value, failure) -> {
+                granted.release(failure == null);
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        result.whenComplete((ignored, error) -> {
+            if (error != null) {
+                admission.cancel(false);
+            }
+        });
+        return result;
+    }
+
     @Override
     public void shutdown() {
         log.info("Shutting down TpsPoolExecutor: {}", config.getName());
@@ -216,6 +297,87 @@ public class TpsPoolExecutor implements com.pool.adapter.executor.PoolExecutor {
         );
     }
 
+    /**
+     * Evaluate the priority tree and check the matched leaf routes to an executor.
+     */
+    private EvaluationResult evaluate(TaskContext context) {
+        EvaluationResult result = policyEngine.evaluate(context);
+        String executorId = result.getMatchedPath().executor();
+        if (executorId == null || executorId.isEmpty()) {
+            throw new ConfigurationException("Priority tree leaf node has no executor assigned — check your YAML priority-tree configuration");
+        }
+        return result;
+    }
+
+    /**
+     * Admission handed to a caller that runs its own work. Release reports the
+     * time since admission as the task's latency. The work counts as executed
+     * and active from admission until release, unless it is abandoned.
+     */
+    private static final class GateAdmission implements Admission {
+
+        private final String executorId;
+        private final TaskQueueManager queueManager;
+        private final long admittedAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        GateAdmission(String executorId, TaskQueueManager queueManager) {
+            this.executorId = executorId;
+            this.queueManager = queueManager;
+            queueManager.onAcquired();
+        }
+
+        @Override
+        public String getExecutorId() {
+            return executorId;
+        }
+
+        @Override
+        public void release(boolean success) {
+            if (released.compareAndSet(false, true)) {
+                queueManager.onAcquiredComplete(executorId, System.nanoTime() - admittedAt, success);
+            }
+        }
+
+        @Override
+        public void abandon() {
+            if (released.compareAndSet(false, true)) {
+                queueManager.onAcquiredAbandoned(executorId);
+            }
+        }
+    }
+
+    /**
+     * FutureTask that removes its queue entry when cancelled, so an abandoned
+     * request frees its queue slot at once and never consumes TPS.
+     */
+    private static final class QueuedFutureTask<T> extends FutureTask<T> {
+
+        private final TaskQueueManager queueManager;
+        private volatile PrioritizedPayload<TaskQueueManager.QueuedTask> handle;
+
+        QueuedFutureTask(Callable<T> callable, TaskQueueManager queueManager) {
+            super(callable);
+            this.queueManager = queueManager;
+        }
+
+        void attach(PrioritizedPayload<TaskQueueManager.QueuedTask> handle) {
+            this.handle = handle;
+            // Cancelled before the handle was known: done() could not remove it
+            if (isCancelled()) {
+                queueManager.remove(handle);
+            }
+        }
+
+        @Override
+        protected void done() {
+            PrioritizedPayload<TaskQueueManager.QueuedTask> queued = handle;
+            if (queued != null && isCancelled()) {
+                queueManager.remove(queued);
+            }
+        }
+    }
+
     /**
      * Executor statistics.
      */
@@ -6,8 +6,11 @@ package com.pool.annotation;
  * <p>Implement this interface as a Spring bean and reference it via
  * {@link Pooled#contextType()}. The aspect will retrieve the bean from
  * the Spring context, call {@link #build(Object[])} with the intercepted
- * method's arguments, and serialize the returned object as {@code $req.*}
- * variables for policy evaluation.
+ * method's arguments, and expose the returned object as {@code $req.*}
+ * variables for policy evaluation. A {@code Map} is read as-is; any other
+ * object is converted to a map in memory with Jackson (no JSON text).
+ * Only the paths the policy references are resolved, so the returned
+ * object must not be modified after {@code build} returns.
  *
  * <p>Example:
  * <pre>
@@ -32,8 +35,8 @@ public interface PoolContextBuilder {
      * Build the context object from the intercepted method's arguments.
      *
      * @param args the method arguments in declaration order
-     * @return the object to serialize as {@code $req.*} variables; must be
-     *         serializable by Jackson. Return {@code null} to produce no request vars.
+     * @return the object to expose as {@code $req.*} variables; a {@code Map} or
+     *         an object Jackson can convert. Return {@code null} to produce no request vars.
      */
     Object build(Object[] args);
 }
@@ -1,5 +1,6 @@
 package com.pool.aspect;
 
+import com.pool.adapter.executor.Admission;
 import com.pool.adapter.executor.tps.TpsPoolExecutor;
 import com.pool.annotation.PoolContextBuilder;
 import com.pool.annotation.Pooled;
@@ -21,8 +22,8 @@ import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -33,11 +34,12 @@ import java.util.concurrent.TimeoutException;
  * <ol>
  *   <li>Check TpsContext — if already admitted, pass through immediately</li>
  *   <li>Build TaskContext from MDC + parsed request arg + implicit variables</li>
- *   <li>Delegate admission, queuing, and execution to {@link TpsPoolExecutor}</li>
+ *   <li>Wait for admission from {@link TpsPoolExecutor#acquire}, then run the call on the caller's thread</li>
  * </ol>
  *
  * <p>All TPS gating, PolicyEngine evaluation, and queue management live in
  * {@link TpsPoolExecutor} — the aspect only builds context and delegates.
+ * No pool thread is held while the call runs, and none while it waits in the queue.
  */
 @Aspect
 @Component
@@ -79,37 +81,42 @@ public class RequestInterceptorAspect {
 
         long timeout = pooled.timeoutMs() > 0 ? pooled.timeoutMs() : DEFAULT_TIMEOUT_MS;
 
-        Future<Object> future = tpsPoolExecutor.submit(taskContext, () -> {
-            TpsContext.markProcessed();
-            try {
-                return pjp.proceed();
-            } catch (Exception | Error e) {
-                throw e;
-            } catch (Throwable t) {
-                throw new RuntimeException(t);
-            } finally {
-                TpsContext.clear();
-            }
-        });
-
+        // Wait for admission only; the call itself runs on this thread
+        CompletableFuture<Admission> pending = tpsPoolExecutor.acquire(taskContext);
+        Admission admission;
         try {
-            return future.get(timeout, TimeUnit.MILLISECONDS);
+            admission = pending.get(timeout, TimeUnit.MILLISECONDS);
         } catch (TimeoutException e) {
-            future.cancel(true);
+            pending.cancel(false);
             throw new TpsExceededException(
                     "TPS admission timed out after " + timeout + "ms");
+        } catch (InterruptedException e) {
+            pending.cancel(false);
+            Thread.currentThread().interrupt();
+            throw e;
         } catch (ExecutionException e) {
             Throwable cause = e.getCause();
             if (cause instanceof RuntimeException re) throw re;
             if (cause instanceof Error err) throw err;
             throw cause;
         }
+
+        boolean success = false;
+        TpsContext.markProcessed();
+        try {
+            Object value = pjp.proceed();
+            success = true;
+            return value;
+        } finally {
+            TpsContext.clear();
+            admission.release(success);
+        }
     }
 
     private TaskContext buildTaskContext(ProceedingJoinPoint pjp, Pooled pooled) {
         MethodSignature sig = (MethodSignature) pjp.getSignature();
 
-        String jsonPayload = null;
+        Object payload = null;
         if (pooled.contextType() != Void.class) {
             Object bean;
             try {
@@ -124,12 +131,11 @@ public class RequestInterceptorAspect {
                         pooled.contextType().getSimpleName() + " must implement PoolContextBuilder");
             }
             try {
-                Object context = builder.build(pjp.getArgs());
-                jsonPayload = context != null ? objectMapper.writeValueAsString(context) : null;
+                payload = builder.build(pjp.getArgs());
             } catch (ConfigurationException e) {
                 throw e;
             } catch (Exception e) {
-                log.warn("Failed to build/serialize context via {}: {}",
+                log.warn("Failed to build context via {}: {}",
                         pooled.contextType().getSimpleName(), e.getMessage());
             }
         }
@@ -143,6 +149,13 @@ public class RequestInterceptorAspect {
         contextVars.put("_class", pjp.getTarget().getClass().getSimpleName());
         contextVars.put("_method", sig.getName());
 
-        return TaskContextFactory.create(jsonPayload, contextVars);
+        // Resolve $req.* from the builder's Map/POJO on demand (no JSON text, no flattened copy)
+        try {
+            return TaskContextFactory.fromObjectLazy(payload, contextVars, objectMapper);
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to convert context from {}: {}",
+                    pooled.contextType().getSimpleName(), e.getMessage());
+            return TaskContextFactory.fromObjectLazy(null, contextVars, objectMapper);
+        }
     }
 }
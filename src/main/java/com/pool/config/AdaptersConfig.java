@@ -17,4 +17,19 @@ public class AdaptersConfig {
      */
     @Valid
     private List<ExecutorSpec> executors = new ArrayList<>();
+
+    /**
+     * TPS gate implementation (SLIDING_WINDOW or TOKEN_BUCKET).
+     */
+    private TpsGateType tpsGate = TpsGateType.SLIDING_WINDOW;
+
+    /**
+     * Drainer queue layout per root executor (SHARED or PARTITIONED).
+     */
+    private DrainMode drainMode = DrainMode.SHARED;
+
+    /**
+     * Thread model for admitted tasks and drainers (PLATFORM or VIRTUAL).
+     */
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
 }
@@ -0,0 +1,19 @@
+package com.pool.config;
+
+/**
+ * How a root executor's drainer selects the next queued task.
+ */
+public enum DrainMode {
+    /**
+     * One queue per root; the drainer waits on the head task until its
+     * executor chain has capacity, even if siblings have spare TPS.
+     */
+    SHARED,
+
+    /**
+     * One sub-queue per target executor under each root (shared capacity).
+     * The drainer admits the highest-priority task whose chain has capacity,
+     * so a throttled child does not block its siblings.
+     */
+    PARTITIONED
+}
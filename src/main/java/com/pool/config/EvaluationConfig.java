@@ -0,0 +1,39 @@
+package com.pool.config;
+
+import lombok.Data;
+
+/**
+ * How priority-tree conditions are evaluated.
+ */
+@Data
+public class EvaluationConfig {
+
+    /**
+     * Compile each parsed condition into a single method handle instead of
+     * walking the expression tree node by node.
+     */
+    private boolean compile = false;
+
+    /**
+     * Cache of routing results keyed on the values the conditions read.
+     */
+    private CacheConfig cache = new CacheConfig();
+
+    /**
+     * Routing cache settings.
+     */
+    @Data
+    public static class CacheConfig {
+
+        /**
+         * Reuse the matched path for tasks whose condition inputs are identical.
+         * Ignored when any condition reads a {@code $sys} variable.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of distinct input combinations kept.
+         */
+        private int maxSize = 10_000;
+    }
+}
@@ -0,0 +1,17 @@
+package com.pool.config;
+
+/**
+ * Thread model for admitted tasks and drainer threads.
+ */
+public enum ExecutionMode {
+    /**
+     * Cached pool of platform threads; drainers are platform daemon threads.
+     */
+    PLATFORM,
+
+    /**
+     * One virtual thread per admitted task; drainers are virtual threads.
+     * Suited to I/O-bound tasks that spend most of their time blocked.
+     */
+    VIRTUAL
+}
@@ -71,6 +71,8 @@ public class ExecutorHierarchy {
 
         validateNoCycles();
         validateTpsConstraints();
+        validateConcurrencyConstraints();
+        validateShareConstraints();
 
         log.info("ExecutorHierarchy initialized: {} root(s) {}, {} total executors",
                 rootIds.size(), rootIds, executors.size());
@@ -146,6 +148,30 @@ public class ExecutorHierarchy {
         return executors.get(executorId);
     }
 
+    /**
+     * Get TPS reserved for an executor out of its parent's TPS (0 if none).
+     */
+    public int getMinTps(String executorId) {
+        ExecutorSpec spec = executors.get(executorId);
+        return spec != null ? Math.max(0, spec.getMinTps()) : 0;
+    }
+
+    /**
+     * Get the drain weight of an executor (unset counts as 1).
+     */
+    public int getWeight(String executorId) {
+        ExecutorSpec spec = executors.get(executorId);
+        return spec != null ? Math.max(1, spec.getWeight()) : 1;
+    }
+
+    /**
+     * Check if any executor under a root sets a drain weight.
+     */
+    public boolean isWeighted(String rootId) {
+        return executors.values().stream()
+                .anyMatch(spec -> spec.getWeight() > 0 && rootId.equals(getRootIdFor(spec.getId())));
+    }
+
     /**
      * Get queue capacity for an executor's root queue.
      * Always walks up to the root and reads its capacity.
@@ -257,4 +283,71 @@ public class ExecutorHierarchy {
             }
         }
     }
+
+    private void validateConcurrencyConstraints() {
+        for (ExecutorSpec spec : executors.values()) {
+            ExecutorSpec.AdaptiveConcurrencyConfig adaptive = spec.getAdaptiveConcurrency();
+            if (adaptive == null) {
+                continue;
+            }
+            if (!spec.hasConcurrencyLimit()) {
+                throw new ConfigurationException(
+                        "adaptive-concurrency requires max-concurrency on executor '" + spec.getId() + "'");
+            }
+            if (adaptive.getMinLimit() <= 0 || adaptive.getMinLimit() > spec.getMaxConcurrency()) {
+                throw new ConfigurationException("adaptive-concurrency min-limit of executor '" + spec.getId() +
+                        "' must be between 1 and max-concurrency (" + spec.getMaxConcurrency() + ")");
+            }
+            if (adaptive.getBackoffRatio() <= 0 || adaptive.getBackoffRatio() >= 1) {
+                throw new ConfigurationException("adaptive-concurrency backoff-ratio of executor '" +
+                        spec.getId() + "' must be between 0 and 1 (exclusive)");
+            }
+            if (adaptive.getLatencyThresholdMs() <= 0) {
+                throw new ConfigurationException("adaptive-concurrency latency-threshold-ms of executor '" +
+                        spec.getId() + "' must be positive");
+            }
+        }
+    }
+
+    private void validateShareConstraints() {
+        for (ExecutorSpec spec : executors.values()) {
+            if (spec.getBurst() < 0 || (spec.hasTpsLimit() && spec.getBurst() > spec.getTps())) {
+                throw new ConfigurationException("burst (" + spec.getBurst() + ") of executor '" +
+                        spec.getId() + "' must be between 0 and its tps (" + spec.getTps() + ")");
+            }
+            if (spec.getWeight() < 0) {
+                throw new ConfigurationException("weight of executor '" + spec.getId() + "' cannot be negative");
+            }
+            if (spec.getMinTps() < 0) {
+                throw new ConfigurationException("min-tps of executor '" + spec.getId() + "' cannot be negative");
+            }
+            if (spec.getMinTps() == 0) {
+                continue;
+            }
+            if (spec.isRoot()) {
+                throw new ConfigurationException("min-tps is only valid on child executors: '" + spec.getId() + "'");
+            }
+            if (!executors.get(spec.getParent()).hasTpsLimit()) {
+                throw new ConfigurationException("min-tps of executor '" + spec.getId() +
+                        "' needs a TPS limit on its parent '" + spec.getParent() + "'");
+            }
+            if (spec.hasTpsLimit() && spec.getMinTps() > spec.getTps()) {
+                throw new ConfigurationException("min-tps (" + spec.getMinTps() + ") of executor '" +
+                        spec.getId() + "' cannot exceed its tps (" + spec.getTps() + ")");
+            }
+        }
+
+        for (Map.Entry<String, List<String>> entry : children.entrySet()) {
+            ExecutorSpec parent = executors.get(entry.getKey());
+            int reserved = 0;
+            for (String childId : entry.getValue()) {
+                // min-tps was checked non-negative above
+                reserved += executors.get(childId).getMinTps();
+            }
+            if (parent.hasTpsLimit() && reserved > parent.getTps()) {
+                throw new ConfigurationException("min-tps of the children of '" + parent.getId() + "' (" +
+                        reserved + ") cannot exceed its tps (" + parent.getTps() + ")");
+            }
+        }
+    }
 }
@@ -25,11 +25,48 @@ public class ExecutorSpec {
      */
     private int tps;
 
+    /**
+     * TPS reserved for this executor out of its parent's TPS (0 = no reservation).
+     * Siblings cannot take the unused part of it; this executor can still borrow
+     * whatever its siblings leave unused, up to its own tps.
+     */
+    private int minTps;
+
+    /**
+     * Relative share of its root's queued work when siblings compete in the
+     * PARTITIONED drainer (0 = unset; a root with any weight set drains weighted,
+     * counting unset executors as weight 1).
+     */
+    private int weight;
+
     /**
      * Max queue capacity (only applicable for root executor).
      */
     private int queueCapacity;
 
+    /**
+     * TPS counter implementation used by the sliding-window gate.
+     */
+    private TpsCounterType tpsCounter = TpsCounterType.SLIDING_LOG;
+
+    /**
+     * Admissions allowed back to back before pacing starts, for the GCRA counter and
+     * the TOKEN_BUCKET gate (0 = tps, a full window's worth).
+     */
+    private int burst;
+
+    /**
+     * Max tasks in flight (admitted and not yet completed), across this executor
+     * and its children (0 or negative means unbounded).
+     */
+    private int maxConcurrency;
+
+    /**
+     * Adapts the in-flight limit to task latency, between its min-limit and
+     * max-concurrency (null keeps the limit fixed at max-concurrency).
+     */
+    private AdaptiveConcurrencyConfig adaptiveConcurrency;
+
     /**
      * Create a root executor with TPS limit and queue capacity.
      */
@@ -73,10 +110,39 @@ public class ExecutorSpec {
         return tps > 0;
     }
 
+    /**
+     * Get the burst tolerance of this executor's pacing (tps if unset).
+     */
+    public int effectiveBurst() {
+        return burst > 0 ? burst : tps;
+    }
+
+    /**
+     * Check if this executor caps its in-flight tasks.
+     */
+    public boolean hasConcurrencyLimit() {
+        return maxConcurrency > 0;
+    }
+
     /**
      * Default thread name prefix derived from the executor ID.
      */
     public String threadNamePrefix() {
         return id + "-worker-";
     }
+
+    /**
+     * AIMD settings for the adaptive in-flight limit.
+     * The limit starts at max-concurrency, grows by one per limit's worth of fast
+     * completions and is multiplied by backoff-ratio on each slow or failed one.
+     */
+    @Data
+    public static class AdaptiveConcurrencyConfig {
+        /** Lowest the limit may drop to. */
+        private int minLimit = 1;
+        /** Factor applied to the limit on a slow or failed task. */
+        private double backoffRatio = 0.9;
+        /** Task latency above which the limit backs off (ms). */
+        private long latencyThresholdMs = 1000;
+    }
 }
@@ -48,6 +48,12 @@ public class PoolConfig {
     @Valid
     private StrategyConfig priorityStrategy = StrategyConfig.fifo();
 
+    /**
+     * Condition evaluation settings.
+     */
+    @Valid
+    private EvaluationConfig evaluation = new EvaluationConfig();
+
     /**
      * Get executor specs (convenience accessor).
      */
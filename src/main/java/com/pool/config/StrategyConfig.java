@@ -10,17 +10,17 @@ import lombok.Data;
 public class StrategyConfig {
 
     /**
-     * Strategy type (FIFO, TIME_BASED, BUCKET_BASED).
+     * Strategy type (FIFO, SKIP_LIST, TIME_BASED, BUCKET_BASED).
      */
     private StrategyType type = StrategyType.FIFO;
 
     /**
-     * Configuration for TIME_BASED strategy (future).
+     * Configuration for TIME_BASED strategy (defaults apply when omitted).
      */
     private TimeBasedConfig timeBased;
 
     /**
-     * Configuration for BUCKET_BASED strategy (future).
+     * Configuration for BUCKET_BASED strategy (defaults apply when omitted).
      */
     private BucketBasedConfig bucketBased;
 
@@ -32,20 +32,23 @@ public class StrategyConfig {
     }
 
     /**
-     * Configuration for TIME_BASED strategy (future implementation).
+     * Configuration for TIME_BASED strategy.
      */
     @Data
     public static class TimeBasedConfig {
-        /** How often to re-evaluate priorities (ms). */
+        /** Wait time that earns one boost step (ms). */
         private long agingIntervalMs = 5000;
-        /** Priority boost per interval. */
+        /** Branch indexes a task moves up per interval waited. */
         private long boostPerInterval = 1;
-        /** Maximum total boost allowed. */
+        /** Maximum total boost allowed (0 disables aging). */
         private long maxBoost = 100;
+        /** Path level whose branch index is boosted; higher levels are never overtaken. */
+        private int agingLevel = 0;
     }
 
     /**
-     * Configuration for BUCKET_BASED strategy (future implementation).
+     * Configuration for BUCKET_BASED strategy.
+     * Top-level branch N maps to bucket N-1; later branches share the last bucket.
      */
     @Data
     public static class BucketBasedConfig {
@@ -53,7 +56,7 @@ public class StrategyConfig {
         private int bucketCount = 4;
         /** Capacity of each bucket (index 0 = highest priority). */
         private int[] bucketCapacities = {100, 500, 2000, Integer.MAX_VALUE};
-        /** How often to promote tasks between buckets. */
+        /** How often to promote tasks between buckets (0 disables promotion). */
         private long promotionIntervalMs = 10000;
     }
 }
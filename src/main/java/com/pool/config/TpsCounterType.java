@@ -0,0 +1,24 @@
+package com.pool.config;
+
+/**
+ * Per-executor TPS counter implementation for the {@link TpsGateType#SLIDING_WINDOW} gate.
+ */
+public enum TpsCounterType {
+    /**
+     * Deque of boxed admission timestamps.
+     */
+    SLIDING_LOG,
+
+    /**
+     * Preallocated {@code long[]} ring buffer sized to the TPS limit.
+     * Same accuracy, no per-admission allocation, O(1) count.
+     */
+    RING_BUFFER,
+
+    /**
+     * Paces admissions evenly (GCRA): one per {@code window / tps}, with up to
+     * {@code burst} back to back. Pacing is one {@code long} updated by CAS;
+     * admissions in the window are counted in a ring buffer.
+     */
+    GCRA
+}
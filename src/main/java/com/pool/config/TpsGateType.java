@@ -0,0 +1,18 @@
+package com.pool.config;
+
+/**
+ * TPS gate implementation used for executor admission.
+ */
+public enum TpsGateType {
+    /**
+     * Sliding-window log per executor, chain checked under one global lock.
+     * Exact: never more than {@code tps} admissions in any window.
+     */
+    SLIDING_WINDOW,
+
+    /**
+     * Lock-free token bucket per executor, chain reserved with CAS and rollback.
+     * Burst of {@code tps}, then continuous refill. Scales with submitting threads.
+     */
+    TOKEN_BUCKET
+}
@@ -1,8 +1,11 @@
 package com.pool.config;
 
 import com.pool.adapter.executor.tps.TaskQueueManager;
+import com.pool.adapter.executor.tps.TokenBucketTpsGate;
 import com.pool.adapter.executor.tps.TpsGate;
 import com.pool.adapter.executor.tps.TpsPoolExecutor;
+import com.pool.core.GcraTpsCounter;
+import com.pool.core.RingBufferTpsCounter;
 import com.pool.core.TpsCounter;
 import com.pool.policy.PolicyEngine;
 import org.slf4j.Logger;
@@ -31,11 +34,22 @@ public class TpsSystemConfig {
     private static final long DEFAULT_WINDOW_SIZE_MS = 1000;
 
     private final ExecutorHierarchy hierarchy;
+    private final TpsGateType gateType;
+    private final DrainMode drainMode;
+    private final ExecutionMode executionMode;
+    private final StrategyConfig strategyConfig;
     private final Map<String, ReentrantLock> capacityLocks = new ConcurrentHashMap<>();
     private final Map<String, Condition> capacityConditions = new ConcurrentHashMap<>();
 
     public TpsSystemConfig(PoolConfig config) {
         this.hierarchy = new ExecutorHierarchy(config);
+        this.gateType = config.getAdapters().getTpsGate() != null
+                ? config.getAdapters().getTpsGate() : TpsGateType.SLIDING_WINDOW;
+        this.drainMode = config.getAdapters().getDrainMode() != null
+                ? config.getAdapters().getDrainMode() : DrainMode.SHARED;
+        this.executionMode = config.getAdapters().getExecutionMode() != null
+                ? config.getAdapters().getExecutionMode() : ExecutionMode.PLATFORM;
+        this.strategyConfig = config.getPriorityStrategy();
         for (String rootId : hierarchy.getRootIds()) {
             ReentrantLock lock = new ReentrantLock();
             capacityLocks.put(rootId, lock);
@@ -52,10 +66,14 @@ public class TpsSystemConfig {
 
     @Bean
     public TpsGate tpsGate(ExecutorHierarchy hierarchy) {
+        if (gateType == TpsGateType.TOKEN_BUCKET) {
+            return new TokenBucketTpsGate(hierarchy, DEFAULT_WINDOW_SIZE_MS);
+        }
+
         ConcurrentHashMap<String, TpsCounter> counters = new ConcurrentHashMap<>();
 
         for (String executorId : hierarchy.getAllExecutorIds()) {
-            TpsCounter counter = new TpsCounter(DEFAULT_WINDOW_SIZE_MS);
+            TpsCounter counter = createCounter(hierarchy.getExecutor(executorId));
             final String execId = executorId;
             counter.setOnReset(() -> signalCapacity(hierarchy.getRootIdFor(execId)));
             counters.put(executorId, counter);
@@ -70,20 +88,63 @@ public class TpsSystemConfig {
 
         for (String rootId : hierarchy.getRootIds()) {
             int queueCapacity = hierarchy.getQueueCapacity(rootId);
-            executorStrategies.put(rootId,
-                    com.pool.strategy.PriorityStrategyFactory.createDefault(queueCapacity));
+            if (drainMode == DrainMode.PARTITIONED) {
+                executorStrategies.put(rootId, new com.pool.strategy.PartitionedStrategy<>(queueCapacity,
+                        TaskQueueManager.QueuedTask::executorId,
+                        () -> com.pool.strategy.PriorityStrategyFactory.create(strategyConfig, queueCapacity),
+                        hierarchy.isWeighted(rootId) ? hierarchy::getWeight : null));
+            } else {
+                executorStrategies.put(rootId,
+                        com.pool.strategy.PriorityStrategyFactory.create(strategyConfig, queueCapacity));
+            }
         }
 
-        ExecutorService threadPool = Executors.newCachedThreadPool(r -> {
+        log.info("TPS system wired: {} executors, execution mode {}",
+                hierarchy.getAllExecutorIds().size(), executionMode);
+        return new TaskQueueManager(hierarchy, tpsGate, executorStrategies,
+                capacityLocks, capacityConditions, taskExecutor(executionMode), drainerThreadFactory(executionMode));
+    }
+
+    /**
+     * Create the executor that runs admitted tasks.
+     * <p>
+     * Virtual workers do not inherit inheritable thread-locals from the thread
+     * that submits them (a drainer or a caller): each task sets its own
+     * {@link com.pool.core.TpsContext}, and threads it spawns inherit from it.
+     */
+    public static ExecutorService taskExecutor(ExecutionMode mode) {
+        if (mode == ExecutionMode.VIRTUAL) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                    .name("tps-pool-vworker-", 0)
+                    .inheritInheritableThreadLocals(false)
+                    .factory());
+        }
+        return Executors.newCachedThreadPool(r -> {
             Thread t = new Thread(r);
             t.setName("tps-pool-worker-" + System.nanoTime());
             t.setDaemon(true);
             return t;
         });
+    }
 
-        log.info("TPS system wired: {} executors", hierarchy.getAllExecutorIds().size());
-        return new TaskQueueManager(hierarchy, tpsGate, executorStrategies,
-                capacityLocks, capacityConditions, threadPool);
+    /**
+     * Create the factory for per-root drainer threads.
+     */
+    public static ThreadFactory drainerThreadFactory(ExecutionMode mode) {
+        if (mode == ExecutionMode.VIRTUAL) {
+            return Thread.ofVirtual().inheritInheritableThreadLocals(false).factory();
+        }
+        return TaskQueueManager::platformDrainer;
+    }
+
+    private TpsCounter createCounter(ExecutorSpec spec) {
+        if (spec.getTpsCounter() == TpsCounterType.RING_BUFFER) {
+            return new RingBufferTpsCounter(DEFAULT_WINDOW_SIZE_MS, spec.getTps());
+        }
+        if (spec.getTpsCounter() == TpsCounterType.GCRA && spec.hasTpsLimit()) {
+            return new GcraTpsCounter(DEFAULT_WINDOW_SIZE_MS, spec.getTps(), spec.effectiveBurst());
+        }
+        return new TpsCounter(DEFAULT_WINDOW_SIZE_MS);
     }
 
     private void signalCapacity(String executorId) {
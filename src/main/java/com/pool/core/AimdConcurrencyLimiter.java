@@ -0,0 +1,66 @@
+package com.pool.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limiter whose limit follows downstream latency (additive increase,
+ * multiplicative decrease).
+ *
+ * Every completion that is successful and within {@code latencyThresholdNanos}
+ * raises the limit by {@code 1 / limit}, so a fully used limit grows by about one
+ * per round of completions. A failed or slow completion multiplies it by
+ * {@code backoffRatio}. The limit stays within {@code [minLimit, maxLimit]} and
+ * starts at {@code maxLimit}.
+ *
+ * The fractional limit is kept as the bits of a double in an {@link AtomicLong},
+ * so updates are lock-free.
+ */
+public class AimdConcurrencyLimiter extends ConcurrencyLimiter {
+
+    private final int minLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final AtomicLong limitBits;
+
+    public AimdConcurrencyLimiter(int maxLimit, int minLimit, double backoffRatio, long latencyThresholdNanos) {
+        super(maxLimit);
+        if (minLimit <= 0 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Min limit must be between 1 and the max limit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1 (exclusive)");
+        }
+        if (latencyThresholdNanos <= 0) {
+            throw new IllegalArgumentException("Latency threshold must be positive");
+        }
+        this.minLimit = minLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(maxLimit));
+    }
+
+    @Override
+    public void onComplete(long latencyNanos, boolean success) {
+        boolean backoff = !success || latencyNanos > latencyThresholdNanos;
+        for (;;) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next = backoff
+                    ? Math.max(minLimit, limit * backoffRatio)
+                    : Math.min(getMaxLimit(), limit + 1.0 / limit);
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                break;
+            }
+        }
+        release(1);
+    }
+
+    @Override
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+}
@@ -0,0 +1,85 @@
+package com.pool.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free cap on the number of admitted tasks that have not completed yet.
+ *
+ * TPS limits count admissions per window, so a slow downstream lets in-flight
+ * work pile up while TPS stays within limits. This limiter counts tasks from
+ * admission to completion instead: a slot is taken on admission and returned
+ * by {@link #onComplete(long, boolean)} (or {@link #release(int)} if the task
+ * never ran).
+ *
+ * The base class enforces a fixed limit; {@link AimdConcurrencyLimiter} adapts
+ * it to observed latency.
+ */
+public class ConcurrencyLimiter {
+
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ConcurrencyLimiter(int maxLimit) {
+        if (maxLimit <= 0) {
+            throw new IllegalArgumentException("Concurrency limit must be positive");
+        }
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Take up to {@code n} slots under the current limit in one CAS.
+     *
+     * @return Number of slots taken (0 if the limit is reached)
+     */
+    public int tryAcquire(int n) {
+        for (;;) {
+            int current = inFlight.get();
+            int taken = Math.min(n, getLimit() - current);
+            if (taken <= 0) {
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + taken)) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Return slots of tasks that were admitted but never ran.
+     */
+    public void release(int n) {
+        inFlight.addAndGet(-n);
+    }
+
+    /**
+     * Return the slot of a completed task.
+     *
+     * @param latencyNanos How long the task ran
+     * @param success      false if the task failed
+     */
+    public void onComplete(long latencyNanos, boolean success) {
+        release(1);
+    }
+
+    /**
+     * Check if at least one slot is free, without taking it.
+     */
+    public boolean hasCapacity() {
+        return inFlight.get() < getLimit();
+    }
+
+    /**
+     * Get the current limit on in-flight tasks.
+     */
+    public int getLimit() {
+        return maxLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
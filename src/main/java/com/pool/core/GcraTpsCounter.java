@@ -0,0 +1,109 @@
+package com.pool.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pacing TPS counter (GCRA) for executors whose downstream cannot absorb a
+ * whole window's worth of admissions at once.
+ *
+ * The sliding-window log admits {@code tps} requests as fast as they arrive
+ * and then nothing until the window slides. This counter instead spaces
+ * admissions one emission interval ({@code windowSizeMs / tps}) apart,
+ * tolerating at most {@code burst} back to back. Pacing is a single
+ * theoretical arrival time in the wrapped {@link TokenBucket}, advanced by one
+ * CAS per admission.
+ *
+ * The bucket's fill is how far admissions run ahead of the rate, not how many
+ * were taken, so {@link #getCount()} reads a {@link RingBufferTpsCounter} of
+ * the admissions in the current window instead (what capacity reports and
+ * min-tps accounting measure against).
+ *
+ * The gate passes each level's limit to every call. A limit below the
+ * configured {@code tps} (a level holding back a sibling's reservation) keeps
+ * that share of the rate in the bucket, scaled to the burst: holding back half
+ * the rate keeps half the burst, so anything short of the whole rate never
+ * keeps the entire bucket.
+ */
+public class GcraTpsCounter extends TpsCounter {
+
+    private final int tps;
+    private final TokenBucket bucket;
+    private final RingBufferTpsCounter admissions;
+
+    /**
+     * @param windowSizeMs Window the rate is expressed over
+     * @param tps          Admissions per window
+     * @param burst        Admissions allowed back to back, between 1 and {@code tps}
+     */
+    public GcraTpsCounter(long windowSizeMs, int tps, int burst) {
+        super(windowSizeMs, false);
+        this.tps = tps;
+        this.bucket = new TokenBucket(tps, windowSizeMs, burst);
+        this.admissions = new RingBufferTpsCounter(windowSizeMs, tps);
+    }
+
+    @Override
+    public boolean hasCapacity(int maxTps) {
+        return getAvailable(maxTps) > 0;
+    }
+
+    /**
+     * Record an admission. The gate checks availability first, under its lock,
+     * so the take always succeeds.
+     */
+    @Override
+    public void increment() {
+        bucket.tryAcquire();
+        admissions.increment();
+    }
+
+    @Override
+    public void increment(int n) {
+        bucket.tryAcquire(n);
+        admissions.increment(n);
+    }
+
+    @Override
+    public void release(int n) {
+        bucket.release(n);
+        admissions.release(n);
+    }
+
+    @Override
+    public int getAvailable(int maxTps) {
+        if (maxTps <= 0) return Integer.MAX_VALUE;
+        return Math.max(0, bucket.getAvailable() - keep(maxTps));
+    }
+
+    @Override
+    public long millisUntilCapacity(int maxTps) {
+        if (maxTps <= 0) return 0;
+        return TimeUnit.NANOSECONDS.toMillis(bucket.nanosUntilAvailable(keep(maxTps)) + 999_999);
+    }
+
+    /**
+     * Get the number of admissions in the current window.
+     */
+    @Override
+    public int getCount() {
+        return admissions.getCount();
+    }
+
+    @Override
+    public void clear() {
+        bucket.clear();
+        admissions.clear();
+    }
+
+    public int getBurst() {
+        return bucket.getBurst();
+    }
+
+    /**
+     * Tokens to leave in the bucket for a limit below {@code tps}: the held-back
+     * share of the rate applied to the burst.
+     */
+    private int keep(int maxTps) {
+        return (int) ((long) Math.max(0, tps - maxTps) * bucket.getBurst() / tps);
+    }
+}
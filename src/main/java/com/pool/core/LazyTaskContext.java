@@ -0,0 +1,194 @@
+package com.pool.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pool.variable.SystemVariableContext;
+import com.pool.variable.SystemVariableProviderFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TaskContext that resolves request variables on demand.
+ * <p>
+ * Keeps the parsed payload (nested maps, as produced by Jackson or passed in by the
+ * caller) instead of flattening it up front. {@code $req.a.b.c} is resolved by walking
+ * the nested maps the first time it is read, and only the values actually read are
+ * cached. Resolution matches {@link DefaultTaskContext} built by {@link TaskContextFactory}:
+ * a key that itself contains dots is tried before descending into nested maps, and
+ * non-JSON values are converted with the context's {@link ObjectMapper}.
+ * <p>
+ * System variables other than {@code taskId} and {@code submittedAt} are computed on first
+ * access. {@link #getRequestVariables()} flattens the whole payload once, on first call.
+ * <p>
+ * The source map must not be modified after the context is created.
+ */
+public final class LazyTaskContext implements TaskContext {
+
+    private static final Logger log = LoggerFactory.getLogger(LazyTaskContext.class);
+
+    // Cached marker for paths that resolved to nothing (ConcurrentHashMap cannot hold null)
+    private static final Object MISSING = new Object();
+
+    private final String taskId;
+    private final long submittedAt;
+    private final Map<?, ?> source;
+    private final ObjectMapper mapper;
+    private final Map<String, Object> contextVariables;
+    private final Map<String, Object> resolved = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Object> requestVariables;
+    private volatile Map<String, Object> systemVariables;
+
+    /**
+     * @param taskId  Optional task ID (generated if null)
+     * @param source  Parsed payload; nested objects as nested maps
+     * @param mapper  Converts non-JSON values (POJOs, enums, ...) found in the payload
+     * @param context Context map (e.g., headers, metadata) - can be null
+     */
+    LazyTaskContext(String taskId, Map<?, ?> source, ObjectMapper mapper, Map<String, String> context) {
+        this.taskId = taskId != null ? taskId : UUID.randomUUID().toString();
+        this.submittedAt = System.currentTimeMillis();
+        this.source = source;
+        this.mapper = mapper;
+
+        Map<String, Object> ctx = new HashMap<>();
+        if (context != null) {
+            for (Map.Entry<String, String> entry : context.entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    ctx.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        this.contextVariables = Collections.unmodifiableMap(ctx);
+    }
+
+    @Override
+    public Optional<Object> getRequestVariable(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        Object value = resolved.get(name);
+        if (value == null) {
+            value = resolvePath(source, name);
+            resolved.put(name, value);
+        }
+        return value == MISSING ? Optional.empty() : Optional.of(value);
+    }
+
+    @Override
+    public Map<String, Object> getRequestVariables() {
+        Map<String, Object> variables = requestVariables;
+        if (variables == null) {
+            variables = Collections.unmodifiableMap(TaskContextFactory.flatten(source, mapper));
+            requestVariables = variables;
+        }
+        return variables;
+    }
+
+    @Override
+    public Optional<Object> getContextVariable(String name) {
+        return Optional.ofNullable(contextVariables.get(name));
+    }
+
+    @Override
+    public Map<String, Object> getContextVariables() {
+        return contextVariables;
+    }
+
+    @Override
+    public Optional<Object> getSystemVariable(String name) {
+        if ("taskId".equals(name)) {
+            return Optional.of(taskId);
+        }
+        if ("submittedAt".equals(name)) {
+            return Optional.of(submittedAt);
+        }
+        return Optional.ofNullable(getSystemVariables().get(name));
+    }
+
+    @Override
+    public Map<String, Object> getSystemVariables() {
+        Map<String, Object> variables = systemVariables;
+        if (variables == null) {
+            Map<String, Object> computed = SystemVariableProviderFactory.computeAll(
+                    new SystemVariableContext(taskId, null));
+            // Keep the map consistent with the values fixed at creation
+            computed.put("taskId", taskId);
+            computed.put("submittedAt", submittedAt);
+            variables = Collections.unmodifiableMap(computed);
+            systemVariables = variables;
+        }
+        return variables;
+    }
+
+    @Override
+    public String getTaskId() {
+        return taskId;
+    }
+
+    @Override
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    @Override
+    public Optional<String> getCorrelationId() {
+        return Optional.empty();
+    }
+
+    /**
+     * Resolve a dotted path against a nested map.
+     * The whole remaining path is tried as a key first, then each dot from the left
+     * as a descent into a nested map.
+     *
+     * @return The leaf value, or {@link #MISSING}
+     */
+    private Object resolvePath(Map<?, ?> map, String path) {
+        Object value = normalize(map.get(path));
+        if (value != null && !(value instanceof Map)) {
+            return value;
+        }
+
+        for (int dot = path.indexOf('.'); dot > 0; dot = path.indexOf('.', dot + 1)) {
+            if (normalize(map.get(path.substring(0, dot))) instanceof Map<?, ?> nested) {
+                Object leaf = resolvePath(nested, path.substring(dot + 1));
+                if (leaf != MISSING) {
+                    return leaf;
+                }
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Convert a non-JSON value the way flattening would; JSON values and maps pass through.
+     */
+    private Object normalize(Object value) {
+        if (value instanceof Map || TaskContextFactory.isJsonNative(value)) {
+            return value;
+        }
+        try {
+            return mapper.convertValue(value, Object.class);
+        } catch (IllegalArgumentException e) {
+            log.warn("Cannot convert request value of type {}: {}",
+                    value.getClass().getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TaskContext{" +
+                "taskId='" + taskId + '\'' +
+                ", submittedAt=" + submittedAt +
+                ", resolvedRequestVariables=" + resolved.keySet() +
+                ", contextVariables=" + contextVariables +
+                '}';
+    }
+}
@@ -3,9 +3,13 @@ package com.pool.core;
 import com.pool.priority.PriorityKey;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Payload wrapper with priority metadata for scheduling.
+ * <p>
+ * Also serves as the handle of a queued entry: a strategy {@linkplain #claim() claims}
+ * the payload when it is dequeued or removed, so exactly one of the two wins.
  *
  * @param <T> Payload type
  */
@@ -15,6 +19,11 @@ public final class PrioritizedPayload<T> implements Comparable<PrioritizedPayloa
     private final PriorityKey priorityKey;
     private final String taskId;
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<PrioritizedPayload> CLAIMED =
+            AtomicIntegerFieldUpdater.newUpdater(PrioritizedPayload.class, "claimed");
+    private volatile int claimed;
+
     public PrioritizedPayload(T payload, String taskId, PriorityKey priorityKey) {
         this.payload = payload;
         this.taskId = Objects.requireNonNull(taskId, "taskId cannot be null");
@@ -33,6 +42,22 @@ public final class PrioritizedPayload<T> implements Comparable<PrioritizedPayloa
         return priorityKey;
     }
 
+    /**
+     * Claim this entry for dequeue or removal.
+     *
+     * @return true for the first caller only
+     */
+    public boolean claim() {
+        return claimed == 0 && CLAIMED.compareAndSet(this, 0, 1);
+    }
+
+    /**
+     * Check if this entry has been dequeued or removed.
+     */
+    public boolean isClaimed() {
+        return claimed != 0;
+    }
+
     @Override
     public int compareTo(PrioritizedPayload<?> other) {
         return this.priorityKey.compareTo(other.priorityKey);
@@ -0,0 +1,170 @@
+package com.pool.core;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sliding-window-log TPS counter backed by a preallocated {@code long[]} ring buffer.
+ *
+ * Same accuracy as {@link TpsCounter} — one timestamp per admission, evicted
+ * from the head once older than {@code windowSizeMs} — but the log lives in a
+ * primitive array sized to the executor's TPS limit. Admissions allocate
+ * nothing and the live count is a field read, so capacity checks are O(1)
+ * apart from evicting expired entries.
+ *
+ * The buffer only grows (doubling) if more entries are live than it can hold,
+ * which cannot happen when every increment is preceded by a passing
+ * {@link #hasCapacity(int)} check against the limit it was sized for.
+ *
+ * Thread-safe — all reads and writes go through a {@link ReentrantLock}.
+ */
+public class RingBufferTpsCounter extends TpsCounter {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] timestamps;
+    private int head;
+    private int size;
+
+    public RingBufferTpsCounter(long windowSizeMs) {
+        this(windowSizeMs, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param windowSizeMs Sliding window size
+     * @param maxTps       Expected max admissions per window (sizes the buffer; {@code <= 0} uses a small default)
+     */
+    public RingBufferTpsCounter(long windowSizeMs, int maxTps) {
+        super(windowSizeMs, false);
+        this.timestamps = new long[maxTps > 0 ? maxTps : DEFAULT_CAPACITY];
+    }
+
+    @Override
+    public boolean hasCapacity(int maxTps) {
+        if (maxTps <= 0) return true;
+        lock.lock();
+        try {
+            evictStale();
+            return size < maxTps;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void increment() {
+        lock.lock();
+        try {
+            if (size == timestamps.length) {
+                // Unbounded executors are never checked, so make room from expired entries first
+                evictStale();
+                if (size == timestamps.length) {
+                    grow();
+                }
+            }
+            timestamps[(head + size) % timestamps.length] = System.currentTimeMillis();
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void increment(int n) {
+        lock.lock();
+        try {
+            if (size + n > timestamps.length) {
+                evictStale();
+                while (size + n > timestamps.length) {
+                    grow();
+                }
+            }
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < n; i++) {
+                timestamps[(head + size) % timestamps.length] = now;
+                size++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void release(int n) {
+        lock.lock();
+        try {
+            size = Math.max(0, size - n);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long millisUntilCapacity(int maxTps) {
+        if (maxTps <= 0) return 0;
+        lock.lock();
+        try {
+            evictStale();
+            int excess = size - maxTps;
+            if (excess < 0) {
+                return 0;
+            }
+            long expiring = timestamps[(head + excess) % timestamps.length];
+            return Math.max(0, expiring + getWindowSizeMs() - System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getCount() {
+        lock.lock();
+        try {
+            evictStale();
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            head = 0;
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop entries older than {@code now - windowSizeMs} from the head.
+     * Fires the {@code onReset} callback if any were removed.
+     * <p>
+     * Must be called while holding {@link #lock}.
+     */
+    private void evictStale() {
+        long cutoff = System.currentTimeMillis() - getWindowSizeMs();
+        int evicted = 0;
+
+        while (size > 0 && timestamps[head] <= cutoff) {
+            head = head + 1 == timestamps.length ? 0 : head + 1;
+            size--;
+            evicted++;
+        }
+
+        if (evicted > 0) {
+            fireOnReset();
+        }
+    }
+
+    private void grow() {
+        long[] larger = new long[timestamps.length * 2];
+        for (int i = 0; i < size; i++) {
+            larger[i] = timestamps[(head + i) % timestamps.length];
+        }
+        timestamps = larger;
+        head = 0;
+    }
+}
@@ -1,5 +1,7 @@
 package com.pool.core;
 
+import com.pool.variable.VariableReference;
+
 import java.util.Map;
 import java.util.Optional;
 
@@ -49,6 +51,20 @@ public interface TaskContext {
      */
     Map<String, Object> getSystemVariables();
 
+    /**
+     * Get a variable by a pre-parsed reference.
+     *
+     * @param reference Parsed variable reference
+     * @return Variable value, or empty if not set
+     */
+    default Optional<Object> getVariable(VariableReference reference) {
+        return switch (reference.getSource()) {
+            case REQUEST -> getRequestVariable(reference.getName());
+            case SYSTEM -> getSystemVariable(reference.getName());
+            case CONTEXT -> getContextVariable(reference.getName());
+        };
+    }
+
     /**
      * Get unique task identifier.
      */
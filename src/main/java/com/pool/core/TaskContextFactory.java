@@ -9,12 +9,17 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Factory for creating TaskContext from JSON payload and context map.
- * Nested JSON objects are flattened using dot notation (e.g., {"x":{"y":"z"}} becomes "x.y" -> "z").
+ * Factory for creating TaskContext from a JSON payload or an object, plus a context map.
+ * Nested objects are flattened using dot notation (e.g., {"x":{"y":"z"}} becomes "x.y" -> "z").
+ * <p>
+ * The {@code create}/{@code fromObject} methods flatten the whole payload up front
+ * ({@link DefaultTaskContext}); the {@code createLazy}/{@code fromObjectLazy} variants
+ * keep the parsed payload and resolve only the paths that are read ({@link LazyTaskContext}).
  */
 public class TaskContextFactory {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
     /**
      * Create a TaskContext from JSON request payload and context map.
@@ -59,9 +64,140 @@ public class TaskContextFactory {
         return builder.build();
     }
 
+    /**
+     * Create a TaskContext directly from a payload object, without producing JSON text.
+     *
+     * @param payload Request data: a {@code Map} (flattened as-is) or any Jackson-convertible object
+     *                (converted to a map in memory); null produces no request variables
+     * @param context Context map (e.g., headers, metadata) - can be null
+     * @return TaskContext with flattened request variables
+     */
+    public static TaskContext fromObject(Object payload, Map<String, String> context) {
+        return fromObject(payload, context, objectMapper);
+    }
+
+    /**
+     * Create a TaskContext directly from a payload object using the given mapper
+     * for non-map values (so application serialization settings apply).
+     *
+     * @throws IllegalArgumentException if the payload cannot be converted to a map
+     */
+    public static TaskContext fromObject(Object payload, Map<String, String> context, ObjectMapper mapper) {
+        TaskContext.Builder builder = TaskContext.builder();
+
+        if (payload != null) {
+            builder.requestVariables(flatten(toMap(payload, mapper), mapper));
+        }
+
+        if (context != null) {
+            for (Map.Entry<String, String> entry : context.entrySet()) {
+                builder.contextVariable(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Create a lazily-resolved TaskContext from JSON request payload and context map.
+     * The payload is parsed once; no flattened copy is made.
+     *
+     * @see LazyTaskContext
+     */
+    public static TaskContext createLazy(String jsonPayload, Map<String, String> context) {
+        return createLazy(null, jsonPayload, context);
+    }
+
+    /**
+     * Create a lazily-resolved TaskContext from JSON request payload and context map
+     * with a specific task ID.
+     *
+     * @param taskId      Optional task ID (generated if null)
+     * @param jsonPayload JSON string containing request data - can be null or blank
+     * @param context     Context map (e.g., headers, metadata) - can be null
+     * @throws IllegalArgumentException if the payload is not valid JSON
+     */
+    public static TaskContext createLazy(String taskId, String jsonPayload, Map<String, String> context) {
+        Map<String, Object> parsed = jsonPayload != null && !jsonPayload.isBlank()
+                ? parseJson(jsonPayload)
+                : Map.of();
+        return new LazyTaskContext(taskId, parsed, objectMapper, context);
+    }
+
+    /**
+     * Create a lazily-resolved TaskContext directly from a payload object.
+     * A {@code Map} payload is kept as-is and must not be modified afterwards.
+     *
+     * @see #fromObject(Object, Map)
+     * @see LazyTaskContext
+     */
+    public static TaskContext fromObjectLazy(Object payload, Map<String, String> context) {
+        return fromObjectLazy(payload, context, objectMapper);
+    }
+
+    /**
+     * Create a lazily-resolved TaskContext directly from a payload object using the
+     * given mapper for non-map values.
+     *
+     * @throws IllegalArgumentException if the payload cannot be converted to a map
+     */
+    public static TaskContext fromObjectLazy(Object payload, Map<String, String> context, ObjectMapper mapper) {
+        Map<?, ?> source = payload != null ? toMap(payload, mapper) : Map.of();
+        return new LazyTaskContext(null, source, mapper, context);
+    }
+
+    /**
+     * Flatten a payload map the same way {@link #fromObject(Object, Map, ObjectMapper)} does.
+     */
+    static Map<String, Object> flatten(Map<?, ?> map, ObjectMapper mapper) {
+        Map<String, Object> result = new HashMap<>();
+        flattenObject("", map, mapper, result);
+        return result;
+    }
+
+    /**
+     * Check if a value is kept as-is when flattening (strings, numbers, booleans, lists, null).
+     */
+    static boolean isJsonNative(Object value) {
+        return value == null || value instanceof String || value instanceof Number
+                || value instanceof Boolean || value instanceof List;
+    }
+
+    private static Map<?, ?> toMap(Object payload, ObjectMapper mapper) {
+        if (payload instanceof Map<?, ?> map) {
+            return map;
+        }
+        return mapper.convertValue(payload, MAP_TYPE);
+    }
+
+    /**
+     * Flatten a map whose values may be arbitrary objects. JSON-native values
+     * (strings, numbers, booleans, lists) are kept; other objects are converted
+     * in memory the way serializing and re-parsing them would.
+     */
+    private static void flattenObject(String prefix, Map<?, ?> map, ObjectMapper mapper, Map<String, Object> result) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            String key = prefix.isEmpty() ? String.valueOf(entry.getKey()) : prefix + "." + entry.getKey();
+            Object value = entry.getValue();
+
+            if (value instanceof Map<?, ?> nested) {
+                flattenObject(key, nested, mapper, result);
+            } else if (isJsonNative(value)) {
+                result.put(key, value);
+            } else {
+                Object converted = mapper.convertValue(value, Object.class);
+                if (converted instanceof Map<?, ?> nested) {
+                    flattenObject(key, nested, mapper, result);
+                } else {
+                    result.put(key, converted);
+                }
+            }
+        }
+    }
+
     private static Map<String, Object> parseJson(String json) {
         try {
-            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            return objectMapper.readValue(json, MAP_TYPE);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException("Invalid JSON payload: " + e.getMessage(), e);
         }
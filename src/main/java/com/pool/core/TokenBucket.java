@@ -0,0 +1,181 @@
+package com.pool.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding {@code capacity} tokens that refill at
+ * {@code capacity} per {@code windowSizeMs}.
+ *
+ * The whole bucket state is one {@link AtomicLong}: the virtual time at which
+ * the bucket would be full again ("theoretical arrival time"). Taking a token
+ * pushes that time forward by one emission interval; returning a token pulls
+ * it back. Every operation is a single CAS or atomic add — no locks.
+ *
+ * Unlike the sliding-window log in {@link TpsCounter}, refill is continuous:
+ * a full burst of {@code capacity} is admitted immediately, after which tokens
+ * come back at a steady rate of one per emission interval.
+ *
+ * This is GCRA: with a {@code burst} below {@code capacity}, at most that many
+ * admissions go through back to back and the rest are paced one per interval,
+ * so a window's worth of admissions is spread over the window.
+ */
+public class TokenBucket {
+
+    private final int capacity;
+    private final int burst;
+    private final long windowSizeMs;
+    private final long intervalNanos;
+    private final long limitNanos;
+    private final AtomicLong tat;
+
+    public TokenBucket(int capacity, long windowSizeMs) {
+        this(capacity, windowSizeMs, capacity);
+    }
+
+    /**
+     * @param capacity     Tokens refilled per window (the rate)
+     * @param windowSizeMs Window the rate is expressed over
+     * @param burst        Tokens the bucket holds when full, between 1 and {@code capacity}
+     */
+    public TokenBucket(int capacity, long windowSizeMs, int burst) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (windowSizeMs <= 0) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        if (burst <= 0 || burst > capacity) {
+            throw new IllegalArgumentException("Burst must be between 1 and the capacity");
+        }
+        this.capacity = capacity;
+        this.burst = burst;
+        this.windowSizeMs = windowSizeMs;
+        this.intervalNanos = Math.max(1, windowSizeMs * 1_000_000L / capacity);
+        this.limitNanos = intervalNanos * burst;
+        this.tat = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Take one token if available.
+     *
+     * @return true if a token was taken
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > limitNanos) {
+                return false;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Take up to {@code n} tokens in one CAS.
+     *
+     * @return Number of tokens taken (0 if none are available)
+     */
+    public int tryAcquire(int n) {
+        return tryAcquire(n, 0);
+    }
+
+    /**
+     * Take up to {@code n} tokens in one CAS, leaving at least {@code keep} in the bucket.
+     *
+     * @return Number of tokens taken (0 if no more than {@code keep} are available)
+     */
+    public int tryAcquire(int n, int keep) {
+        for (;;) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long base = Math.max(current, now);
+            long available = (limitNanos - (base - now)) / intervalNanos - keep;
+            int taken = (int) Math.min(n, available);
+            if (taken <= 0) {
+                return 0;
+            }
+            if (tat.compareAndSet(current, base + taken * intervalNanos)) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Return one token taken by {@link #tryAcquire()} (rollback of a partial chain reservation).
+     */
+    public void release() {
+        tat.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * Return {@code n} tokens taken by {@link #tryAcquire(int)}.
+     */
+    public void release(int n) {
+        tat.addAndGet(-intervalNanos * n);
+    }
+
+    /**
+     * Check if at least one token is available, without taking it.
+     */
+    public boolean hasCapacity() {
+        long now = System.nanoTime();
+        return Math.max(tat.get(), now) + intervalNanos - now <= limitNanos;
+    }
+
+    /**
+     * Get the number of tokens currently consumed (0 = bucket full).
+     */
+    public int getCount() {
+        long owed = tat.get() - System.nanoTime();
+        if (owed <= 0) {
+            return 0;
+        }
+        return (int) Math.min(burst, (owed + intervalNanos - 1) / intervalNanos);
+    }
+
+    /**
+     * Get the number of tokens that could be taken right now.
+     */
+    public int getAvailable() {
+        long now = System.nanoTime();
+        return (int) Math.max(0, (limitNanos - (Math.max(tat.get(), now) - now)) / intervalNanos);
+    }
+
+    /**
+     * Get the time until the next token becomes available (0 if one is available now).
+     */
+    public long nanosUntilAvailable() {
+        return nanosUntilAvailable(0);
+    }
+
+    /**
+     * Get the time until more than {@code keep} tokens are available (0 if they are now).
+     */
+    public long nanosUntilAvailable(int keep) {
+        long now = System.nanoTime();
+        return Math.max(0, Math.max(tat.get(), now) + intervalNanos * (1L + keep) - now - limitNanos);
+    }
+
+    /**
+     * Refill the bucket completely (for testing).
+     */
+    public void clear() {
+        tat.set(System.nanoTime());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getWindowSizeMs() {
+        return windowSizeMs;
+    }
+}
@@ -3,6 +3,7 @@ package com.pool.core;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Iterator;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -18,13 +19,19 @@ import java.util.concurrent.locks.ReentrantLock;
  * happen to fall inside the same fixed window.
  *
  * Thread-safe — all reads and writes go through a {@link ReentrantLock}.
+ *
+ * This is also the base of the other counter implementations
+ * ({@link RingBufferTpsCounter}, {@link GcraTpsCounter}). They override every
+ * operation and are built through {@link #TpsCounter(long, boolean)}, so they
+ * allocate none of this counter's log.
  */
 public class TpsCounter {
 
     @Getter
     private final long windowSizeMs;
-    private final ConcurrentLinkedDeque<Long> timestamps = new ConcurrentLinkedDeque<>();
-    private final ReentrantLock lock = new ReentrantLock();
+    // Null in subclasses that keep their own state
+    private final ConcurrentLinkedDeque<Long> timestamps;
+    private final ReentrantLock lock;
     /**
      * -- SETTER --
      *  Register a callback invoked when stale entries are evicted (capacity freed).
@@ -38,10 +45,20 @@ public class TpsCounter {
     }
 
     public TpsCounter(long windowSizeMs) {
+        this(windowSizeMs, true);
+    }
+
+    /**
+     * @param windowSizeMs Sliding window size
+     * @param withLog      false for subclasses that override every operation with their own state
+     */
+    protected TpsCounter(long windowSizeMs, boolean withLog) {
         if (windowSizeMs <= 0) {
             throw new IllegalArgumentException("Window size must be positive");
         }
         this.windowSizeMs = windowSizeMs;
+        this.timestamps = withLog ? new ConcurrentLinkedDeque<>() : null;
+        this.lock = withLog ? new ReentrantLock() : null;
     }
 
     /**
@@ -72,6 +89,73 @@ public class TpsCounter {
         }
     }
 
+    /**
+     * Record {@code n} admissions at once (batch drain).
+     */
+    public void increment(int n) {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < n; i++) {
+                timestamps.addLast(now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take back the {@code n} most recent admissions, recorded for tasks that
+     * were never dispatched.
+     */
+    public void release(int n) {
+        lock.lock();
+        try {
+            for (int i = 0; i < n && !timestamps.isEmpty(); i++) {
+                timestamps.pollLast();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get how many more admissions fit in the current window.
+     *
+     * @param maxTps max allowed count per window ({@code <= 0} means unbounded)
+     * @return Remaining admissions, or {@link Integer#MAX_VALUE} if unbounded
+     */
+    public int getAvailable(int maxTps) {
+        if (maxTps <= 0) return Integer.MAX_VALUE;
+        return Math.max(0, maxTps - getCount());
+    }
+
+    /**
+     * Get the time until another admission fits under {@code maxTps}: when the
+     * admission that has to expire for it to fit leaves the window.
+     *
+     * @param maxTps max allowed count per window ({@code <= 0} means unbounded)
+     * @return Wait in milliseconds, 0 if there is capacity now
+     */
+    public long millisUntilCapacity(int maxTps) {
+        if (maxTps <= 0) return 0;
+        lock.lock();
+        try {
+            evictStale();
+            int excess = timestamps.size() - maxTps;
+            if (excess < 0) {
+                return 0;
+            }
+            Iterator<Long> oldest = timestamps.iterator();
+            for (int i = 0; i < excess; i++) {
+                oldest.next();
+            }
+            return Math.max(0, oldest.next() + windowSizeMs - System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * Get the number of live (non-expired) admissions in the current window.
      */
@@ -113,10 +197,17 @@ public class TpsCounter {
         }
 
         if (evicted) {
-            Runnable callback = onReset;
-            if (callback != null) {
-                callback.run();
-            }
+            fireOnReset();
+        }
+    }
+
+    /**
+     * Invoke the {@code onReset} callback, if registered.
+     */
+    protected void fireOnReset() {
+        Runnable callback = onReset;
+        if (callback != null) {
+            callback.run();
         }
     }
 }
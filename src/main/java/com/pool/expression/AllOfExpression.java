@@ -0,0 +1,45 @@
+package com.pool.expression;
+
+import com.pool.core.TaskContext;
+import com.pool.variable.VariableResolver;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Logical AND over any number of operands: true only if every operand is true.
+ * Operands are evaluated in order and evaluation stops at the first false one.
+ * <p>
+ * Built by {@link ExpressionOptimizer} when flattening nested ANDs.
+ */
+public class AllOfExpression implements Expression {
+
+    private final Expression[] operands;
+
+    public AllOfExpression(List<Expression> operands) {
+        this.operands = operands.toArray(new Expression[0]);
+    }
+
+    public List<Expression> getOperands() {
+        return List.of(operands);
+    }
+
+    @Override
+    public boolean evaluate(TaskContext context, VariableResolver variableResolver) {
+        for (Expression operand : operands) {
+            if (!operand.evaluate(context, variableResolver)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(" AND ", "(", ")");
+        for (Expression operand : operands) {
+            joiner.add(String.valueOf(operand));
+        }
+        return joiner.toString();
+    }
+}
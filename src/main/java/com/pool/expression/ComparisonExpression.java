@@ -1,6 +1,7 @@
 package com.pool.expression;
 
 import com.pool.core.TaskContext;
+import com.pool.variable.VariableReference;
 import com.pool.variable.VariableResolver;
 
 import java.util.List;
@@ -11,10 +12,14 @@ import java.util.regex.Pattern;
 /**
  * Leaf expression node: evaluates a single comparison operation
  * (e.g., $req.region == "US", $req.amount > 100).
+ * <p>
+ * This is the generic fallback. {@link #of} picks a specialized subclass
+ * for the common literal shapes (string equality, numeric thresholds,
+ * regex, large IN lists) that does its per-literal work once at parse time.
  */
 public class ComparisonExpression implements Expression {
 
-    private final String field;
+    private final VariableReference field;
     private final Operator operator;
     private final Object value;
     private final List<Object> listValue;
@@ -32,7 +37,7 @@ public class ComparisonExpression implements Expression {
     /**
      * Constructor for single-value comparisons.
      */
-    public ComparisonExpression(String field, Operator operator, Object value) {
+    public ComparisonExpression(VariableReference field, Operator operator, Object value) {
         this.field = field;
         this.operator = operator;
         this.value = value;
@@ -42,7 +47,7 @@ public class ComparisonExpression implements Expression {
     /**
      * Constructor for list-value comparisons (IN, NOT_IN).
      */
-    public ComparisonExpression(String field, Operator operator, List<Object> listValue) {
+    public ComparisonExpression(VariableReference field, Operator operator, List<Object> listValue) {
         this.field = field;
         this.operator = operator;
         this.value = null;
@@ -52,13 +57,84 @@ public class ComparisonExpression implements Expression {
     /**
      * Constructor for unary operators (EXISTS, IS_NULL).
      */
-    public ComparisonExpression(String field, Operator operator) {
+    public ComparisonExpression(VariableReference field, Operator operator) {
         this.field = field;
         this.operator = operator;
         this.value = null;
         this.listValue = null;
     }
 
+    /**
+     * Constructor for single-value comparisons on a reference written as text (e.g., "$req.amount").
+     *
+     * @throws IllegalArgumentException if the reference is invalid
+     */
+    public ComparisonExpression(String field, Operator operator, Object value) {
+        this(VariableReference.of(field), operator, value);
+    }
+
+    /**
+     * Constructor for list-value comparisons (IN, NOT_IN) on a reference written as text.
+     *
+     * @throws IllegalArgumentException if the reference is invalid
+     */
+    public ComparisonExpression(String field, Operator operator, List<Object> listValue) {
+        this(VariableReference.of(field), operator, listValue);
+    }
+
+    /**
+     * Constructor for unary operators (EXISTS, IS_NULL) on a reference written as text.
+     *
+     * @throws IllegalArgumentException if the reference is invalid
+     */
+    public ComparisonExpression(String field, Operator operator) {
+        this(VariableReference.of(field), operator);
+    }
+
+    /**
+     * Create the node for a single-value comparison, specialized when the literal allows.
+     *
+     * @throws java.util.regex.PatternSyntaxException if a REGEX literal is not a valid pattern
+     */
+    public static ComparisonExpression of(VariableReference field, Operator operator, Object value) {
+        return switch (operator) {
+            case EQ, NE -> value instanceof String literal
+                    ? new StringEqualsExpression(field, operator, literal)
+                    : new ComparisonExpression(field, operator, value);
+            case GT, GTE, LT, LTE -> value instanceof Number threshold
+                    ? new NumericComparisonExpression(field, operator, threshold)
+                    : new ComparisonExpression(field, operator, value);
+            case REGEX -> new RegexExpression(field, value.toString());
+            default -> new ComparisonExpression(field, operator, value);
+        };
+    }
+
+    /**
+     * Create the node for a list comparison (IN, NOT_IN), hash-backed for long lists.
+     */
+    public static ComparisonExpression of(VariableReference field, Operator operator, List<Object> listValue) {
+        if (listValue.size() >= InSetExpression.MIN_SIZE) {
+            return new InSetExpression(field, operator, listValue);
+        }
+        return new ComparisonExpression(field, operator, listValue);
+    }
+
+    public VariableReference getField() {
+        return field;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public List<Object> getListValue() {
+        return listValue;
+    }
+
     @Override
     public boolean evaluate(TaskContext context, VariableResolver variableResolver) {
         return switch (operator) {
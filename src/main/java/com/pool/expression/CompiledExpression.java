@@ -0,0 +1,43 @@
+package com.pool.expression;
+
+import com.pool.core.TaskContext;
+import com.pool.variable.VariableResolver;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Expression tree compiled by {@link ExpressionCompiler} into a single method handle.
+ */
+public final class CompiledExpression implements Expression {
+
+    private final Expression source;
+    private final MethodHandle handle;
+
+    CompiledExpression(Expression source, MethodHandle handle) {
+        this.source = source;
+        this.handle = handle;
+    }
+
+    /**
+     * Get the interpreted tree this expression was compiled from.
+     */
+    public Expression getSource() {
+        return source;
+    }
+
+    @Override
+    public boolean evaluate(TaskContext context, VariableResolver variableResolver) {
+        try {
+            return (boolean) handle.invokeExact(context, variableResolver);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Compiled expression failed: " + source, t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return source.toString();
+    }
+}
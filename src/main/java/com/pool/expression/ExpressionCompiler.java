@@ -0,0 +1,150 @@
+package com.pool.expression;
+
+import com.pool.core.TaskContext;
+import com.pool.variable.VariableResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Compiles a parsed {@link Expression} tree into one {@link MethodHandle}.
+ * <p>
+ * AND / OR (binary or n-ary) become {@link MethodHandles#guardWithTest} chains
+ * (keeping short-circuit order), NOT a return-value filter and literals constants. Comparison nodes, and any
+ * node type the compiler does not know, are bound to their own {@code evaluate} as
+ * leaves, so they keep the interpreter's semantics.
+ * <p>
+ * Once the handle is hot, the JVM specializes it to the bound nodes, so the whole
+ * condition is inlined into one call site instead of a virtual call per node.
+ */
+public final class ExpressionCompiler {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpressionCompiler.class);
+
+    /**
+     * Largest tree that is compiled; deeper handle chains cost more to specialize than they save.
+     */
+    static final int MAX_NODES = 512;
+
+    private static final MethodType EVALUATE_TYPE =
+            MethodType.methodType(boolean.class, TaskContext.class, VariableResolver.class);
+
+    private static final MethodHandle EVALUATE;
+    private static final MethodHandle NOT;
+    private static final MethodHandle TRUE = constant(true);
+    private static final MethodHandle FALSE = constant(false);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            EVALUATE = lookup.findVirtual(Expression.class, "evaluate", EVALUATE_TYPE);
+            NOT = lookup.findStatic(ExpressionCompiler.class, "not",
+                    MethodType.methodType(boolean.class, boolean.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Compile an expression.
+     *
+     * @param expression Parsed expression
+     * @return Compiled expression, or {@code expression} itself if it cannot be compiled
+     */
+    public static Expression compile(Expression expression) {
+        if (expression instanceof CompiledExpression || expression instanceof LiteralExpression) {
+            return expression;
+        }
+        if (countNodes(expression) > MAX_NODES) {
+            log.debug("Expression has more than {} nodes, keeping interpreter: {}", MAX_NODES, expression);
+            return expression;
+        }
+        try {
+            return new CompiledExpression(expression, toHandle(expression));
+        } catch (RuntimeException e) {
+            log.warn("Failed to compile expression '{}', keeping interpreter: {}", expression, e.getMessage());
+            return expression;
+        }
+    }
+
+    private static MethodHandle toHandle(Expression expression) {
+        if (expression instanceof AndExpression and) {
+            return MethodHandles.guardWithTest(toHandle(and.getLeft()), toHandle(and.getRight()), FALSE);
+        }
+        if (expression instanceof OrExpression or) {
+            return MethodHandles.guardWithTest(toHandle(or.getLeft()), TRUE, toHandle(or.getRight()));
+        }
+        if (expression instanceof AllOfExpression all) {
+            List<Expression> operands = all.getOperands();
+            MethodHandle handle = toHandle(operands.get(operands.size() - 1));
+            for (int i = operands.size() - 2; i >= 0; i--) {
+                handle = MethodHandles.guardWithTest(toHandle(operands.get(i)), handle, FALSE);
+            }
+            return handle;
+        }
+        if (expression instanceof AnyOfExpression any) {
+            List<Expression> operands = any.getOperands();
+            MethodHandle handle = toHandle(operands.get(operands.size() - 1));
+            for (int i = operands.size() - 2; i >= 0; i--) {
+                handle = MethodHandles.guardWithTest(toHandle(operands.get(i)), TRUE, handle);
+            }
+            return handle;
+        }
+        if (expression instanceof NotExpression not) {
+            return MethodHandles.filterReturnValue(toHandle(not.getInner()), NOT);
+        }
+        if (expression instanceof LiteralExpression literal) {
+            return literal.getValue() ? TRUE : FALSE;
+        }
+        return leaf(expression);
+    }
+
+    /**
+     * Bind a node's own {@code evaluate}, resolved on its concrete class when accessible
+     * so the call is direct rather than through the interface.
+     */
+    private static MethodHandle leaf(Expression expression) {
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(expression.getClass(), "evaluate", EVALUATE_TYPE)
+                    .bindTo(expression);
+        } catch (ReflectiveOperationException e) {
+            return EVALUATE.bindTo(expression);
+        }
+    }
+
+    private static int countNodes(Expression expression) {
+        if (expression instanceof AndExpression and) {
+            return 1 + countNodes(and.getLeft()) + countNodes(and.getRight());
+        }
+        if (expression instanceof OrExpression or) {
+            return 1 + countNodes(or.getLeft()) + countNodes(or.getRight());
+        }
+        if (expression instanceof AllOfExpression all) {
+            return all.getOperands().stream().mapToInt(ExpressionCompiler::countNodes).sum() + 1;
+        }
+        if (expression instanceof AnyOfExpression any) {
+            return any.getOperands().stream().mapToInt(ExpressionCompiler::countNodes).sum() + 1;
+        }
+        if (expression instanceof NotExpression not) {
+            return 1 + countNodes(not.getInner());
+        }
+        return 1;
+    }
+
+    private static MethodHandle constant(boolean value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(boolean.class, value),
+                0, TaskContext.class, VariableResolver.class);
+    }
+
+    private static boolean not(boolean value) {
+        return !value;
+    }
+}
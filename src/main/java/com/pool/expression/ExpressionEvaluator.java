@@ -1,8 +1,11 @@
 package com.pool.expression;
 
 import com.pool.core.TaskContext;
+import com.pool.variable.VariableReference;
 import com.pool.variable.VariableResolver;
 
+import java.util.Optional;
+
 /**
  * Expression evaluator that uses the AST-based parser.
  * Parses expressions into an Expression tree, then evaluates against a context.
@@ -15,13 +18,26 @@ import com.pool.variable.VariableResolver;
  * - Existence: EXISTS, IS_NULL
  * - Parentheses for grouping
  * - Boolean literals: true, false
+ * <p>
+ * {@link #parse} runs each tree through {@link ExpressionOptimizer}, and with
+ * compilation enabled also through {@link ExpressionCompiler}.
  */
 public class ExpressionEvaluator {
 
     private final VariableResolver variableResolver;
+    private final boolean compile;
 
     public ExpressionEvaluator(VariableResolver variableResolver) {
+        this(variableResolver, false);
+    }
+
+    /**
+     * @param variableResolver Resolver for variable lookups
+     * @param compile          Compile parsed expressions into method handles
+     */
+    public ExpressionEvaluator(VariableResolver variableResolver, boolean compile) {
         this.variableResolver = variableResolver;
+        this.compile = compile;
     }
 
     /**
@@ -36,6 +52,29 @@ public class ExpressionEvaluator {
         return expr.evaluate(context, variableResolver);
     }
 
+    /**
+     * Evaluate a pre-parsed expression against a task context.
+     * Use this on hot paths where the expression was parsed once at load time.
+     *
+     * @param expression Parsed expression tree
+     * @param context    Task context containing variables
+     * @return true if expression evaluates to true
+     */
+    public boolean evaluate(Expression expression, TaskContext context) {
+        return expression.evaluate(context, variableResolver);
+    }
+
+    /**
+     * Resolve a single variable with this evaluator's resolver.
+     *
+     * @param reference Parsed variable reference
+     * @param context   Task context containing variables
+     * @return Resolved value, or empty if not found
+     */
+    public Optional<Object> resolve(VariableReference reference, TaskContext context) {
+        return variableResolver.resolve(reference, context);
+    }
+
     /**
      * Parse an expression string into a reusable Expression AST.
      * The returned Expression can be evaluated multiple times against different contexts.
@@ -44,6 +83,7 @@ public class ExpressionEvaluator {
      * @return Parsed Expression tree
      */
     public Expression parse(String expression) {
-        return new ExpressionParser(expression).parse();
+        Expression parsed = ExpressionOptimizer.optimize(new ExpressionParser(expression).parse());
+        return compile ? ExpressionCompiler.compile(parsed) : parsed;
     }
 }
@@ -0,0 +1,191 @@
+package com.pool.expression;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rewrites a parsed expression tree into an equivalent one that is cheaper to evaluate.
+ * <ul>
+ *   <li>Nested ANDs / ORs are flattened into one {@link AllOfExpression} / {@link AnyOfExpression}.</li>
+ *   <li>{@code true} / {@code false} operands are folded, and {@code NOT NOT x} becomes {@code x}.</li>
+ *   <li>Repeated operands of the same AND / OR are dropped.</li>
+ *   <li>Operands are ordered by estimated cost, cheapest first, so short-circuiting skips
+ *       regex and substring tests when an equality already decides the result. Equal costs
+ *       keep the written order.</li>
+ * </ul>
+ * Comparisons themselves are never rewritten, so missing-variable behavior is unchanged;
+ * only the order and number of evaluations of side-effect-free comparisons change.
+ * Node types the optimizer does not know are kept in place: an AND / OR containing one
+ * is neither reordered nor deduplicated.
+ */
+public final class ExpressionOptimizer {
+
+    private static final int UNKNOWN = -1;
+
+    private ExpressionOptimizer() {
+    }
+
+    /**
+     * Optimize an expression tree.
+     *
+     * @param expression Parsed expression
+     * @return Equivalent expression (may be {@code expression} itself)
+     */
+    public static Expression optimize(Expression expression) {
+        if (expression instanceof NotExpression not) {
+            Expression inner = optimize(not.getInner());
+            if (inner instanceof NotExpression doubleNot) {
+                return doubleNot.getInner();
+            }
+            if (inner instanceof LiteralExpression literal) {
+                return new LiteralExpression(!literal.getValue());
+            }
+            return inner == not.getInner() ? not : new NotExpression(inner);
+        }
+        if (isJunction(expression, true)) {
+            return junction(expression, true);
+        }
+        if (isJunction(expression, false)) {
+            return junction(expression, false);
+        }
+        return expression;
+    }
+
+    private static Expression junction(Expression expression, boolean and) {
+        List<Expression> operands = new ArrayList<>();
+        for (Expression operand : operandsOf(expression)) {
+            Expression optimized = optimize(operand);
+            if (isJunction(optimized, and)) {
+                operands.addAll(operandsOf(optimized));
+            } else {
+                operands.add(optimized);
+            }
+        }
+
+        // Fold literals: the absorbing value decides the result, the identity is dropped
+        List<Expression> kept = new ArrayList<>(operands.size());
+        boolean opaque = false;
+        for (Expression operand : operands) {
+            if (operand instanceof LiteralExpression literal) {
+                if (literal.getValue() != and) {
+                    return new LiteralExpression(!and);
+                }
+                continue;
+            }
+            kept.add(operand);
+            opaque |= cost(operand) == UNKNOWN;
+        }
+
+        if (!opaque) {
+            Set<String> seen = new HashSet<>();
+            kept.removeIf(operand -> !seen.add(key(operand)));
+            kept.sort(Comparator.comparingInt(ExpressionOptimizer::cost));
+        }
+
+        return switch (kept.size()) {
+            case 0 -> new LiteralExpression(and);
+            case 1 -> kept.get(0);
+            case 2 -> and ? new AndExpression(kept.get(0), kept.get(1)) : new OrExpression(kept.get(0), kept.get(1));
+            default -> and ? new AllOfExpression(kept) : new AnyOfExpression(kept);
+        };
+    }
+
+    private static boolean isJunction(Expression expression, boolean and) {
+        return and
+                ? expression instanceof AndExpression || expression instanceof AllOfExpression
+                : expression instanceof OrExpression || expression instanceof AnyOfExpression;
+    }
+
+    private static List<Expression> operandsOf(Expression expression) {
+        if (expression instanceof AndExpression and) {
+            return List.of(and.getLeft(), and.getRight());
+        }
+        if (expression instanceof OrExpression or) {
+            return List.of(or.getLeft(), or.getRight());
+        }
+        if (expression instanceof AllOfExpression all) {
+            return all.getOperands();
+        }
+        return ((AnyOfExpression) expression).getOperands();
+    }
+
+    /**
+     * Estimate the relative cost of evaluating a node.
+     *
+     * @return Cost, or {@link #UNKNOWN} for node types the optimizer does not know
+     */
+    static int cost(Expression expression) {
+        if (expression instanceof ComparisonExpression comparison) {
+            return switch (comparison.getOperator()) {
+                case EXISTS, IS_NULL -> 1;
+                case EQ, NE, GT, GTE, LT, LTE -> 2;
+                case IN, NOT_IN -> comparison instanceof InSetExpression ? 3 : 2 + comparison.getListValue().size() / 2;
+                case STARTS_WITH, ENDS_WITH -> 4;
+                case CONTAINS -> 6;
+                case REGEX -> 10;
+            };
+        }
+        if (expression instanceof LiteralExpression) {
+            return 0;
+        }
+        if (expression instanceof NotExpression not) {
+            return cost(not.getInner());
+        }
+        if (isJunction(expression, true) || isJunction(expression, false)) {
+            int total = 0;
+            for (Expression operand : operandsOf(expression)) {
+                int cost = cost(operand);
+                if (cost == UNKNOWN) {
+                    return UNKNOWN;
+                }
+                total += cost;
+            }
+            return total;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Structural key of a known node: equal keys mean the nodes always evaluate alike.
+     * Literal values carry their type, so {@code == 5} and {@code == "5"} differ.
+     */
+    private static String key(Expression expression) {
+        if (expression instanceof ComparisonExpression comparison) {
+            StringBuilder key = new StringBuilder()
+                    .append(comparison.getField()).append(' ').append(comparison.getOperator()).append(' ');
+            if (comparison.getListValue() != null) {
+                key.append('[');
+                for (Object element : comparison.getListValue()) {
+                    appendLiteral(key, element);
+                }
+                key.append(']');
+            } else {
+                appendLiteral(key, comparison.getValue());
+            }
+            return key.toString();
+        }
+        if (expression instanceof LiteralExpression literal) {
+            return String.valueOf(literal.getValue());
+        }
+        if (expression instanceof NotExpression not) {
+            return "NOT(" + key(not.getInner()) + ")";
+        }
+        StringBuilder key = new StringBuilder(isJunction(expression, true) ? "AND(" : "OR(");
+        for (Expression operand : operandsOf(expression)) {
+            key.append(key(operand)).append(';');
+        }
+        return key.append(')').toString();
+    }
+
+    private static void appendLiteral(StringBuilder key, Object value) {
+        if (value == null) {
+            key.append("null;");
+            return;
+        }
+        String text = value.toString();
+        key.append(value.getClass().getSimpleName()).append(':').append(text.length()).append(':').append(text).append(';');
+    }
+}
@@ -1,10 +1,12 @@
 package com.pool.expression;
 
 import com.pool.exception.ConfigurationException;
+import com.pool.variable.VariableReference;
 import com.pool.variable.VariableSource;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Recursive descent parser that builds an Expression AST directly from the input string.
@@ -109,7 +111,7 @@ public class ExpressionParser {
     }
 
     private Expression parseComparison() {
-        String field = normalizeField(readIdentifier());
+        VariableReference field = VariableReference.of(normalizeField(readIdentifier()));
 
         skipWhitespace();
 
@@ -125,14 +127,14 @@ public class ExpressionParser {
         if (matchKeyword(KW_NOT)) {
             skipWhitespace();
             if (matchKeyword(KW_IN)) {
-                return new ComparisonExpression(field, ComparisonExpression.Operator.NOT_IN, parseList());
+                return ComparisonExpression.of(field, ComparisonExpression.Operator.NOT_IN, parseList());
             }
             throw error("Expected " + KW_IN + " after " + KW_NOT);
         }
 
         // IN
         if (matchKeyword(KW_IN)) {
-            return new ComparisonExpression(field, ComparisonExpression.Operator.IN, parseList());
+            return ComparisonExpression.of(field, ComparisonExpression.Operator.IN, parseList());
         }
 
         // String operators
@@ -140,7 +142,12 @@ public class ExpressionParser {
             return new ComparisonExpression(field, ComparisonExpression.Operator.CONTAINS, readValue());
         }
         if (matchKeyword(KW_REGEX)) {
-            return new ComparisonExpression(field, ComparisonExpression.Operator.REGEX, readStringLiteral());
+            String regex = readStringLiteral();
+            try {
+                return ComparisonExpression.of(field, ComparisonExpression.Operator.REGEX, regex);
+            } catch (PatternSyntaxException e) {
+                throw error("Invalid regex '" + regex + "': " + e.getDescription());
+            }
         }
         if (matchKeyword(KW_STARTS_WITH)) {
             return new ComparisonExpression(field, ComparisonExpression.Operator.STARTS_WITH, readStringLiteral());
@@ -151,22 +158,22 @@ public class ExpressionParser {
 
         // Comparison operators
         if (matchOp("==") || matchOp("=")) {
-            return new ComparisonExpression(field, ComparisonExpression.Operator.EQ, readValue());
+            return ComparisonExpression.of(field, ComparisonExpression.Operator.EQ, readValue());
         }
         if (matchOp("!=")) {
-            return new ComparisonExpression(field, ComparisonExpression.Operator.NE, readValue());
+            return ComparisonExpression.of(field, ComparisonExpression.Operator.NE, readValue());
         }
         if (matchOp(">=")) {
-            return new ComparisonExpression(field, ComparisonExpression.Operator.GTE, readNumber());
+            return ComparisonExpression.of(field, ComparisonExpression.Operator.GTE, readNumber());
         }
         if (matchOp(">")) {
-            return new ComparisonExpression(field, ComparisonExpression.Operator.GT, readNumber());
+            return ComparisonExpression.of(field, ComparisonExpression.Operator.GT, readNumber());
         }
         if (matchOp("<=")) {
-            return new ComparisonExpression(field, ComparisonExpression.Operator.LTE, readNumber());
+            return ComparisonExpression.of(field, ComparisonExpression.Operator.LTE, readNumber());
         }
         if (matchOp("<")) {
-            return new ComparisonExpression(field, ComparisonExpression.Operator.LT, readNumber());
+            return ComparisonExpression.of(field, ComparisonExpression.Operator.LT, readNumber());
         }
 
         throw error("Expected operator after field '" + field + "'");
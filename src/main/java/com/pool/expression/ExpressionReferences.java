@@ -0,0 +1,47 @@
+package com.pool.expression;
+
+import com.pool.variable.VariableReference;
+
+import java.util.Set;
+
+/**
+ * Finds the variables an expression reads.
+ */
+public final class ExpressionReferences {
+
+    private ExpressionReferences() {
+    }
+
+    /**
+     * Add every variable reference read by {@code expression} to {@code into}.
+     *
+     * @param expression Parsed or compiled expression
+     * @param into       Set to add references to
+     * @return false if the tree contains a node type whose reads are unknown
+     */
+    public static boolean collect(Expression expression, Set<VariableReference> into) {
+        if (expression instanceof CompiledExpression compiled) {
+            return collect(compiled.getSource(), into);
+        }
+        if (expression instanceof AndExpression and) {
+            return collect(and.getLeft(), into) && collect(and.getRight(), into);
+        }
+        if (expression instanceof OrExpression or) {
+            return collect(or.getLeft(), into) && collect(or.getRight(), into);
+        }
+        if (expression instanceof AllOfExpression all) {
+            return all.getOperands().stream().allMatch(operand -> collect(operand, into));
+        }
+        if (expression instanceof AnyOfExpression any) {
+            return any.getOperands().stream().allMatch(operand -> collect(operand, into));
+        }
+        if (expression instanceof NotExpression not) {
+            return collect(not.getInner(), into);
+        }
+        if (expression instanceof ComparisonExpression comparison) {
+            into.add(comparison.getField());
+            return true;
+        }
+        return expression instanceof LiteralExpression;
+    }
+}
@@ -0,0 +1,65 @@
+package com.pool.expression;
+
+import com.pool.core.TaskContext;
+import com.pool.variable.VariableReference;
+import com.pool.variable.VariableResolver;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@code IN} / {@code NOT IN} over a long list, answered with hash lookups
+ * instead of a scan.
+ * <p>
+ * Matches what the generic comparison accepts: a value is in the list if its
+ * string form equals an element's, or if it is a number equal to a numeric
+ * element (so {@code 5} matches {@code 5.0}).
+ */
+public class InSetExpression extends ComparisonExpression {
+
+    /**
+     * Shortest list worth hashing; shorter lists are scanned.
+     */
+    static final int MIN_SIZE = 8;
+
+    private final Set<String> strings = new HashSet<>();
+    private final Set<Double> numbers = new HashSet<>();
+    private final boolean negated;
+
+    InSetExpression(VariableReference field, Operator operator, List<Object> listValue) {
+        super(field, operator, listValue);
+        for (Object element : listValue) {
+            strings.add(String.valueOf(element));
+            if (element instanceof Number num && !Double.isNaN(num.doubleValue())) {
+                numbers.add(normalize(num.doubleValue()));
+            }
+        }
+        this.negated = operator == Operator.NOT_IN;
+    }
+
+    @Override
+    public boolean evaluate(TaskContext context, VariableResolver variableResolver) {
+        Optional<Object> actual = variableResolver.resolve(getField(), context);
+        if (actual.isEmpty()) {
+            return negated;
+        }
+        return contains(actual.get()) != negated;
+    }
+
+    private boolean contains(Object val) {
+        if (val instanceof String str) {
+            return strings.contains(str);
+        }
+        if (val instanceof Number num && !numbers.isEmpty() && numbers.contains(normalize(num.doubleValue()))) {
+            return true;
+        }
+        return strings.contains(String.valueOf(val));
+    }
+
+    // -0.0 == 0.0 numerically, but not as boxed Doubles
+    private static double normalize(double value) {
+        return value == 0.0 ? 0.0 : value;
+    }
+}
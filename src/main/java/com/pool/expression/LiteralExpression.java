@@ -14,6 +14,10 @@ public class LiteralExpression implements Expression {
         this.value = value;
     }
 
+    public boolean getValue() {
+        return value;
+    }
+
     @Override
     public boolean evaluate(TaskContext context, VariableResolver variableResolver) {
         return value;
@@ -14,6 +14,10 @@ public class NotExpression implements Expression {
         this.inner = inner;
     }
 
+    public Expression getInner() {
+        return inner;
+    }
+
     @Override
     public boolean evaluate(TaskContext context, VariableResolver variableResolver) {
         return !inner.evaluate(context, variableResolver);
@@ -0,0 +1,63 @@
+package com.pool.expression;
+
+import com.pool.core.TaskContext;
+import com.pool.variable.VariableReference;
+import com.pool.variable.VariableResolver;
+
+import java.util.Optional;
+
+/**
+ * {@code >}, {@code >=}, {@code <}, {@code <=} against a numeric literal held
+ * as a primitive. Integral values against an integral threshold compare as
+ * {@code long}, everything else as {@code double}.
+ * <p>
+ * Same outcomes as the generic comparison: a missing or non-numeric value
+ * counts as below the threshold.
+ */
+public class NumericComparisonExpression extends ComparisonExpression {
+
+    private final double threshold;
+    private final long longThreshold;
+    private final boolean integral;
+
+    NumericComparisonExpression(VariableReference field, Operator operator, Number threshold) {
+        super(field, operator, threshold);
+        this.threshold = threshold.doubleValue();
+        this.longThreshold = threshold.longValue();
+        this.integral = isIntegral(threshold);
+    }
+
+    @Override
+    public boolean evaluate(TaskContext context, VariableResolver variableResolver) {
+        int cmp = compare(variableResolver.resolve(getField(), context));
+        return switch (getOperator()) {
+            case GT -> cmp > 0;
+            case GTE -> cmp >= 0;
+            case LT -> cmp < 0;
+            default -> cmp <= 0;
+        };
+    }
+
+    private int compare(Optional<Object> actual) {
+        if (actual.isEmpty()) {
+            return -1;
+        }
+        Object val = actual.get();
+        if (val instanceof Number num) {
+            if (integral && isIntegral(num)) {
+                return Long.compare(num.longValue(), longThreshold);
+            }
+            return Double.compare(num.doubleValue(), threshold);
+        }
+        try {
+            return Double.compare(Double.parseDouble(val.toString()), threshold);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer
+                || number instanceof Short || number instanceof Byte;
+    }
+}
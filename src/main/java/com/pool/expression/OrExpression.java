@@ -16,6 +16,14 @@ public class OrExpression implements Expression {
         this.right = right;
     }
 
+    public Expression getLeft() {
+        return left;
+    }
+
+    public Expression getRight() {
+        return right;
+    }
+
     @Override
     public boolean evaluate(TaskContext context, VariableResolver variableResolver) {
         return left.evaluate(context, variableResolver) || right.evaluate(context, variableResolver);
@@ -0,0 +1,31 @@
+package com.pool.expression;
+
+import com.pool.core.TaskContext;
+import com.pool.variable.VariableReference;
+import com.pool.variable.VariableResolver;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@code REGEX} with the pattern compiled once, when the expression is parsed.
+ * The whole value must match.
+ */
+public class RegexExpression extends ComparisonExpression {
+
+    private final Pattern pattern;
+
+    /**
+     * @throws java.util.regex.PatternSyntaxException if {@code regex} is not a valid pattern
+     */
+    RegexExpression(VariableReference field, String regex) {
+        super(field, Operator.REGEX, regex);
+        this.pattern = Pattern.compile(regex);
+    }
+
+    @Override
+    public boolean evaluate(TaskContext context, VariableResolver variableResolver) {
+        Optional<Object> actual = variableResolver.resolve(getField(), context);
+        return actual.isPresent() && pattern.matcher(actual.get().toString()).matches();
+    }
+}
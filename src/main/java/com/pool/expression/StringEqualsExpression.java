@@ -0,0 +1,35 @@
+package com.pool.expression;
+
+import com.pool.core.TaskContext;
+import com.pool.variable.VariableReference;
+import com.pool.variable.VariableResolver;
+
+import java.util.Optional;
+
+/**
+ * {@code ==} / {@code !=} against a string literal.
+ * A string value is compared directly; other values by their string form,
+ * as the generic comparison does.
+ */
+public class StringEqualsExpression extends ComparisonExpression {
+
+    private final String expected;
+    private final boolean negated;
+
+    StringEqualsExpression(VariableReference field, Operator operator, String expected) {
+        super(field, operator, expected);
+        this.expected = expected;
+        this.negated = operator == Operator.NE;
+    }
+
+    @Override
+    public boolean evaluate(TaskContext context, VariableResolver variableResolver) {
+        Optional<Object> actual = variableResolver.resolve(getField(), context);
+        if (actual.isEmpty()) {
+            return negated;
+        }
+        Object val = actual.get();
+        boolean equal = val instanceof String str ? str.equals(expected) : String.valueOf(val).equals(expected);
+        return equal != negated;
+    }
+}
@@ -1,8 +1,10 @@
 package com.pool.policy;
 
 import com.pool.expression.ExpressionEvaluator;
+import com.pool.config.EvaluationConfig;
 import com.pool.config.PoolConfig;
 import com.pool.core.TaskContext;
+import com.pool.priority.CompiledPriorityTree;
 import com.pool.priority.PriorityCalculator;
 import com.pool.priority.PriorityKey;
 import com.pool.priority.TreeTraverser;
@@ -17,6 +19,12 @@ import java.util.Optional;
 /**
  * Default implementation of PolicyEngine.
  * Evaluates the priority tree and calculates task priority at submission time.
+ * <p>
+ * Conditions are parsed once into a {@link CompiledPriorityTree} when the config
+ * is loaded or updated; {@link #evaluate} only walks the pre-parsed tree.
+ * With {@code pool.evaluation.cache.enabled}, the matched path is also cached per
+ * combination of condition inputs (see {@link EvaluationCache}); a config update
+ * compiles a new tree with an empty cache.
  */
 @Component
 public class DefaultPolicyEngine implements PolicyEngine {
@@ -24,6 +32,7 @@ public class DefaultPolicyEngine implements PolicyEngine {
     private static final Logger log = LoggerFactory.getLogger(DefaultPolicyEngine.class);
 
     private volatile PoolConfig config;
+    private volatile CompiledPolicy policy;
     private final VariableResolver variableResolver;
     private final ExpressionEvaluator expressionEvaluator;
     private final TreeTraverser treeTraverser;
@@ -36,7 +45,8 @@ public class DefaultPolicyEngine implements PolicyEngine {
         this.expressionEvaluator = new ExpressionEvaluator(variableResolver);
         this.treeTraverser = new TreeTraverser(expressionEvaluator);
         this.priorityCalculator = new PriorityCalculator(variableResolver);
-        
+        this.policy = compilePolicy(config);
+
         log.info("PolicyEngine initialized with config: {} v{}", config.getName(), config.getVersion());
     }
 
@@ -44,19 +54,22 @@ public class DefaultPolicyEngine implements PolicyEngine {
     public EvaluationResult evaluate(TaskContext context) {
         log.debug("Evaluating priority for task: {}", context.getTaskId());
 
-        // Traverse the priority tree to find matching path
-        Optional<MatchedPath> matchedPath = treeTraverser.traverse(
-                config.getPriorityTree(), context);
+        // Traverse the priority tree (or reuse the route of an identical input) to find matching path
+        CompiledPolicy current = policy;
+        EvaluationCache.Route route = current.cache() != null
+                ? current.cache().get(context, variableResolver, () -> route(current.tree(), context))
+                : route(current.tree(), context);
 
         // Calculate priority key
         PriorityKey priorityKey;
         EvaluationResult result;
 
-        if (matchedPath.isPresent()) {
-            priorityKey = priorityCalculator.calculatePriorityKey(matchedPath.get(), context);
-            result = DefaultEvaluationResult.matched(matchedPath.get(), priorityKey);
+        if (route.path() != null) {
+            long sortValue = priorityCalculator.calculateSortValue(route.path().sortBy(), context);
+            priorityKey = new PriorityKey(route.pathVector(), sortValue, context.getSubmittedAt());
+            result = DefaultEvaluationResult.matched(route.path(), priorityKey);
             log.debug("Task {} matched path: {}, priority: {}", 
-                    context.getTaskId(), matchedPath.get().toPathString(), priorityKey.getPathVector());
+                    context.getTaskId(), route.path().toPathString(), priorityKey.getPathVector());
         } else {
             // No match - assign lowest priority
             priorityKey = PriorityKey.unmatched(context.getSubmittedAt());
@@ -69,20 +82,62 @@ public class DefaultPolicyEngine implements PolicyEngine {
 
     @Override
     public void reload() {
-        // This will be called when config changes
-        // For now, config is passed at construction time
-        // In Spring integration, this would reload from the config source
-        log.info("PolicyEngine reload requested");
+        // Re-compile the current config (picks up in-place changes to the bound PoolConfig)
+        this.policy = compilePolicy(config);
+        log.info("PolicyEngine reloaded config: {} v{}", config.getName(), config.getVersion());
     }
 
     /**
      * Update the configuration (used for hot reload).
+     * The new priority tree is compiled before it is swapped in, so an invalid
+     * condition leaves the current config in place.
      */
     public void updateConfig(PoolConfig newConfig) {
+        CompiledPolicy compiled = compilePolicy(newConfig);
         this.config = newConfig;
+        this.policy = compiled;
         log.info("PolicyEngine config updated to: {} v{}", newConfig.getName(), newConfig.getVersion());
     }
 
+    /**
+     * Get the routing cache of the current tree.
+     *
+     * @return Cache, or empty if caching is disabled or the tree cannot be cached
+     */
+    public Optional<EvaluationCache> getEvaluationCache() {
+        return Optional.ofNullable(policy.cache());
+    }
+
+    private EvaluationCache.Route route(CompiledPriorityTree tree, TaskContext context) {
+        return treeTraverser.traverse(tree, context)
+                .map(path -> new EvaluationCache.Route(path, priorityCalculator.calculatePathVector(path)))
+                .orElse(EvaluationCache.Route.UNMATCHED);
+    }
+
+    /**
+     * Parse the config's priority tree, compiling conditions and creating the
+     * routing cache if the config asks for them.
+     */
+    private CompiledPolicy compilePolicy(PoolConfig config) {
+        EvaluationConfig evaluation = config.getEvaluation() != null ? config.getEvaluation() : new EvaluationConfig();
+        ExpressionEvaluator evaluator = evaluation.isCompile()
+                ? new ExpressionEvaluator(variableResolver, true)
+                : expressionEvaluator;
+        CompiledPriorityTree tree = CompiledPriorityTree.compile(config.getPriorityTree(), evaluator);
+
+        EvaluationCache cache = null;
+        if (evaluation.getCache() != null && evaluation.getCache().isEnabled()) {
+            cache = EvaluationCache.create(tree, evaluation.getCache().getMaxSize()).orElse(null);
+            if (cache == null) {
+                log.info("Evaluation cache disabled: priority tree conditions read $sys variables");
+            }
+        }
+        return new CompiledPolicy(tree, cache);
+    }
+
+    /** Compiled tree and its routing cache (null if not cached), swapped together. */
+    private record CompiledPolicy(CompiledPriorityTree tree, EvaluationCache cache) {}
+
     /**
      * Get current configuration.
      */
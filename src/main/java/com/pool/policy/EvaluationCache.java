@@ -0,0 +1,198 @@
+package com.pool.policy;
+
+import com.pool.core.TaskContext;
+import com.pool.exception.ConfigurationException;
+import com.pool.expression.ExpressionReferences;
+import com.pool.priority.CompiledNode;
+import com.pool.priority.CompiledPriorityTree;
+import com.pool.priority.PathVector;
+import com.pool.variable.VariableReference;
+import com.pool.variable.VariableResolver;
+import com.pool.variable.VariableSource;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Routing results of one compiled priority tree, keyed on the values its conditions read.
+ * <p>
+ * Tree traversal depends only on the variables referenced by the conditions, so tasks
+ * with equal values for all of them match the same path. The cache stores the matched
+ * path and its {@link PathVector}; sort value and submission time are still computed
+ * per task.
+ * <p>
+ * Only built for trees whose conditions read no {@code $sys} variables and contain no
+ * node types of unknown reads. Tasks carrying a non-scalar value for a referenced
+ * variable bypass the cache. Size is bounded: inserting past {@code maxSize} evicts an
+ * arbitrary entry, which suits traffic concentrated on a few combinations.
+ * A new tree gets a new cache, so config updates never see stale routes.
+ */
+public final class EvaluationCache {
+
+    private static final Object MISSING = new Object();
+
+    /**
+     * Cached routing result. {@code path} is null for tasks that matched no leaf.
+     */
+    public record Route(MatchedPath path, PathVector pathVector) {
+        static final Route UNMATCHED = new Route(null, null);
+    }
+
+    private final VariableReference[] references;
+    private final int maxSize;
+    private final ConcurrentHashMap<Signature, Route> routes = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private EvaluationCache(Set<VariableReference> references, int maxSize) {
+        this.references = references.toArray(new VariableReference[0]);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Create a cache for a compiled tree.
+     *
+     * @param tree    Compiled priority tree
+     * @param maxSize Maximum number of cached input combinations
+     * @return Cache, or empty if the tree's routing cannot be keyed on its inputs
+     * @throws ConfigurationException if maxSize is not positive
+     */
+    public static Optional<EvaluationCache> create(CompiledPriorityTree tree, int maxSize) {
+        if (maxSize <= 0) {
+            throw new ConfigurationException("Evaluation cache max-size must be positive, got " + maxSize);
+        }
+        Set<VariableReference> references = new LinkedHashSet<>();
+        if (!collect(tree.getRoots(), references)) {
+            return Optional.empty();
+        }
+        for (VariableReference reference : references) {
+            if (reference.getSource() == VariableSource.SYSTEM) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new EvaluationCache(references, maxSize));
+    }
+
+    /**
+     * Get the cached route for the context's inputs, computing and caching it on a miss.
+     *
+     * @param context  Task context
+     * @param resolver Resolver used to read the referenced variables
+     * @param compute  Traverses the tree; called on a miss
+     * @return Route for this task
+     */
+    public Route get(TaskContext context, VariableResolver resolver, Supplier<Route> compute) {
+        Signature signature = signature(context, resolver);
+        if (signature == null) {
+            misses.increment();
+            return compute.get();
+        }
+        Route route = routes.get(signature);
+        if (route != null) {
+            hits.increment();
+            return route;
+        }
+        misses.increment();
+        route = compute.get();
+        if (routes.putIfAbsent(signature, route) == null && routes.size() > maxSize) {
+            evictOne(signature);
+        }
+        return route;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return routes.size();
+    }
+
+    /**
+     * Get the variables the cache is keyed on.
+     */
+    public List<VariableReference> getReferences() {
+        return List.of(references);
+    }
+
+    private Signature signature(TaskContext context, VariableResolver resolver) {
+        Object[] values = new Object[references.length];
+        for (int i = 0; i < references.length; i++) {
+            Optional<Object> value = resolver.resolve(references[i], context);
+            if (value.isEmpty()) {
+                values[i] = MISSING;
+            } else if (isScalar(value.get())) {
+                values[i] = value.get();
+            } else {
+                return null;
+            }
+        }
+        return new Signature(values);
+    }
+
+    private void evictOne(Signature keep) {
+        Iterator<Signature> it = routes.keySet().iterator();
+        while (it.hasNext()) {
+            if (!it.next().equals(keep)) {
+                it.remove();
+                evictions.increment();
+                return;
+            }
+        }
+    }
+
+    private static boolean collect(List<CompiledNode> nodes, Set<VariableReference> into) {
+        for (CompiledNode node : nodes) {
+            if (!ExpressionReferences.collect(node.condition(), into) || !collect(node.children(), into)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isScalar(Object value) {
+        return value instanceof String || value instanceof Number
+                || value instanceof Boolean || value instanceof Character || value instanceof Enum<?>;
+    }
+
+    /**
+     * Tuple of resolved values, compared element-wise.
+     */
+    private static final class Signature {
+
+        private final Object[] values;
+        private final int hash;
+
+        Signature(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Signature other && hash == other.hash
+                    && Arrays.equals(values, other.values));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pool.priority;
+
+import com.pool.config.SortByConfig;
+import com.pool.expression.Expression;
+
+import java.util.List;
+
+/**
+ * Immutable, pre-parsed node of the priority tree.
+ * Mirrors {@link com.pool.config.PriorityNodeConfig} but holds the condition
+ * as a parsed {@link Expression} so it is never re-parsed at evaluation time.
+ *
+ * @param name      Node name (e.g., "L1.NORTH_AMERICA")
+ * @param condition Parsed condition expression
+ * @param children  Compiled child nodes (empty = leaf node)
+ * @param sortBy    Effective sort-by configuration (null on non-leaf nodes)
+ * @param executor  Target executor ID (only meaningful on leaf nodes)
+ * @param childIndex Equality index over {@code children}
+ */
+public record CompiledNode(
+        String name,
+        Expression condition,
+        List<CompiledNode> children,
+        SortByConfig sortBy,
+        String executor,
+        SiblingIndex childIndex
+) {
+    /**
+     * Check if this node is a leaf (no children).
+     */
+    public boolean isLeaf() {
+        return children.isEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+package com.pool.priority;
+
+import com.pool.config.PriorityNodeConfig;
+import com.pool.exception.ConfigurationException;
+import com.pool.expression.Expression;
+import com.pool.expression.ExpressionEvaluator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Priority tree with every condition parsed once into an immutable {@link com.pool.expression.Expression}.
+ * <p>
+ * Built when a {@link com.pool.config.PoolConfig} is loaded or reloaded, so the
+ * expression parser never runs on the submission path. Each level also gets a
+ * {@link SiblingIndex} over runs of equality siblings on the same field.
+ */
+public final class CompiledPriorityTree {
+
+    private final List<CompiledNode> roots;
+    private final SiblingIndex rootIndex;
+
+    private CompiledPriorityTree(List<CompiledNode> roots) {
+        this.roots = roots;
+        this.rootIndex = indexOf(roots);
+    }
+
+    /**
+     * Get the compiled root nodes in declaration order.
+     */
+    public List<CompiledNode> getRoots() {
+        return roots;
+    }
+
+    /**
+     * Get the equality index over the root nodes.
+     */
+    public SiblingIndex getRootIndex() {
+        return rootIndex;
+    }
+
+    /**
+     * Check if the tree has no nodes.
+     */
+    public boolean isEmpty() {
+        return roots.isEmpty();
+    }
+
+    /**
+     * Compile a priority tree configuration.
+     *
+     * @param nodes     Root nodes of the priority tree (may be null or empty)
+     * @param evaluator Evaluator used to parse condition strings
+     * @return Compiled tree
+     * @throws ConfigurationException if a condition cannot be parsed or the tree is too deep or too wide
+     */
+    public static CompiledPriorityTree compile(List<PriorityNodeConfig> nodes, ExpressionEvaluator evaluator) {
+        return new CompiledPriorityTree(compileLevel(nodes, evaluator, 0));
+    }
+
+    private static List<CompiledNode> compileLevel(List<PriorityNodeConfig> nodes,
+                                                   ExpressionEvaluator evaluator, int level) {
+        if (nodes == null || nodes.isEmpty()) {
+            return List.of();
+        }
+        if (level >= PathVector.MAX_LEVELS) {
+            throw new ConfigurationException("Priority tree exceeds max depth of "
+                    + PathVector.MAX_LEVELS + " levels (possible circular reference in config)");
+        }
+        if (nodes.size() > PathVector.MAX_BRANCH_INDEX) {
+            throw new ConfigurationException("Priority tree level " + level + " has " + nodes.size()
+                    + " siblings, max is " + PathVector.MAX_BRANCH_INDEX);
+        }
+
+        List<CompiledNode> compiled = new ArrayList<>(nodes.size());
+        for (PriorityNodeConfig node : nodes) {
+            List<CompiledNode> children = compileLevel(node.getNestedLevels(), evaluator, level + 1);
+            compiled.add(new CompiledNode(
+                    node.getName(),
+                    evaluator.parse(node.getCondition()),
+                    children,
+                    node.getEffectiveSortBy(),
+                    node.getExecutor(),
+                    indexOf(children)));
+        }
+        return Collections.unmodifiableList(compiled);
+    }
+
+    private static SiblingIndex indexOf(List<CompiledNode> siblings) {
+        if (siblings.size() < SiblingIndex.MIN_RUN) {
+            return SiblingIndex.NONE;
+        }
+        List<Expression> conditions = new ArrayList<>(siblings.size());
+        for (CompiledNode sibling : siblings) {
+            conditions.add(sibling.condition());
+        }
+        return SiblingIndex.build(conditions);
+    }
+}
@@ -9,6 +9,10 @@ import java.util.Arrays;
  * <p>
  * Comparison is lexicographic: first differing index determines order.
  * Example: [1,2,0,0,...] beats [2,1,0,0,...] because index 0 differs (1 < 2)
+ * <p>
+ * The levels are packed into two longs, {@value #BITS_PER_LEVEL} bits each with level 0
+ * in the most significant bits, so lexicographic order is the order of
+ * {@code (high, low)} and a comparison is two {@code Long.compare}s.
  */
 public final class PathVector implements Comparable<PathVector> {
 
@@ -22,10 +26,23 @@ public final class PathVector implements Comparable<PathVector> {
      */
     public static final int UNMATCHED_VALUE = 999;
 
-    private final int[] vector;
+    /**
+     * Largest branch index that can be stored at a level.
+     */
+    public static final int MAX_BRANCH_INDEX = (1 << 12) - 1;
+
+    private static final int BITS_PER_LEVEL = 12;
+    private static final int LEVELS_PER_WORD = MAX_LEVELS / 2;
 
-    private PathVector(int[] vector) {
-        this.vector = vector;
+    private static final PathVector UNMATCHED = of(filled(UNMATCHED_VALUE));
+
+    // Levels 0-4 and 5-9; level 0 / 5 in the top bits of each word
+    private final long high;
+    private final long low;
+
+    private PathVector(long high, long low) {
+        this.high = high;
+        this.low = low;
     }
 
     /**
@@ -38,7 +55,8 @@ public final class PathVector implements Comparable<PathVector> {
         if (level < 0 || level >= MAX_LEVELS) {
             throw new IndexOutOfBoundsException("Level must be between 0 and " + (MAX_LEVELS - 1));
         }
-        return vector[level];
+        long word = level < LEVELS_PER_WORD ? high : low;
+        return (int) ((word >>> shift(level)) & MAX_BRANCH_INDEX);
     }
 
     /**
@@ -47,7 +65,7 @@ public final class PathVector implements Comparable<PathVector> {
     public int getDepth() {
         int depth = 0;
         for (int i = 0; i < MAX_LEVELS; i++) {
-            if (vector[i] > 0) {
+            if (get(i) > 0) {
                 depth = i + 1;
             }
         }
@@ -58,19 +76,32 @@ public final class PathVector implements Comparable<PathVector> {
      * Create a copy of the internal vector.
      */
     public int[] toArray() {
-        return Arrays.copyOf(vector, MAX_LEVELS);
+        int[] vector = new int[MAX_LEVELS];
+        for (int i = 0; i < MAX_LEVELS; i++) {
+            vector[i] = get(i);
+        }
+        return vector;
+    }
+
+    /**
+     * Packed levels 0-4 (compare before {@link #low()}).
+     */
+    long high() {
+        return high;
+    }
+
+    /**
+     * Packed levels 5-9.
+     */
+    long low() {
+        return low;
     }
 
     @Override
     public int compareTo(PathVector other) {
         // Lexicographic comparison: lower value wins at first differing index
-        for (int i = 0; i < MAX_LEVELS; i++) {
-            int cmp = Integer.compare(this.vector[i], other.vector[i]);
-            if (cmp != 0) {
-                return cmp;
-            }
-        }
-        return 0;
+        int cmp = Long.compare(this.high, other.high);
+        return cmp != 0 ? cmp : Long.compare(this.low, other.low);
     }
 
     @Override
@@ -78,28 +109,31 @@ public final class PathVector implements Comparable<PathVector> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PathVector that = (PathVector) o;
-        return Arrays.equals(vector, that.vector);
+        return high == that.high && low == that.low;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(vector);
+        return 31 * Long.hashCode(high) + Long.hashCode(low);
     }
 
     @Override
     public String toString() {
-        return Arrays.toString(vector);
+        return Arrays.toString(toArray());
     }
 
     /**
      * Create a PathVector from individual values.
      * Missing values default to 0.
+     *
+     * @throws IllegalArgumentException if a value is outside 0..{@link #MAX_BRANCH_INDEX}
      */
     public static PathVector of(int... values) {
-        int[] vector = new int[MAX_LEVELS];
-        int copyLength = Math.min(values.length, MAX_LEVELS);
-        System.arraycopy(values, 0, vector, 0, copyLength);
-        return new PathVector(vector);
+        Builder builder = new Builder();
+        for (int i = 0; i < Math.min(values.length, MAX_LEVELS); i++) {
+            builder.set(i, values[i]);
+        }
+        return builder.build();
     }
 
     /**
@@ -107,9 +141,7 @@ public final class PathVector implements Comparable<PathVector> {
      * All values set to UNMATCHED_VALUE (999).
      */
     public static PathVector unmatched() {
-        int[] vector = new int[MAX_LEVELS];
-        Arrays.fill(vector, UNMATCHED_VALUE);
-        return new PathVector(vector);
+        return UNMATCHED;
     }
 
     /**
@@ -119,21 +151,43 @@ public final class PathVector implements Comparable<PathVector> {
         return new Builder();
     }
 
+    private static int shift(int level) {
+        return (LEVELS_PER_WORD - 1 - level % LEVELS_PER_WORD) * BITS_PER_LEVEL;
+    }
+
+    private static int[] filled(int value) {
+        int[] vector = new int[MAX_LEVELS];
+        Arrays.fill(vector, value);
+        return vector;
+    }
+
     /**
      * Builder for PathVector.
      */
     public static class Builder {
-        private final int[] vector = new int[MAX_LEVELS];
+        private long high;
+        private long low;
 
         /**
          * Set the branch index at a specific level.
          *
          * @param level       Level index (0-9)
          * @param branchIndex Branch index (1 = highest priority at this level)
+         * @throws IllegalArgumentException if branchIndex is outside 0..{@link #MAX_BRANCH_INDEX}
          */
         public Builder set(int level, int branchIndex) {
+            if (branchIndex < 0 || branchIndex > MAX_BRANCH_INDEX) {
+                throw new IllegalArgumentException("Branch index must be between 0 and "
+                        + MAX_BRANCH_INDEX + ": " + branchIndex);
+            }
             if (level >= 0 && level < MAX_LEVELS) {
-                vector[level] = branchIndex;
+                long mask = (long) MAX_BRANCH_INDEX << shift(level);
+                long bits = (long) branchIndex << shift(level);
+                if (level < LEVELS_PER_WORD) {
+                    high = (high & ~mask) | bits;
+                } else {
+                    low = (low & ~mask) | bits;
+                }
             }
             return this;
         }
@@ -142,7 +196,7 @@ public final class PathVector implements Comparable<PathVector> {
          * Build the PathVector.
          */
         public PathVector build() {
-            return new PathVector(Arrays.copyOf(vector, MAX_LEVELS));
+            return new PathVector(high, low);
         }
     }
 }
@@ -14,6 +14,9 @@ import java.util.Objects;
 public final class PriorityKey implements Comparable<PriorityKey> {
 
     private final PathVector pathVector;
+    // Copied from pathVector so compareTo reads only this object's fields
+    private final long pathHigh;
+    private final long pathLow;
     private final long sortValue;
     private final long submittedAt;
 
@@ -26,6 +29,8 @@ public final class PriorityKey implements Comparable<PriorityKey> {
      */
     public PriorityKey(PathVector pathVector, long sortValue, long submittedAt) {
         this.pathVector = Objects.requireNonNull(pathVector, "pathVector cannot be null");
+        this.pathHigh = pathVector.high();
+        this.pathLow = pathVector.low();
         this.sortValue = sortValue;
         this.submittedAt = submittedAt;
     }
@@ -44,8 +49,12 @@ public final class PriorityKey implements Comparable<PriorityKey> {
 
     @Override
     public int compareTo(PriorityKey other) {
-        // 1. Compare path vectors (lexicographic)
-        int pathCmp = this.pathVector.compareTo(other.pathVector);
+        // 1. Compare path vectors (lexicographic, packed into two longs)
+        int pathCmp = Long.compare(this.pathHigh, other.pathHigh);
+        if (pathCmp != 0) {
+            return pathCmp;
+        }
+        pathCmp = Long.compare(this.pathLow, other.pathLow);
         if (pathCmp != 0) {
             return pathCmp;
         }
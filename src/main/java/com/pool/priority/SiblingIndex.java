@@ -0,0 +1,199 @@
+package com.pool.priority;
+
+import com.pool.expression.ComparisonExpression;
+import com.pool.expression.CompiledExpression;
+import com.pool.expression.Expression;
+import com.pool.variable.VariableReference;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Hash index over runs of sibling conditions that test the same field for equality.
+ * <p>
+ * A run is {@value #MIN_RUN} or more consecutive siblings whose conditions are each
+ * {@code field == literal} or {@code field IN (...)} on one field. Instead of
+ * evaluating every condition in the run, the traverser resolves the field once and
+ * looks up the positions whose condition matches, in declaration order, so
+ * first-match-wins and fall-through to the next matching sibling are unchanged.
+ * Siblings outside a run are evaluated one by one as before.
+ * <p>
+ * Matching mirrors {@link ComparisonExpression}: a value matches a literal if
+ * their string forms are equal, or if both are numbers with the same value.
+ */
+public final class SiblingIndex {
+
+    /**
+     * Shortest run of equality siblings worth indexing.
+     */
+    static final int MIN_RUN = 3;
+
+    static final SiblingIndex NONE = new SiblingIndex(new Run[0]);
+
+    private static final int[] NO_MATCH = new int[0];
+
+    /** Run starting at each sibling position, or null. */
+    private final Run[] runsByStart;
+
+    private SiblingIndex(Run[] runsByStart) {
+        this.runsByStart = runsByStart;
+    }
+
+    /**
+     * Build the index for one level of siblings.
+     *
+     * @param conditions Sibling conditions in declaration order
+     * @return Index, or {@link #NONE} if no run qualifies
+     */
+    static SiblingIndex build(List<Expression> conditions) {
+        Run[] runs = null;
+        int start = 0;
+        while (start < conditions.size()) {
+            VariableReference field = equalityField(conditions.get(start));
+            int end = start + 1;
+            if (field != null) {
+                while (end < conditions.size() && field.equals(equalityField(conditions.get(end)))) {
+                    end++;
+                }
+                if (end - start >= MIN_RUN) {
+                    if (runs == null) {
+                        runs = new Run[conditions.size()];
+                    }
+                    runs[start] = new Run(field, start, end, conditions);
+                }
+            }
+            start = end;
+        }
+        return runs == null ? NONE : new SiblingIndex(runs);
+    }
+
+    /**
+     * Get the indexed run that starts at a sibling position.
+     *
+     * @return Run, or null if position {@code i} is evaluated on its own
+     */
+    Run runAt(int i) {
+        return i < runsByStart.length ? runsByStart[i] : null;
+    }
+
+    /**
+     * Check if any run at this level is indexed.
+     */
+    public boolean isIndexed() {
+        return runsByStart.length > 0;
+    }
+
+    private static VariableReference equalityField(Expression condition) {
+        if (condition instanceof CompiledExpression compiled) {
+            condition = compiled.getSource();
+        }
+        if (condition instanceof ComparisonExpression comparison
+                && (comparison.getOperator() == ComparisonExpression.Operator.EQ
+                || comparison.getOperator() == ComparisonExpression.Operator.IN)) {
+            return comparison.getField();
+        }
+        return null;
+    }
+
+    /**
+     * Consecutive siblings {@code [start, end)} testing {@code field} for equality.
+     */
+    static final class Run {
+
+        private final VariableReference field;
+        private final int start;
+        private final int end;
+        private final Map<String, int[]> byString = new HashMap<>();
+        private final Map<Double, int[]> byNumber = new HashMap<>();
+
+        private Run(VariableReference field, int start, int end, List<Expression> conditions) {
+            this.field = field;
+            this.start = start;
+            this.end = end;
+            for (int i = start; i < end; i++) {
+                for (Object literal : literals(conditions.get(i))) {
+                    add(byString, String.valueOf(literal), i);
+                    if (literal instanceof Number num && !Double.isNaN(num.doubleValue())) {
+                        add(byNumber, normalize(num.doubleValue()), i);
+                    }
+                }
+            }
+        }
+
+        VariableReference field() {
+            return field;
+        }
+
+        int start() {
+            return start;
+        }
+
+        int end() {
+            return end;
+        }
+
+        /**
+         * Get the positions whose condition matches the resolved value, ascending.
+         */
+        int[] candidates(Optional<Object> value) {
+            if (value.isEmpty()) {
+                return NO_MATCH;
+            }
+            Object val = value.get();
+            int[] byText = byString.get(String.valueOf(val));
+            if (!(val instanceof Number num) || byNumber.isEmpty()) {
+                return byText != null ? byText : NO_MATCH;
+            }
+            int[] byValue = byNumber.get(normalize(num.doubleValue()));
+            if (byValue == null) {
+                return byText != null ? byText : NO_MATCH;
+            }
+            return byText == null ? byValue : merge(byText, byValue);
+        }
+
+        private static List<Object> literals(Expression condition) {
+            if (condition instanceof CompiledExpression compiled) {
+                condition = compiled.getSource();
+            }
+            ComparisonExpression comparison = (ComparisonExpression) condition;
+            return comparison.getOperator() == ComparisonExpression.Operator.IN
+                    ? comparison.getListValue()
+                    : Arrays.asList(comparison.getValue());
+        }
+
+        private static <K> void add(Map<K, int[]> index, K key, int position) {
+            int[] positions = index.get(key);
+            if (positions == null) {
+                index.put(key, new int[]{position});
+            } else if (positions[positions.length - 1] != position) {
+                int[] grown = Arrays.copyOf(positions, positions.length + 1);
+                grown[positions.length] = position;
+                index.put(key, grown);
+            }
+        }
+
+        private static int[] merge(int[] a, int[] b) {
+            int[] merged = new int[a.length + b.length];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length || j < b.length) {
+                int next = j >= b.length || (i < a.length && a[i] <= b[j]) ? a[i] : b[j];
+                if (i < a.length && a[i] == next) {
+                    i++;
+                }
+                if (j < b.length && b[j] == next) {
+                    j++;
+                }
+                merged[n++] = next;
+            }
+            return n == merged.length ? merged : Arrays.copyOf(merged, n);
+        }
+
+        // -0.0 == 0.0 numerically, but not as boxed Doubles
+        private static double normalize(double value) {
+            return value == 0.0 ? 0.0 : value;
+        }
+    }
+}
@@ -59,6 +59,34 @@ public class TreeTraverser {
         return Optional.empty();
     }
 
+    /**
+     * Traverse a compiled priority tree and find a matching leaf path.
+     * Conditions are already parsed, so no expression parsing happens here.
+     *
+     * @param tree    Compiled priority tree
+     * @param context Task context for condition evaluation
+     * @return Matched path if found, empty if no path matches
+     */
+    public Optional<MatchedPath> traverse(CompiledPriorityTree tree, TaskContext context) {
+        if (tree == null || tree.isEmpty()) {
+            log.debug("Priority tree is empty, no path matched");
+            return Optional.empty();
+        }
+
+        List<MatchedNode> path = new ArrayList<>();
+        CompiledNode leaf = traverseCompiled(tree.getRoots(), tree.getRootIndex(), context, path, 0);
+
+        if (leaf != null) {
+            MatchedPath matchedPath = new MatchedPath(path, leaf.sortBy(), leaf.executor());
+            log.debug("Matched path: {} -> executor: {} for task {}",
+                    matchedPath.toPathString(), leaf.executor(), context.getTaskId());
+            return Optional.of(matchedPath);
+        }
+
+        log.debug("No matching path found for task {}", context.getTaskId());
+        return Optional.empty();
+    }
+
     /** Internal result containing sortBy and executor from leaf node. */
     private record LeafResult(SortByConfig sortBy, String executor) {}
 
@@ -125,4 +153,76 @@ public class TreeTraverser {
         // No match found at this level
         return null;
     }
+
+    /**
+     * Recursive traversal of the compiled tree. Same matching rules as
+     * {@link #traverseRecursive}; depth is bounded when the tree is compiled.
+     * Runs of equality siblings covered by {@code index} resolve their field once
+     * and only visit the siblings whose condition matches.
+     *
+     * @return Matched leaf node, or null if no leaf matched
+     */
+    private CompiledNode traverseCompiled(List<CompiledNode> nodes, SiblingIndex index, TaskContext context,
+                                          List<MatchedNode> path, int level) {
+        for (int i = 0; i < nodes.size(); i++) {
+            SiblingIndex.Run run = index.runAt(i);
+            if (run != null) {
+                int[] candidates = run.candidates(expressionEvaluator.resolve(run.field(), context));
+
+                log.trace("Level {}, Nodes {}-{} indexed on '{}': {} matching",
+                        level, run.start() + 1, run.end(), run.field(), candidates.length);
+
+                for (int candidate : candidates) {
+                    CompiledNode leaf = descend(nodes.get(candidate), candidate + 1, context, path, level);
+                    if (leaf != null) {
+                        return leaf;
+                    }
+                }
+                i = run.end() - 1;
+                continue;
+            }
+
+            CompiledNode node = nodes.get(i);
+            int branchIndex = i + 1; // 1-based index
+
+            boolean matches = expressionEvaluator.evaluate(node.condition(), context);
+
+            log.trace("Level {}, Node {} '{}': expression '{}' = {}",
+                    level, branchIndex, node.name(), node.condition(), matches);
+
+            if (!matches) {
+                continue;
+            }
+
+            CompiledNode leaf = descend(node, branchIndex, context, path, level);
+            if (leaf != null) {
+                return leaf;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Continue from a node whose condition matched.
+     *
+     * @return Matched leaf node, or null if the node has children and none matched
+     */
+    private CompiledNode descend(CompiledNode node, int branchIndex, TaskContext context,
+                                 List<MatchedNode> path, int level) {
+        if (node.isLeaf()) {
+            path.add(new MatchedNode(node.name(), branchIndex));
+            return node;
+        }
+
+        CompiledNode leaf = traverseCompiled(node.children(), node.childIndex(), context, path, level + 1);
+        if (leaf != null) {
+            path.add(0, new MatchedNode(node.name(), branchIndex));
+            return leaf;
+        }
+
+        log.trace("Level {}, Node '{}': matched but no child matched, trying next sibling",
+                level, node.name());
+        return null;
+    }
 }
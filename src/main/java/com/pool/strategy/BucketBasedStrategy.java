@@ -0,0 +1,324 @@
+package com.pool.strategy;
+
+import com.pool.config.StrategyConfig;
+import com.pool.core.PrioritizedPayload;
+import com.pool.exception.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bucket-Based (multi-level queue) Priority Strategy.
+ * <p>
+ * Tasks are routed to one of {@code bucketCount} bounded FIFO buckets by their
+ * top-level branch: branch 1 goes to bucket 0 (highest priority), branch 2 to
+ * bucket 1, and so on; branches past the last bucket (and unmatched tasks) share
+ * the last bucket.
+ * - Dequeue takes the oldest task of the highest non-empty bucket: O(1), no heap
+ * - Each bucket has its own capacity; a full bucket rejects even if others have room
+ * - Every {@code promotionIntervalMs}, tasks that waited a full interval in their
+ *   bucket move up one bucket, in one batch, so lower buckets are not starved
+ * <p>
+ * Within a bucket, order is arrival order: deeper levels, sort-by and the priority
+ * key are not consulted. Use FIFO when full ordering inside a branch matters.
+ * <p>
+ * Promotion runs on the consumer's next poll or peek after an interval elapses;
+ * there is no daemon thread.
+ */
+public class BucketBasedStrategy<T> implements PriorityStrategy<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(BucketBasedStrategy.class);
+
+    private final int capacity;
+    private final int[] bucketCapacities;
+    private final List<ArrayDeque<Entry<T>>> buckets;
+    // Removal count when each bucket was last swept for removed entries
+    private final long[] sweptAt;
+    private final AtomicLong removals = new AtomicLong();
+    private final long promotionIntervalNanos;
+    private final Semaphore capacitySemaphore;
+    private final AtomicBoolean shutdown = new AtomicBoolean(false);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    // Next time promotion is due (guarded by lock)
+    private long nextPromotion;
+
+    public BucketBasedStrategy(int capacity, StrategyConfig.BucketBasedConfig config) {
+        int bucketCount = config.getBucketCount();
+        int[] capacities = config.getBucketCapacities();
+        if (bucketCount <= 0) {
+            throw new ConfigurationException("bucket-based.bucket-count must be positive");
+        }
+        if (capacities == null || capacities.length != bucketCount) {
+            throw new ConfigurationException("bucket-based.bucket-capacities must have "
+                    + bucketCount + " entries (one per bucket)");
+        }
+        for (int bucketCapacity : capacities) {
+            if (bucketCapacity <= 0) {
+                throw new ConfigurationException("bucket-based.bucket-capacities must be positive");
+            }
+        }
+
+        this.capacity = capacity;
+        this.bucketCapacities = capacities.clone();
+        this.buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.sweptAt = new long[bucketCount];
+        this.promotionIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, config.getPromotionIntervalMs()));
+        this.nextPromotion = System.nanoTime() + promotionIntervalNanos;
+        this.capacitySemaphore = new Semaphore(capacity);
+        log.info("BucketBasedStrategy initialized with capacity: {}, {} buckets, promotion every {}ms",
+                capacity, bucketCount, config.getPromotionIntervalMs());
+    }
+
+    @Override
+    public String getName() {
+        return "BUCKET_BASED";
+    }
+
+    @Override
+    public boolean enqueue(PrioritizedPayload<T> task) {
+        if (shutdown.get()) {
+            log.warn("Strategy is shutdown, rejecting task: {}", task.getTaskId());
+            return false;
+        }
+
+        if (!capacitySemaphore.tryAcquire()) {
+            log.warn("Queue at capacity ({}), rejecting task: {}", capacity, task.getTaskId());
+            return false;
+        }
+
+        int bucket = bucketOf(task);
+        lock.lock();
+        try {
+            if (!hasRoom(bucket)) {
+                capacitySemaphore.release();
+                log.warn("Bucket {} at capacity ({}), rejecting task: {}",
+                        bucket, bucketCapacities[bucket], task.getTaskId());
+                return false;
+            }
+            buckets.get(bucket).addLast(new Entry<>(task, bucket, System.nanoTime()));
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        log.trace("Task {} enqueued to bucket {}", task.getTaskId(), bucket);
+        return true;
+    }
+
+    @Override
+    public PrioritizedPayload<T> takeNext() throws InterruptedException {
+        while (!shutdown.get()) {
+            Optional<PrioritizedPayload<T>> task = pollNext(100, TimeUnit.MILLISECONDS);
+            if (task.isPresent()) {
+                return task.get();
+            }
+        }
+        throw new InterruptedException("Strategy has been shut down");
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> pollNext() {
+        lock.lock();
+        try {
+            return Optional.ofNullable(pollLocked());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> pollNext(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (true) {
+                PrioritizedPayload<T> task = pollLocked();
+                if (task != null || remaining <= 0) {
+                    return Optional.ofNullable(task);
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super PrioritizedPayload<T>> sink, int maxTasks) {
+        lock.lock();
+        try {
+            int drained = 0;
+            PrioritizedPayload<T> task;
+            while (drained < maxTasks && (task = pollLocked()) != null) {
+                sink.add(task);
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> peekNext() {
+        lock.lock();
+        try {
+            Entry<T> head = headLocked();
+            return head != null ? Optional.of(head.task) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a queued task in O(1): the entry is claimed and its capacity released
+     * immediately, and it is dropped from its bucket when it reaches the head or
+     * when the bucket needs the room.
+     */
+    @Override
+    public boolean remove(PrioritizedPayload<T> task) {
+        if (!task.claim()) {
+            return false;
+        }
+        capacitySemaphore.release();
+        removals.incrementAndGet();
+        log.trace("Task {} removed from queue", task.getTaskId());
+        return true;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return capacity - capacitySemaphore.availablePermits();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getQueueSize() == 0;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return capacitySemaphore.availablePermits();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown.set(true);
+        log.info("BucketBasedStrategy shutdown, {} tasks remaining in queue", getQueueSize());
+    }
+
+    /**
+     * Must be called while holding {@link #lock}.
+     */
+    private PrioritizedPayload<T> pollLocked() {
+        Entry<T> head;
+        while ((head = headLocked()) != null) {
+            buckets.get(head.bucket).pollFirst();
+            if (head.task.claim()) {
+                capacitySemaphore.release();
+                log.trace("Task {} dequeued from bucket {}", head.task.getTaskId(), head.bucket);
+                return head.task;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Promote if due, then return the head of the highest non-empty bucket.
+     * Must be called while holding {@link #lock}.
+     */
+    private Entry<T> headLocked() {
+        long now = System.nanoTime();
+        if (promotionIntervalNanos > 0 && now - nextPromotion >= 0) {
+            promote(now);
+            nextPromotion = now + promotionIntervalNanos;
+        }
+
+        for (ArrayDeque<Entry<T>> bucket : buckets) {
+            Entry<T> head;
+            while ((head = bucket.peekFirst()) != null && head.task.isClaimed()) {
+                bucket.pollFirst();
+            }
+            if (head != null) {
+                return head;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Move every task that has waited a full interval in its bucket up one bucket.
+     * Buckets are in arrival order, so each one is scanned only up to its first
+     * task that is too young; a full target bucket stops that bucket's batch.
+     */
+    private void promote(long now) {
+        int promoted = 0;
+        for (int target = 0; target < buckets.size() - 1; target++) {
+            ArrayDeque<Entry<T>> from = buckets.get(target + 1);
+            Entry<T> head;
+            while ((head = from.peekFirst()) != null && now - head.since >= promotionIntervalNanos) {
+                if (head.task.isClaimed()) {
+                    from.pollFirst();
+                    continue;
+                }
+                if (!hasRoom(target)) {
+                    break;
+                }
+                from.pollFirst();
+                buckets.get(target).addLast(new Entry<>(head.task, target, now));
+                promoted++;
+            }
+        }
+        if (promoted > 0) {
+            log.debug("Promoted {} tasks, queue size: {}", promoted, getQueueSize());
+        }
+    }
+
+    /**
+     * Whether a bucket can take one more task. Removed entries still occupy their
+     * deque slot, so a full bucket drops them before reporting that it is full
+     * (at most once per batch of removals, so repeated rejections stay O(1)).
+     */
+    private boolean hasRoom(int bucket) {
+        ArrayDeque<Entry<T>> deque = buckets.get(bucket);
+        if (deque.size() < bucketCapacities[bucket]) {
+            return true;
+        }
+        long removed = removals.get();
+        if (sweptAt[bucket] != removed) {
+            sweptAt[bucket] = removed;
+            deque.removeIf(entry -> entry.task.isClaimed());
+        }
+        return deque.size() < bucketCapacities[bucket];
+    }
+
+    private int bucketOf(PrioritizedPayload<T> task) {
+        int branch = task.getPriorityKey().getPathVector().get(0);
+        return Math.max(0, Math.min(branch, buckets.size()) - 1);
+    }
+
+    /**
+     * Queued task plus its current bucket and when it entered that bucket.
+     */
+    private record Entry<T>(PrioritizedPayload<T> task, int bucket, long since) {
+    }
+}
@@ -4,11 +4,15 @@ import com.pool.core.PrioritizedPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * FIFO Priority Strategy.
@@ -27,11 +31,13 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class FIFOStrategy<T> implements PriorityStrategy<T> {
 
     private static final Logger log = LoggerFactory.getLogger(FIFOStrategy.class);
+    private static final int PURGE_THRESHOLD = 64;
 
     private final int capacity;
     private final PriorityBlockingQueue<PrioritizedPayload<T>> queue;
     private final Semaphore capacitySemaphore;
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
+    private final AtomicInteger tombstones = new AtomicInteger();
 
     public FIFOStrategy(int capacity) {
         this.capacity = capacity;
@@ -74,11 +80,9 @@ public class FIFOStrategy<T> implements PriorityStrategy<T> {
     @Override
     public PrioritizedPayload<T> takeNext() throws InterruptedException {
         while (!shutdown.get()) {
-            PrioritizedPayload<T> task = queue.poll(100, TimeUnit.MILLISECONDS);
-            if (task != null) {
-                capacitySemaphore.release();
-                log.trace("Task {} dequeued (blocking), queue size: {}", task.getTaskId(), queue.size());
-                return task;
+            Optional<PrioritizedPayload<T>> task = pollNext(100, TimeUnit.MILLISECONDS);
+            if (task.isPresent()) {
+                return task.get();
             }
         }
         throw new InterruptedException("Strategy has been shut down");
@@ -86,32 +90,102 @@ public class FIFOStrategy<T> implements PriorityStrategy<T> {
 
     @Override
     public Optional<PrioritizedPayload<T>> pollNext() {
-        PrioritizedPayload<T> task = queue.poll();
-        if (task != null) {
-            capacitySemaphore.release();
-            log.trace("Task {} dequeued (poll), queue size: {}", task.getTaskId(), queue.size());
+        PrioritizedPayload<T> task;
+        while ((task = queue.poll()) != null) {
+            if (claimDequeued(task)) {
+                log.trace("Task {} dequeued (poll), queue size: {}", task.getTaskId(), queue.size());
+                return Optional.of(task);
+            }
         }
-        return Optional.ofNullable(task);
+        return Optional.empty();
     }
 
     @Override
     public Optional<PrioritizedPayload<T>> pollNext(long timeout, TimeUnit unit) throws InterruptedException {
-        PrioritizedPayload<T> task = queue.poll(timeout, unit);
-        if (task != null) {
-            capacitySemaphore.release();
-            log.trace("Task {} dequeued (timed poll), queue size: {}", task.getTaskId(), queue.size());
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long remaining = unit.toNanos(timeout);
+        while (true) {
+            PrioritizedPayload<T> task = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (task == null) {
+                return Optional.empty();
+            }
+            if (claimDequeued(task)) {
+                log.trace("Task {} dequeued (timed poll), queue size: {}", task.getTaskId(), queue.size());
+                return Optional.of(task);
+            }
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * Drain under the queue's lock in one pass, then claim the batch; removed
+     * entries in it are skipped and the capacity of the rest is released at once.
+     */
+    @Override
+    public int drainTo(Collection<? super PrioritizedPayload<T>> sink, int maxTasks) {
+        List<PrioritizedPayload<T>> batch = new ArrayList<>(Math.min(maxTasks, 256));
+        int drained = 0;
+        while (drained < maxTasks) {
+            batch.clear();
+            if (queue.drainTo(batch, maxTasks - drained) == 0) {
+                break;
+            }
+            int claimed = 0;
+            for (PrioritizedPayload<T> task : batch) {
+                if (task.claim()) {
+                    sink.add(task);
+                    claimed++;
+                } else {
+                    tombstones.decrementAndGet();
+                }
+            }
+            capacitySemaphore.release(claimed);
+            drained += claimed;
+        }
+        if (drained > 0) {
+            log.trace("{} tasks drained, queue size: {}", drained, queue.size());
         }
-        return Optional.ofNullable(task);
+        return drained;
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> peekNext() {
+        PrioritizedPayload<T> head;
+        while ((head = queue.peek()) != null && head.isClaimed()) {
+            // Head is a removed entry: dropping it from the top of the heap is O(log n)
+            if (queue.remove(head)) {
+                tombstones.decrementAndGet();
+            }
+        }
+        return Optional.ofNullable(head);
+    }
+
+    /**
+     * Remove a queued task in O(1): the entry is claimed and its capacity
+     * released immediately, and the heap node is dropped lazily when it
+     * reaches the head (or in a batch purge once removed entries pile up).
+     */
+    @Override
+    public boolean remove(PrioritizedPayload<T> task) {
+        if (!task.claim()) {
+            return false;
+        }
+        capacitySemaphore.release();
+        if (tombstones.incrementAndGet() > Math.max(PURGE_THRESHOLD, queue.size() / 2)) {
+            purgeRemoved();
+        }
+        log.trace("Task {} removed from queue", task.getTaskId());
+        return true;
     }
 
     @Override
     public int getQueueSize() {
-        return queue.size();
+        return Math.max(0, queue.size() - tombstones.get());
     }
 
     @Override
     public boolean isEmpty() {
-        return queue.isEmpty();
+        return getQueueSize() == 0;
     }
 
     @Override
@@ -124,6 +198,31 @@ public class FIFOStrategy<T> implements PriorityStrategy<T> {
         return capacitySemaphore.availablePermits();
     }
 
+    /**
+     * Claim a polled entry. Removed entries fail the claim and are discarded.
+     */
+    private boolean claimDequeued(PrioritizedPayload<T> task) {
+        if (task.claim()) {
+            capacitySemaphore.release();
+            return true;
+        }
+        tombstones.decrementAndGet();
+        return false;
+    }
+
+    private void purgeRemoved() {
+        int[] purged = {0};
+        queue.removeIf(task -> {
+            if (task.isClaimed()) {
+                purged[0]++;
+                return true;
+            }
+            return false;
+        });
+        tombstones.addAndGet(-purged[0]);
+        log.debug("Purged {} removed tasks, queue size: {}", purged[0], queue.size());
+    }
+
     @Override
     public void shutdown() {
         shutdown.set(true);
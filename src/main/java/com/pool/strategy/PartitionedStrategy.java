@@ -0,0 +1,312 @@
+package com.pool.strategy;
+
+import com.pool.core.PrioritizedPayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Partitioned Priority Strategy.
+ * <p>
+ * Keeps one sub-strategy per partition (the target executor of a root's
+ * children) behind a single shared capacity:
+ * - Each partition is ordered by its own sub-strategy (FIFO by default)
+ * - {@link #pollNext(Predicate)} offers partition heads in priority order
+ *   and takes the first one whose partition is admitted
+ * - A throttled partition never blocks its siblings (no head-of-line blocking)
+ * <p>
+ * With partition weights, heads are offered in start-time fair queueing order
+ * instead: each admission advances its partition's virtual time by
+ * {@code 1 / weight}, so competing partitions are admitted in proportion to
+ * their weights, with priority breaking ties. A partition that was idle or
+ * throttled restarts at the current virtual time rather than banking credit,
+ * and a throttled partition's turn goes to the next one in order.
+ * <p>
+ * Designed for a single consumer (the root's drainer thread); producers may
+ * enqueue concurrently.
+ */
+public class PartitionedStrategy<T> implements PriorityStrategy<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedStrategy.class);
+
+    private final int capacity;
+    private final Function<T, String> partitioner;
+    private final Supplier<PriorityStrategy<T>> partitionFactory;
+    private final Map<String, PriorityStrategy<T>> partitions = new ConcurrentHashMap<>();
+    private final Semaphore capacitySemaphore;
+    private final AtomicLong enqueueCount = new AtomicLong();
+    private final AtomicBoolean shutdown = new AtomicBoolean(false);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ToIntFunction<String> weights;
+    // Fair-queueing state, touched only by the consumer
+    private final Map<String, Double> finishTimes = new HashMap<>();
+    private double virtualTime;
+
+    /**
+     * @param capacity         Shared capacity across all partitions
+     * @param partitioner      Extracts the partition key (executor ID) from a payload
+     * @param partitionFactory Creates the sub-strategy for a new partition
+     */
+    public PartitionedStrategy(int capacity, Function<T, String> partitioner,
+                               Supplier<PriorityStrategy<T>> partitionFactory) {
+        this(capacity, partitioner, partitionFactory, null);
+    }
+
+    /**
+     * @param capacity         Shared capacity across all partitions
+     * @param partitioner      Extracts the partition key (executor ID) from a payload
+     * @param partitionFactory Creates the sub-strategy for a new partition
+     * @param weights          Weight of each partition key (positive), or null for strict priority order
+     */
+    public PartitionedStrategy(int capacity, Function<T, String> partitioner,
+                               Supplier<PriorityStrategy<T>> partitionFactory,
+                               ToIntFunction<String> weights) {
+        this.capacity = capacity;
+        this.partitioner = partitioner;
+        this.partitionFactory = partitionFactory;
+        this.weights = weights;
+        this.capacitySemaphore = new Semaphore(capacity);
+        log.info("PartitionedStrategy initialized with capacity: {}, weighted: {}", capacity, weights != null);
+    }
+
+    @Override
+    public String getName() {
+        return "PARTITIONED";
+    }
+
+    @Override
+    public boolean enqueue(PrioritizedPayload<T> task) {
+        if (shutdown.get()) {
+            log.warn("Strategy is shutdown, rejecting task: {}", task.getTaskId());
+            return false;
+        }
+
+        if (!capacitySemaphore.tryAcquire()) {
+            log.warn("Queue at capacity ({}), rejecting task: {}", capacity, task.getTaskId());
+            return false;
+        }
+
+        String partition = partitioner.apply(task.getPayload());
+        if (!partitions.computeIfAbsent(partition, k -> partitionFactory.get()).enqueue(task)) {
+            capacitySemaphore.release();
+            return false;
+        }
+
+        enqueueCount.incrementAndGet();
+        lock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        log.trace("Task {} enqueued to partition '{}'", task.getTaskId(), partition);
+        return true;
+    }
+
+    /**
+     * Select and remove the first head, in priority order (or fair-queueing order
+     * when weighted), whose partition is admitted.
+     * <p>
+     * Partition heads are offered to {@code tryAdmit} in that order until
+     * it accepts one; the accepted partition's head is removed and returned.
+     * {@code tryAdmit} may have side effects (e.g. acquiring TPS) — it is called
+     * at most once per partition and, unless the admitted partition turned out
+     * empty, never again after it returns true.
+     *
+     * @param tryAdmit Admission check on the partition key
+     * @return The admitted task, or empty if no partition was admitted
+     */
+    public Optional<PrioritizedPayload<T>> pollNext(Predicate<String> tryAdmit) {
+        return pollNext(task -> false, tryAdmit, partition -> { });
+    }
+
+    /**
+     * Like {@link #pollNext(Predicate)}, for payloads that can go stale while queued.
+     * <p>
+     * Heads matching {@code stale} are removed without being offered. If an
+     * admitted partition turns out empty when polled (its head was removed
+     * concurrently after the peek), the admission is handed back through
+     * {@code release} and the remaining heads are offered.
+     *
+     * @param stale    Payloads that should be dropped rather than admitted
+     * @param tryAdmit Admission check on the partition key
+     * @param release  Undoes an admission that {@code tryAdmit} granted but was not used
+     * @return The admitted task, or empty if no partition was admitted
+     */
+    public Optional<PrioritizedPayload<T>> pollNext(Predicate<T> stale, Predicate<String> tryAdmit,
+                                                    Consumer<String> release) {
+        List<Map.Entry<String, PrioritizedPayload<T>>> heads = new ArrayList<>(partitions.size());
+        for (Map.Entry<String, PriorityStrategy<T>> entry : partitions.entrySet()) {
+            PrioritizedPayload<T> head;
+            while ((head = entry.getValue().peekNext().orElse(null)) != null && stale.test(head.getPayload())) {
+                remove(head);
+            }
+            if (head != null) {
+                heads.add(Map.entry(entry.getKey(), head));
+            }
+        }
+        if (weights == null) {
+            heads.sort(Map.Entry.comparingByValue());
+        } else {
+            heads.sort(Comparator.<Map.Entry<String, PrioritizedPayload<T>>>comparingDouble(
+                    head -> startTime(head.getKey())).thenComparing(Map.Entry.comparingByValue()));
+        }
+
+        for (Map.Entry<String, PrioritizedPayload<T>> head : heads) {
+            if (tryAdmit.test(head.getKey())) {
+                Optional<PrioritizedPayload<T>> polled = pollPartition(head.getKey());
+                if (polled.isEmpty()) {
+                    release.accept(head.getKey());
+                    continue;
+                }
+                if (weights != null) {
+                    advance(head.getKey());
+                }
+                return polled;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private double startTime(String partition) {
+        return Math.max(virtualTime, finishTimes.getOrDefault(partition, 0.0));
+    }
+
+    private void advance(String partition) {
+        double start = startTime(partition);
+        virtualTime = start;
+        finishTimes.put(partition, start + 1.0 / Math.max(1, weights.applyAsInt(partition)));
+    }
+
+    /**
+     * Get the partition keys that currently hold queued tasks.
+     */
+    public List<String> getPendingPartitions() {
+        List<String> pending = new ArrayList<>();
+        for (Map.Entry<String, PriorityStrategy<T>> entry : partitions.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                pending.add(entry.getKey());
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Get the number of successful enqueues so far.
+     * A consumer can compare snapshots to detect arrivals it has not yet seen.
+     */
+    public long getEnqueueCount() {
+        return enqueueCount.get();
+    }
+
+    @Override
+    public PrioritizedPayload<T> takeNext() throws InterruptedException {
+        while (!shutdown.get()) {
+            Optional<PrioritizedPayload<T>> task = pollNext(100, TimeUnit.MILLISECONDS);
+            if (task.isPresent()) {
+                return task.get();
+            }
+        }
+        throw new InterruptedException("Strategy has been shut down");
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> pollNext() {
+        return pollNext(partition -> true);
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> pollNext(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (true) {
+                Optional<PrioritizedPayload<T>> task = pollNext();
+                if (task.isPresent() || remaining <= 0) {
+                    return task;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> peekNext() {
+        PrioritizedPayload<T> best = null;
+        for (PriorityStrategy<T> partition : partitions.values()) {
+            PrioritizedPayload<T> head = partition.peekNext().orElse(null);
+            if (head != null && (best == null || head.compareTo(best) < 0)) {
+                best = head;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    @Override
+    public boolean remove(PrioritizedPayload<T> task) {
+        PriorityStrategy<T> partition = partitions.get(partitioner.apply(task.getPayload()));
+        if (partition == null || !partition.remove(task)) {
+            return false;
+        }
+        capacitySemaphore.release();
+        return true;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return capacity - capacitySemaphore.availablePermits();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getQueueSize() == 0;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return capacitySemaphore.availablePermits();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown.set(true);
+        partitions.values().forEach(PriorityStrategy::shutdown);
+        log.info("PartitionedStrategy shutdown, {} tasks remaining across {} partitions",
+                getQueueSize(), partitions.size());
+    }
+
+    private Optional<PrioritizedPayload<T>> pollPartition(String partition) {
+        Optional<PrioritizedPayload<T>> task = partitions.get(partition).pollNext();
+        if (task.isPresent()) {
+            capacitySemaphore.release();
+            log.trace("Task {} dequeued from partition '{}'", task.get().getTaskId(), partition);
+        }
+        return task;
+    }
+}
@@ -2,6 +2,7 @@ package com.pool.strategy;
 
 import com.pool.core.PrioritizedPayload;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -13,8 +14,9 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * This allows different execution-time behaviors:
  * - FIFO: Simple priority queue, oldest task with highest priority wins
- * - TIME_BASED (future): Boost priority based on wait time (aging)
- * - BUCKET_BASED (future): Multi-level buckets with promotion
+ * - SKIP_LIST: FIFO ordering on a lock-free skip list for concurrent producers
+ * - TIME_BASED: Boost priority based on wait time (aging)
+ * - BUCKET_BASED: Multi-level buckets with promotion
  */
 public interface PriorityStrategy<T> {
 
@@ -58,6 +60,43 @@ public interface PriorityStrategy<T> {
      */
     Optional<PrioritizedPayload<T>> pollNext(long timeout, TimeUnit unit) throws InterruptedException;
 
+    /**
+     * Remove up to {@code maxTasks} tasks in selection order and add them to {@code sink}
+     * (non-blocking). Strategies override this to take the whole batch in one pass.
+     *
+     * @param sink     Receives the removed tasks, highest priority first
+     * @param maxTasks Maximum number of tasks to remove
+     * @return Number of tasks added to {@code sink}
+     */
+    default int drainTo(Collection<? super PrioritizedPayload<T>> sink, int maxTasks) {
+        int drained = 0;
+        while (drained < maxTasks) {
+            Optional<PrioritizedPayload<T>> task = pollNext();
+            if (task.isEmpty()) {
+                break;
+            }
+            sink.add(task.get());
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Get the next task that would be selected, without removing it.
+     *
+     * @return The next task, or empty if queue is empty
+     */
+    Optional<PrioritizedPayload<T>> peekNext();
+
+    /**
+     * Remove a queued task that will never be run (cancelled or timed out),
+     * releasing its capacity immediately.
+     *
+     * @param task The payload previously passed to {@link #enqueue}
+     * @return true if the task was still queued and is now removed
+     */
+    boolean remove(PrioritizedPayload<T> task);
+
     /**
      * Get the current queue depth.
      */
@@ -1,7 +1,6 @@
 package com.pool.strategy;
 
 import com.pool.config.StrategyConfig;
-import com.pool.exception.ConfigurationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,10 +33,11 @@ public class PriorityStrategyFactory {
 
         return switch (type) {
             case FIFO -> new FIFOStrategy<>(capacity);
-            case TIME_BASED -> throw new ConfigurationException(
-                    "TIME_BASED strategy is not yet implemented. Use FIFO for now.");
-            case BUCKET_BASED -> throw new ConfigurationException(
-                    "BUCKET_BASED strategy is not yet implemented. Use FIFO for now.");
+            case SKIP_LIST -> new SkipListStrategy<>(capacity);
+            case TIME_BASED -> new TimeBasedStrategy<>(capacity, config.getTimeBased() != null
+                    ? config.getTimeBased() : new StrategyConfig.TimeBasedConfig());
+            case BUCKET_BASED -> new BucketBasedStrategy<>(capacity, config.getBucketBased() != null
+                    ? config.getBucketBased() : new StrategyConfig.BucketBasedConfig());
         };
     }
 
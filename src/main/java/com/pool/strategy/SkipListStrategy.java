@@ -0,0 +1,225 @@
+package com.pool.strategy;
+
+import com.pool.core.PrioritizedPayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Skip-List Priority Strategy.
+ * <p>
+ * Same ordering and capacity contract as {@link FIFOStrategy}, backed by a lock-free
+ * {@link ConcurrentSkipListMap} instead of a single-lock heap:
+ * - Tasks ordered by: (1) PathVector, (2) SortValue, (3) SubmittedAt, then enqueue order
+ * - Producers and the consumer only contend on the skip-list nodes they touch
+ * - Capacity is enforced with a {@link Semaphore}, as in FIFO
+ * <p>
+ * Best for:
+ * - Many threads submitting to the same root concurrently
+ * <p>
+ * The lock is only taken to park and wake a consumer blocked in
+ * {@link #pollNext(long, TimeUnit)}; producers skip it when nobody is waiting.
+ */
+public class SkipListStrategy<T> implements PriorityStrategy<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(SkipListStrategy.class);
+    private static final int PURGE_THRESHOLD = 64;
+
+    private final int capacity;
+    private final ConcurrentSkipListMap<Entry<T>, Boolean> queue = new ConcurrentSkipListMap<>();
+    private final Semaphore capacitySemaphore;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean shutdown = new AtomicBoolean(false);
+    private final AtomicInteger tombstones = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    public SkipListStrategy(int capacity) {
+        this.capacity = capacity;
+        this.capacitySemaphore = new Semaphore(capacity);
+        log.info("SkipListStrategy initialized with capacity: {}", capacity);
+    }
+
+    @Override
+    public String getName() {
+        return "SKIP_LIST";
+    }
+
+    @Override
+    public boolean enqueue(PrioritizedPayload<T> task) {
+        if (shutdown.get()) {
+            log.warn("Strategy is shutdown, rejecting task: {}", task.getTaskId());
+            return false;
+        }
+
+        if (!capacitySemaphore.tryAcquire()) {
+            log.warn("Queue at capacity ({}), rejecting task: {}", capacity, task.getTaskId());
+            return false;
+        }
+
+        queue.put(new Entry<>(task, sequence.getAndIncrement()), Boolean.TRUE);
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+        log.trace("Task {} enqueued", task.getTaskId());
+        return true;
+    }
+
+    @Override
+    public PrioritizedPayload<T> takeNext() throws InterruptedException {
+        while (!shutdown.get()) {
+            Optional<PrioritizedPayload<T>> task = pollNext(100, TimeUnit.MILLISECONDS);
+            if (task.isPresent()) {
+                return task.get();
+            }
+        }
+        throw new InterruptedException("Strategy has been shut down");
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> pollNext() {
+        Map.Entry<Entry<T>, Boolean> head;
+        while ((head = queue.pollFirstEntry()) != null) {
+            PrioritizedPayload<T> task = head.getKey().task;
+            if (claimDequeued(task)) {
+                log.trace("Task {} dequeued (poll)", task.getTaskId());
+                return Optional.of(task);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> pollNext(long timeout, TimeUnit unit) throws InterruptedException {
+        Optional<PrioritizedPayload<T>> task = pollNext();
+        if (task.isPresent()) {
+            return task;
+        }
+
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        waiters.incrementAndGet();
+        try {
+            // Re-poll after registering as a waiter: a producer that enqueued before
+            // the increment is seen here, one that enqueued after it will signal
+            while (true) {
+                task = pollNext();
+                if (task.isPresent() || remaining <= 0) {
+                    return task;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+        } finally {
+            waiters.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> peekNext() {
+        Map.Entry<Entry<T>, Boolean> head;
+        while ((head = queue.firstEntry()) != null && head.getKey().task.isClaimed()) {
+            // Whoever unlinks a removed entry (peek, poll or purge) settles its tombstone
+            if (queue.remove(head.getKey()) != null) {
+                tombstones.decrementAndGet();
+            }
+        }
+        return head != null ? Optional.of(head.getKey().task) : Optional.empty();
+    }
+
+    /**
+     * Remove a queued task in O(1): the entry is claimed and its capacity
+     * released immediately, and the skip-list node is dropped lazily when it
+     * reaches the head (or in a batch purge once removed entries pile up).
+     */
+    @Override
+    public boolean remove(PrioritizedPayload<T> task) {
+        if (!task.claim()) {
+            return false;
+        }
+        capacitySemaphore.release();
+        if (tombstones.incrementAndGet() > Math.max(PURGE_THRESHOLD, getQueueSize() / 2)) {
+            purgeRemoved();
+        }
+        log.trace("Task {} removed from queue", task.getTaskId());
+        return true;
+    }
+
+    @Override
+    public int getQueueSize() {
+        // ConcurrentSkipListMap.size() is O(n); the semaphore tracks live entries
+        return capacity - capacitySemaphore.availablePermits();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getQueueSize() == 0;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return capacitySemaphore.availablePermits();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown.set(true);
+        log.info("SkipListStrategy shutdown, {} tasks remaining in queue", getQueueSize());
+    }
+
+    /**
+     * Claim a polled entry. Removed entries fail the claim and are discarded.
+     */
+    private boolean claimDequeued(PrioritizedPayload<T> task) {
+        if (task.claim()) {
+            capacitySemaphore.release();
+            return true;
+        }
+        tombstones.decrementAndGet();
+        return false;
+    }
+
+    private void purgeRemoved() {
+        int purged = 0;
+        for (Entry<T> entry : queue.keySet()) {
+            if (entry.task.isClaimed() && queue.remove(entry) != null) {
+                purged++;
+            }
+        }
+        tombstones.addAndGet(-purged);
+        log.debug("Purged {} removed tasks, queue size: {}", purged, getQueueSize());
+    }
+
+    /**
+     * Skip-list element: the payload plus an enqueue sequence number, so entries
+     * with equal priority keys stay distinct and keep their arrival order.
+     */
+    private record Entry<T>(PrioritizedPayload<T> task, long seq) implements Comparable<Entry<T>> {
+        @Override
+        public int compareTo(Entry<T> other) {
+            int cmp = task.compareTo(other.task);
+            return cmp != 0 ? cmp : Long.compare(seq, other.seq);
+        }
+    }
+}
@@ -13,16 +13,23 @@ public enum StrategyType {
     FIFO,
 
     /**
-     * TIME_BASED Strategy (Future): Priority aging.
-     * Boosts task priority based on wait time to prevent starvation.
-     * Requires periodic re-evaluation daemon.
+     * SKIP_LIST Strategy: Same ordering as FIFO on a lock-free skip list.
+     * Producers and the drainer do not share a queue lock.
+     * Use when many threads submit to the same root concurrently.
+     */
+    SKIP_LIST,
+
+    /**
+     * TIME_BASED Strategy: Priority aging.
+     * Boosts a task's branch index based on wait time to prevent starvation.
+     * Aging is computed from enqueue time; no re-evaluation daemon.
      */
     TIME_BASED,
 
     /**
-     * BUCKET_BASED Strategy (Future): Multi-level queues.
-     * Multiple capacity-limited priority buckets with promotion.
-     * Tasks can be promoted to higher buckets over time.
+     * BUCKET_BASED Strategy: Multi-level queues.
+     * Capacity-limited FIFO buckets keyed by top-level branch; O(1) dequeue.
+     * Tasks are promoted to higher buckets over time, in batches.
      */
     BUCKET_BASED
 }
@@ -0,0 +1,365 @@
+package com.pool.strategy;
+
+import com.pool.config.StrategyConfig;
+import com.pool.core.PrioritizedPayload;
+import com.pool.exception.ConfigurationException;
+import com.pool.priority.PathVector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Time-Based (aging) Priority Strategy.
+ * <p>
+ * Same ordering as {@link FIFOStrategy}, except that a task's branch index at the
+ * aging level is lowered (boosted) by {@code boostPerInterval} for every
+ * {@code agingIntervalMs} it has waited, up to {@code maxBoost}. A task in a low
+ * branch therefore overtakes newer tasks in higher branches once it has waited
+ * long enough, instead of starving under sustained load. Levels above the aging
+ * level are never overtaken.
+ * <p>
+ * Nothing is re-sorted as time passes. Age is counted in whole intervals on a shared
+ * clock ("bands"), so for a task enqueued in band {@code e} the effective index at band
+ * {@code now} is {@code branch - boost * (now - e)}. Comparing two tasks, {@code now}
+ * cancels out, leaving the static key {@code branch + boost * e}:
+ * - Uncapped heap: tasks still gaining boost, ordered by that static key
+ * - Capped heap: tasks at {@code maxBoost}, ordered by their plain priority key
+ * - A FIFO of uncapped tasks moves each one to the capped heap once, when it hits the cap
+ * <p>
+ * Each task costs O(log n) to enqueue, cap and poll; a poll compares the two heap heads.
+ */
+public class TimeBasedStrategy<T> implements PriorityStrategy<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeBasedStrategy.class);
+    private static final int PURGE_THRESHOLD = 64;
+
+    private final int capacity;
+    private final long intervalNanos;
+    private final long boostPerInterval;
+    private final long maxBoost;
+    private final int agingLevel;
+    private final long bandsToCap;
+    private final long origin = System.nanoTime();
+
+    private final PriorityQueue<Entry<T>> uncapped;
+    private final PriorityQueue<Entry<T>> capped;
+    private final ArrayDeque<Entry<T>> byAge = new ArrayDeque<>();
+    private final Semaphore capacitySemaphore;
+    private final AtomicBoolean shutdown = new AtomicBoolean(false);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    public TimeBasedStrategy(int capacity, StrategyConfig.TimeBasedConfig config) {
+        if (config.getAgingIntervalMs() <= 0) {
+            throw new ConfigurationException("time-based.aging-interval-ms must be positive");
+        }
+        if (config.getAgingLevel() < 0 || config.getAgingLevel() >= PathVector.MAX_LEVELS) {
+            throw new ConfigurationException("time-based.aging-level must be between 0 and "
+                    + (PathVector.MAX_LEVELS - 1));
+        }
+        this.capacity = capacity;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getAgingIntervalMs());
+        this.boostPerInterval = Math.max(0, config.getBoostPerInterval());
+        this.maxBoost = Math.max(0, config.getMaxBoost());
+        this.agingLevel = config.getAgingLevel();
+        this.bandsToCap = boostPerInterval == 0 ? 0 : (maxBoost + boostPerInterval - 1) / boostPerInterval;
+        this.uncapped = new PriorityQueue<>(this::compareUncapped);
+        this.capped = new PriorityQueue<>();
+        this.capacitySemaphore = new Semaphore(capacity);
+        log.info("TimeBasedStrategy initialized with capacity: {}, boost {} per {}ms up to {} at level {}",
+                capacity, boostPerInterval, config.getAgingIntervalMs(), maxBoost, agingLevel);
+    }
+
+    @Override
+    public String getName() {
+        return "TIME_BASED";
+    }
+
+    @Override
+    public boolean enqueue(PrioritizedPayload<T> task) {
+        if (shutdown.get()) {
+            log.warn("Strategy is shutdown, rejecting task: {}", task.getTaskId());
+            return false;
+        }
+
+        if (!capacitySemaphore.tryAcquire()) {
+            log.warn("Queue at capacity ({}), rejecting task: {}", capacity, task.getTaskId());
+            return false;
+        }
+
+        lock.lock();
+        try {
+            Entry<T> entry = new Entry<>(task, currentBand());
+            if (bandsToCap == 0) {
+                // No aging configured: every task is already at its final priority
+                entry.capped = true;
+                capped.add(entry);
+            } else {
+                uncapped.add(entry);
+                byAge.addLast(entry);
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        log.trace("Task {} enqueued", task.getTaskId());
+        return true;
+    }
+
+    @Override
+    public PrioritizedPayload<T> takeNext() throws InterruptedException {
+        while (!shutdown.get()) {
+            Optional<PrioritizedPayload<T>> task = pollNext(100, TimeUnit.MILLISECONDS);
+            if (task.isPresent()) {
+                return task.get();
+            }
+        }
+        throw new InterruptedException("Strategy has been shut down");
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> pollNext() {
+        lock.lock();
+        try {
+            return Optional.ofNullable(pollLocked());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> pollNext(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (true) {
+                PrioritizedPayload<T> task = pollLocked();
+                if (task != null || remaining <= 0) {
+                    return Optional.ofNullable(task);
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super PrioritizedPayload<T>> sink, int maxTasks) {
+        lock.lock();
+        try {
+            int drained = 0;
+            PrioritizedPayload<T> task;
+            while (drained < maxTasks && (task = pollLocked()) != null) {
+                sink.add(task);
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<PrioritizedPayload<T>> peekNext() {
+        lock.lock();
+        try {
+            Entry<T> head = headLocked();
+            return head != null ? Optional.of(head.task) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a queued task in O(1): the entry is claimed and its capacity released
+     * immediately, and its heap nodes are dropped lazily or in a batch purge.
+     */
+    @Override
+    public boolean remove(PrioritizedPayload<T> task) {
+        if (!task.claim()) {
+            return false;
+        }
+        capacitySemaphore.release();
+        lock.lock();
+        try {
+            purgeIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        log.trace("Task {} removed from queue", task.getTaskId());
+        return true;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return capacity - capacitySemaphore.availablePermits();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getQueueSize() == 0;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return capacitySemaphore.availablePermits();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown.set(true);
+        log.info("TimeBasedStrategy shutdown, {} tasks remaining in queue", getQueueSize());
+    }
+
+    /**
+     * Must be called while holding {@link #lock}.
+     */
+    private PrioritizedPayload<T> pollLocked() {
+        Entry<T> head;
+        while ((head = headLocked()) != null) {
+            (head.capped ? capped : uncapped).poll();
+            if (head.task.claim()) {
+                capacitySemaphore.release();
+                purgeIfNeeded();
+                log.trace("Task {} dequeued", head.task.getTaskId());
+                return head.task;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Advance aging and return the entry with the best effective priority.
+     * Must be called while holding {@link #lock}.
+     */
+    private Entry<T> headLocked() {
+        long now = currentBand();
+        promoteCapped(now);
+
+        Entry<T> u = liveHead(uncapped, false);
+        Entry<T> c = liveHead(capped, true);
+        if (u == null || c == null) {
+            return u != null ? u : c;
+        }
+        return compareAcross(u, c, now) <= 0 ? u : c;
+    }
+
+    /**
+     * Move tasks that have reached {@code maxBoost} to the capped heap, oldest first.
+     */
+    private void promoteCapped(long now) {
+        Entry<T> oldest;
+        while ((oldest = byAge.peekFirst()) != null && now - oldest.band >= bandsToCap) {
+            byAge.pollFirst();
+            if (oldest.task.isClaimed() || oldest.capped) {
+                // Removed or dequeued since
+                continue;
+            }
+            oldest.capped = true;
+            // Its uncapped node stays behind until it surfaces or is purged
+            capped.add(oldest);
+        }
+    }
+
+    /**
+     * Drop removed or moved nodes from the top of a heap.
+     */
+    private Entry<T> liveHead(PriorityQueue<Entry<T>> heap, boolean cappedHeap) {
+        Entry<T> head;
+        while ((head = heap.peek()) != null && (head.task.isClaimed() || head.capped != cappedHeap)) {
+            heap.poll();
+        }
+        return head;
+    }
+
+    /**
+     * A queued task holds at most two nodes, so anything beyond that is left over
+     * from removals or capping. Rebuild once leftovers outnumber live nodes.
+     */
+    private void purgeIfNeeded() {
+        int nodes = uncapped.size() + capped.size() + byAge.size();
+        if (nodes <= 4 * getQueueSize() + PURGE_THRESHOLD) {
+            return;
+        }
+        uncapped.removeIf(e -> e.task.isClaimed() || e.capped);
+        capped.removeIf(e -> e.task.isClaimed());
+        byAge.removeIf(e -> e.task.isClaimed() || e.capped);
+        log.debug("Purged removed tasks, queue size: {}", getQueueSize());
+    }
+
+    private long currentBand() {
+        return (System.nanoTime() - origin) / intervalNanos;
+    }
+
+    /**
+     * Uncapped order: levels above the aging level, then {@code branch + boost * band},
+     * then the plain priority key.
+     */
+    private int compareUncapped(Entry<T> a, Entry<T> b) {
+        int cmp = comparePrefix(a, b);
+        if (cmp != 0) return cmp;
+        cmp = Long.compare(agingIndex(a) + boostPerInterval * a.band, agingIndex(b) + boostPerInterval * b.band);
+        return cmp != 0 ? cmp : a.task.compareTo(b.task);
+    }
+
+    /**
+     * Effective order between an uncapped and a capped head at band {@code now}.
+     */
+    private int compareAcross(Entry<T> u, Entry<T> c, long now) {
+        int cmp = comparePrefix(u, c);
+        if (cmp != 0) return cmp;
+        long uEffective = agingIndex(u) - boostPerInterval * (now - u.band);
+        long cEffective = agingIndex(c) - maxBoost;
+        cmp = Long.compare(uEffective, cEffective);
+        return cmp != 0 ? cmp : u.task.compareTo(c.task);
+    }
+
+    private int comparePrefix(Entry<T> a, Entry<T> b) {
+        PathVector pa = a.task.getPriorityKey().getPathVector();
+        PathVector pb = b.task.getPriorityKey().getPathVector();
+        for (int level = 0; level < agingLevel; level++) {
+            int cmp = Integer.compare(pa.get(level), pb.get(level));
+            if (cmp != 0) return cmp;
+        }
+        return 0;
+    }
+
+    private long agingIndex(Entry<T> e) {
+        return e.task.getPriorityKey().getPathVector().get(agingLevel);
+    }
+
+    /**
+     * Queued task plus the aging band it was enqueued in. The capped heap orders
+     * entries by plain priority: at a constant boost that is the effective order.
+     */
+    private static final class Entry<T> implements Comparable<Entry<T>> {
+        final PrioritizedPayload<T> task;
+        final long band;
+        boolean capped;
+
+        Entry(PrioritizedPayload<T> task, long band) {
+            this.task = task;
+            this.band = band;
+        }
+
+        @Override
+        public int compareTo(Entry<T> other) {
+            return task.compareTo(other.task);
+        }
+    }
+}
@@ -34,6 +34,14 @@ public class DefaultVariableResolver implements VariableResolver {
         }
     }
 
+    @Override
+    public Optional<Object> resolve(VariableReference reference, TaskContext context) {
+        if (reference == null || context == null) {
+            return Optional.empty();
+        }
+        return context.getVariable(reference);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> Optional<T> resolve(String reference, TaskContext context, Class<T> type) {
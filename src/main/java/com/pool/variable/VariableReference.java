@@ -0,0 +1,65 @@
+package com.pool.variable;
+
+import java.util.Objects;
+
+/**
+ * A variable reference (e.g., "$req.customer.tier") split into its source and name once,
+ * so evaluating it does no string parsing.
+ * <p>
+ * Created when an expression is parsed; names are interned so lookups by the same
+ * reference across expressions share one key instance.
+ */
+public final class VariableReference {
+
+    private final VariableSource source;
+    private final String name;
+    private final String reference;
+
+    private VariableReference(VariableSource source, String name, String reference) {
+        this.source = source;
+        this.name = name;
+        this.reference = reference;
+    }
+
+    /**
+     * Parse a variable reference.
+     *
+     * @param reference Variable reference (e.g., "$req.amount")
+     * @return The parsed reference
+     * @throws IllegalArgumentException if reference is invalid
+     */
+    public static VariableReference of(String reference) {
+        VariableSource source = VariableSource.fromReference(reference);
+        String name = reference.substring(source.getPrefix().length() + 1).intern();
+        return new VariableReference(source, name, reference);
+    }
+
+    public VariableSource getSource() {
+        return source;
+    }
+
+    /**
+     * Get the variable name (without prefix).
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof VariableReference other && reference.equals(other.reference));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(reference);
+    }
+
+    /**
+     * Get the full reference as written (e.g., "$req.amount").
+     */
+    @Override
+    public String toString() {
+        return reference;
+    }
+}
@@ -18,6 +18,18 @@ public interface VariableResolver {
      */
     Optional<Object> resolve(String reference, TaskContext context);
 
+    /**
+     * Resolve a pre-parsed variable reference.
+     * Implementations should override this to skip re-parsing the reference string.
+     *
+     * @param reference Parsed variable reference
+     * @param context   Task context containing variable values
+     * @return Resolved value, or empty if not found
+     */
+    default Optional<Object> resolve(VariableReference reference, TaskContext context) {
+        return resolve(reference.toString(), context);
+    }
+
     /**
      * Resolve and cast to specific type.
      *
@@ -19,6 +19,8 @@ public enum VariableSource {
      */
     CONTEXT("$ctx");
 
+    private static final VariableSource[] VALUES = values();
+
     private final String prefix;
 
     VariableSource(String prefix) {
@@ -40,19 +42,24 @@ public enum VariableSource {
         if (reference == null || reference.isEmpty()) {
             throw new IllegalArgumentException("Variable reference cannot be null or empty");
         }
-        if (reference.startsWith(REQUEST.prefix + ".")) {
-            return REQUEST;
-        }
-        if (reference.startsWith(SYSTEM.prefix + ".")) {
-            return SYSTEM;
-        }
-        if (reference.startsWith(CONTEXT.prefix + ".")) {
-            return CONTEXT;
+        for (VariableSource source : VALUES) {
+            if (source.matches(reference)) {
+                return source;
+            }
         }
         throw new IllegalArgumentException("Invalid variable reference: " + reference +
                 ". Must start with $req., $sys., or $ctx.");
     }
 
+    /**
+     * Check if a reference starts with this source's prefix followed by a dot.
+     */
+    private boolean matches(String reference) {
+        return reference.length() > prefix.length()
+                && reference.charAt(prefix.length()) == '.'
+                && reference.startsWith(prefix);
+    }
+
     /**
      * Extract the variable name from a reference.
      *
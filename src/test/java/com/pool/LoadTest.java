@@ -42,13 +42,13 @@ class LoadTest {
     // -----------------------------------------------------------------------
 
     private static TpsPoolExecutor buildExecutor(PoolConfig config, PolicyEngine policyEngine) {
+        return buildExecutor(config, policyEngine, ExecutionMode.PLATFORM);
+    }
+
+    private static TpsPoolExecutor buildExecutor(PoolConfig config, PolicyEngine policyEngine, ExecutionMode mode) {
         ExecutorHierarchy hierarchy = new ExecutorHierarchy(config.getExecutors());
         TpsGate tpsGate = new TpsGate(hierarchy);
-        ExecutorService threadPool = Executors.newCachedThreadPool(r -> {
-            Thread t = new Thread(r);
-            t.setDaemon(true);
-            return t;
-        });
+        ExecutorService threadPool = TpsSystemConfig.taskExecutor(mode);
         Map<String, java.util.concurrent.locks.ReentrantLock> locks = new ConcurrentHashMap<>();
         Map<String, java.util.concurrent.locks.Condition> conditions = new ConcurrentHashMap<>();
         Map<String, com.pool.strategy.PriorityStrategy<TaskQueueManager.QueuedTask>> strategies = new ConcurrentHashMap<>();
@@ -69,7 +69,8 @@ class LoadTest {
                 });
             }
         }
-        TaskQueueManager queueManager = new TaskQueueManager(hierarchy, tpsGate, strategies, locks, conditions, threadPool);
+        TaskQueueManager queueManager = new TaskQueueManager(hierarchy, tpsGate, strategies, locks, conditions,
+                threadPool, TpsSystemConfig.drainerThreadFactory(mode));
         return new TpsPoolExecutor(config, policyEngine, hierarchy, tpsGate, queueManager);
     }
 
@@ -681,6 +682,97 @@ class LoadTest {
         Assertions.assertEquals(TASKS, done.get());
     }
 
+    // -----------------------------------------------------------------------
+    // SCENARIO 12 — Blocking tasks: platform pool vs virtual threads
+    // -----------------------------------------------------------------------
+    @Test @Order(12)
+    @DisplayName("LT-12  Blocking I/O: 5000 concurrent 1s tasks, cached pool vs virtual threads")
+    void lt12_virtualThreads() throws Exception {
+        long[] platform = runBlockingTasks(ExecutionMode.PLATFORM);
+        long[] virtual = runBlockingTasks(ExecutionMode.VIRTUAL);
+
+        String status = platform[0] == 5000 && virtual[0] == 5000 ? "PASS" : "FAIL";
+        record("LT-12 Blocking Tasks (5000)", "platform_p99_ms", String.valueOf(platform[1]), status);
+        record("LT-12 Blocking Tasks (5000)", "virtual_p99_ms", String.valueOf(virtual[1]), status);
+        record("LT-12 Blocking Tasks (5000)", "platform_live_threads", String.valueOf(platform[2]), status);
+        record("LT-12 Blocking Tasks (5000)", "virtual_live_threads", String.valueOf(virtual[2]), status);
+        record("LT-12 Blocking Tasks (5000)", "platform_heap_delta_mb", String.valueOf(platform[3]), status);
+        record("LT-12 Blocking Tasks (5000)", "virtual_heap_delta_mb", String.valueOf(virtual[3]), status);
+        record("LT-12 Blocking Tasks (5000)", "platform_rss_delta_mb", String.valueOf(platform[4]), status);
+        record("LT-12 Blocking Tasks (5000)", "virtual_rss_delta_mb", String.valueOf(virtual[4]), status);
+
+        Assertions.assertEquals(5000, platform[0]);
+        Assertions.assertEquals(5000, virtual[0]);
+        Assertions.assertTrue(virtual[2] < platform[2], "Virtual mode should not need a platform thread per task");
+    }
+
+    /**
+     * Submit 5000 tasks that each block 1s, all admitted at once.
+     * Memory and thread samples are taken once every task has started.
+     *
+     * @return {completed, p99 latency ms (submit → finish), extra live platform threads,
+     *          heap delta MB, RSS delta MB (-1 if unavailable)}
+     */
+    private long[] runBlockingTasks(ExecutionMode mode) throws Exception {
+        int TASKS = 5000;
+        PoolConfig cfg = makeConfig(10000, 10000, 10000);
+        executor = buildExecutor(cfg, PolicyEngineFactory.create(cfg), mode);
+
+        java.lang.management.ThreadMXBean threads = java.lang.management.ManagementFactory.getThreadMXBean();
+        System.gc();
+        Runtime rt = Runtime.getRuntime();
+        long heapBefore = rt.totalMemory() - rt.freeMemory();
+        long rssBefore = residentSetMb();
+        int threadsBefore = threads.getThreadCount();
+
+        long[] latencies = new long[TASKS];
+        CountDownLatch started = new CountDownLatch(TASKS);
+        CountDownLatch latch = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            int n = i;
+            long submitted = System.nanoTime();
+            executor.submit(ctx("NORTH_AMERICA", "GOLD", 1000, i), () -> {
+                started.countDown();
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latencies[n] = System.nanoTime() - submitted;
+                latch.countDown();
+            });
+        }
+
+        started.await(30, TimeUnit.SECONDS);
+        long liveThreads = Math.max(0, threads.getThreadCount() - threadsBefore);
+        long heapDeltaMb = Math.max(0, (rt.totalMemory() - rt.freeMemory() - heapBefore) / (1024 * 1024));
+        long rssAfter = residentSetMb();
+        long rssDeltaMb = rssBefore >= 0 && rssAfter >= 0 ? Math.max(0, rssAfter - rssBefore) : -1;
+        boolean finished = latch.await(60, TimeUnit.SECONDS);
+
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        executor = null;
+
+        Arrays.sort(latencies);
+        long p99Ms = TimeUnit.NANOSECONDS.toMillis(latencies[(int) (TASKS * 0.99) - 1]);
+        return new long[]{finished ? TASKS : TASKS - latch.getCount(), p99Ms, liveThreads, heapDeltaMb, rssDeltaMb};
+    }
+
+    /** Resident set size from /proc (platform thread stacks are native memory, invisible to the heap). */
+    private static long residentSetMb() {
+        try {
+            for (String line : java.nio.file.Files.readAllLines(java.nio.file.Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+                }
+            }
+        } catch (Exception ignored) {
+            // not Linux
+        }
+        return -1;
+    }
+
     // -----------------------------------------------------------------------
     // Print results table after all tests
     // -----------------------------------------------------------------------
@@ -717,7 +809,7 @@ class LoadTest {
                 .filter(s -> RESULTS.stream().filter(r -> r.scenario().equals(s))
                         .allMatch(r -> r.status().equals("PASS") || r.status().equals("WARN")))
                 .count();
-        System.out.printf("  Summary: %d / 11 scenarios passed%n%n", passed);
+        System.out.printf("  Summary: %d / 12 scenarios passed%n%n", passed);
     }
 
     // -----------------------------------------------------------------------
@@ -11,6 +11,9 @@ import com.pool.exception.TaskRejectedException;
 import com.pool.policy.EvaluationResult;
 import com.pool.policy.PolicyEngine;
 import com.pool.policy.PolicyEngineFactory;
+import com.pool.variable.DefaultVariableResolver;
+import com.pool.variable.VariableReference;
+import com.pool.variable.VariableSource;
 
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -460,6 +463,132 @@ class PoolApplicationTest {
         assertEquals("test", ctx.getContextVariable("clientId").orElse(null));
     }
 
+    @Test
+    @DisplayName("Create TaskContext from Map payload without JSON")
+    void createTaskContextFromMap() {
+        Map<String, Object> payload = Map.of(
+                "region", "NORTH_AMERICA",
+                "customer", Map.of("tier", "GOLD", "address", Map.of("country", "US")),
+                "tags", List.of("a", "b"));
+
+        TaskContext ctx = TaskContextFactory.fromObject(payload, Map.of("clientId", "test"));
+
+        assertEquals("NORTH_AMERICA", ctx.getRequestVariable("region").orElse(null));
+        assertEquals("GOLD", ctx.getRequestVariable("customer.tier").orElse(null));
+        assertEquals("US", ctx.getRequestVariable("customer.address.country").orElse(null));
+        assertEquals(List.of("a", "b"), ctx.getRequestVariable("tags").orElse(null));
+        assertEquals("test", ctx.getContextVariable("clientId").orElse(null));
+    }
+
+    @Test
+    @DisplayName("Create TaskContext from POJO payload matches the JSON path")
+    void createTaskContextFromPojo() throws Exception {
+        Order order = new Order("NORTH_AMERICA", 5000, new Customer(Tier.GOLD, true));
+
+        TaskContext direct = TaskContextFactory.fromObject(order, null);
+        TaskContext viaJson = TaskContextFactory.create(
+                new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(order), null);
+
+        assertEquals("GOLD", direct.getRequestVariable("customer.tier").orElse(null));
+        assertEquals(true, direct.getRequestVariable("customer.verified").orElse(null));
+        assertEquals(viaJson.getRequestVariables(), direct.getRequestVariables());
+    }
+
+    @Test
+    @DisplayName("Map payload values that are objects are flattened like JSON")
+    void createTaskContextFromMapWithObjects() {
+        TaskContext ctx = TaskContextFactory.fromObject(
+                Map.of("customer", new Customer(Tier.SILVER, false), "tier", Tier.GOLD), null);
+
+        assertEquals("SILVER", ctx.getRequestVariable("customer.tier").orElse(null));
+        assertEquals(false, ctx.getRequestVariable("customer.verified").orElse(null));
+        assertEquals("GOLD", ctx.getRequestVariable("tier").orElse(null));
+    }
+
+    @Test
+    @DisplayName("Null payload produces no request variables")
+    void createTaskContextFromNullPayload() {
+        TaskContext ctx = TaskContextFactory.fromObject(null, Map.of("clientId", "test"));
+
+        assertTrue(ctx.getRequestVariables().isEmpty());
+        assertEquals("test", ctx.getContextVariable("clientId").orElse(null));
+    }
+
+    @Test
+    @DisplayName("Lazy context resolves the same variables as the eager one")
+    void lazyContextMatchesEager() {
+        String json = """
+            {
+                "region": "NORTH_AMERICA",
+                "customer": {"tier": "GOLD", "address": {"country": "US"}},
+                "a.b": "dotted",
+                "tags": ["x", "y"],
+                "missing": null
+            }
+            """;
+
+        TaskContext eager = TaskContextFactory.create(json, Map.of("clientId", "test"));
+        TaskContext lazy = TaskContextFactory.createLazy(json, Map.of("clientId", "test"));
+
+        for (String name : List.of("region", "customer.tier", "customer.address.country",
+                "a.b", "tags", "missing", "customer", "customer.nope", "nope")) {
+            assertEquals(eager.getRequestVariable(name), lazy.getRequestVariable(name), name);
+        }
+        assertEquals(eager.getRequestVariables(), lazy.getRequestVariables());
+        assertEquals(eager.getContextVariables(), lazy.getContextVariables());
+    }
+
+    @Test
+    @DisplayName("Lazy context converts POJO and object values like fromObject")
+    void lazyContextFromObject() {
+        Order order = new Order("NORTH_AMERICA", 5000, new Customer(Tier.GOLD, true));
+        TaskContext lazy = TaskContextFactory.fromObjectLazy(order, null);
+
+        assertEquals("GOLD", lazy.getRequestVariable("customer.tier").orElse(null));
+        assertEquals(true, lazy.getRequestVariable("customer.verified").orElse(null));
+        assertEquals(TaskContextFactory.fromObject(order, null).getRequestVariables(),
+                lazy.getRequestVariables());
+
+        TaskContext fromMap = TaskContextFactory.fromObjectLazy(
+                Map.of("customer", new Customer(Tier.SILVER, false), "tier", Tier.GOLD), null);
+        assertEquals("SILVER", fromMap.getRequestVariable("customer.tier").orElse(null));
+        assertEquals("GOLD", fromMap.getRequestVariable("tier").orElse(null));
+    }
+
+    @Test
+    @DisplayName("Lazy context exposes system variables")
+    void lazyContextSystemVariables() {
+        TaskContext ctx = TaskContextFactory.createLazy("task-1", null, null);
+
+        assertEquals("task-1", ctx.getTaskId());
+        assertEquals("task-1", ctx.getSystemVariable("taskId").orElse(null));
+        assertEquals(ctx.getSubmittedAt(), ctx.getSystemVariable("submittedAt").orElse(null));
+        assertTrue(ctx.getSystemVariable("time.now").isPresent());
+        assertEquals(ctx.getSubmittedAt(), ctx.getSystemVariables().get("submittedAt"));
+        assertTrue(ctx.getRequestVariables().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Pre-parsed variable references resolve like reference strings")
+    void variableReferenceResolvesLikeString() {
+        TaskContext ctx = TaskContextFactory.create("task-1",
+                "{\"customer\": {\"tier\": \"GOLD\"}}", Map.of("clientId", "test"));
+        DefaultVariableResolver resolver = new DefaultVariableResolver();
+
+        for (String ref : List.of("$req.customer.tier", "$ctx.clientId", "$sys.taskId", "$req.nope")) {
+            VariableReference parsed = VariableReference.of(ref);
+            assertEquals(ref, parsed.toString());
+            assertEquals(resolver.resolve(ref, ctx), resolver.resolve(parsed, ctx), ref);
+        }
+        assertEquals(VariableSource.CONTEXT, VariableReference.of("$ctx.clientId").getSource());
+        assertEquals("customer.tier", VariableReference.of("$req.customer.tier").getName());
+        assertThrows(IllegalArgumentException.class, () -> VariableReference.of("$request.x"));
+    }
+
+    enum Tier { GOLD, SILVER }
+    record Customer(Tier tier, boolean verified) {}
+    record Order(String region, int transactionAmount, Customer customer) {}
+
     @Test
     @DisplayName("TaskContext has system variables")
     void taskContextHasSystemVariables() {
@@ -258,4 +258,53 @@ class ExecutorHierarchyTest {
         assertEquals(0, hierarchy.getTps("main"));
         assertEquals(400, hierarchy.getTps("vip"));
     }
+
+    @Test
+    @DisplayName("Should reject adaptive concurrency without max-concurrency or with a bad min-limit")
+    void shouldRejectInvalidAdaptiveConcurrency() {
+        ExecutorSpec root = ExecutorSpec.root("main", 1000, 5000);
+        root.setAdaptiveConcurrency(new ExecutorSpec.AdaptiveConcurrencyConfig());
+        assertThrows(ConfigurationException.class, () -> new ExecutorHierarchy(List.of(root)));
+
+        root.setMaxConcurrency(10);
+        root.getAdaptiveConcurrency().setMinLimit(20);
+        assertThrows(ConfigurationException.class, () -> new ExecutorHierarchy(List.of(root)));
+
+        root.getAdaptiveConcurrency().setMinLimit(2);
+        assertTrue(new ExecutorHierarchy(List.of(root)).getExecutor("main").hasConcurrencyLimit());
+    }
+
+    @Test
+    @DisplayName("Should reject min-tps on a root or above the parent's TPS")
+    void shouldRejectInvalidMinTps() {
+        ExecutorSpec root = ExecutorSpec.root("main", 100, 5000);
+        root.setMinTps(10);
+        assertThrows(ConfigurationException.class, () -> new ExecutorHierarchy(List.of(root)));
+
+        ExecutorSpec vip = ExecutorSpec.child("vip", "main", 80);
+        vip.setMinTps(60);
+        ExecutorSpec bulk = ExecutorSpec.child("bulk", "main", 80);
+        bulk.setMinTps(50);
+        assertThrows(ConfigurationException.class, () -> new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 100, 5000), vip, bulk)));
+
+        bulk.setMinTps(40);
+        bulk.setWeight(3);
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(ExecutorSpec.root("main", 100, 5000), vip, bulk));
+        assertEquals(40, hierarchy.getMinTps("bulk"));
+        assertEquals(3, hierarchy.getWeight("bulk"));
+        assertEquals(1, hierarchy.getWeight("vip"));
+        assertTrue(hierarchy.isWeighted("main"));
+    }
+
+    @Test
+    @DisplayName("Should reject a burst above the executor's TPS")
+    void shouldRejectBurstAboveTps() {
+        ExecutorSpec root = ExecutorSpec.root("main", 100, 5000);
+        root.setBurst(101);
+        assertThrows(ConfigurationException.class, () -> new ExecutorHierarchy(List.of(root)));
+
+        root.setBurst(0);
+        assertEquals(100, root.effectiveBurst());
+    }
 }
@@ -0,0 +1,134 @@
+package com.pool.adapter.executor.tps;
+
+import com.pool.config.ExecutorHierarchy;
+import com.pool.config.ExecutorSpec;
+import com.pool.core.GcraTpsCounter;
+import com.pool.core.TpsCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the GCRA pacing counter.
+ */
+class GcraTpsCounterTest {
+
+    @Test
+    @DisplayName("Admits up to the burst back to back, then one per emission interval")
+    void shouldPaceAfterBurst() throws InterruptedException {
+        GcraTpsCounter counter = new GcraTpsCounter(1000, 10, 2);
+        assertEquals(2, counter.getAvailable(10));
+
+        counter.increment();
+        counter.increment();
+        assertFalse(counter.hasCapacity(10));
+        assertEquals(2, counter.getCount());
+        long wait = counter.millisUntilCapacity(10);
+        assertTrue(wait > 50 && wait <= 100, "wait " + wait);
+
+        Thread.sleep(wait + 10);
+        assertEquals(1, counter.getAvailable(10));
+    }
+
+    @Test
+    @DisplayName("A window's worth of admissions is spread over the window")
+    void shouldSpreadAdmissions() throws InterruptedException {
+        GcraTpsCounter counter = new GcraTpsCounter(1000, 20, 1);
+        int admitted = 0;
+        long deadline = System.currentTimeMillis() + 500;
+        while (System.currentTimeMillis() < deadline) {
+            if (counter.hasCapacity(20)) {
+                counter.increment();
+                admitted++;
+            }
+            Thread.sleep(1);
+        }
+        // One per 50ms, where the sliding log would have admitted all 20 at once
+        assertTrue(admitted >= 9 && admitted <= 12, "admitted " + admitted);
+    }
+
+    @Test
+    @DisplayName("A limit below the configured TPS keeps the difference in the bucket")
+    void shouldKeepTokensForLowerLimit() {
+        GcraTpsCounter counter = new GcraTpsCounter(1000, 10, 10);
+        assertEquals(6, counter.getAvailable(6));
+
+        counter.increment(6);
+        assertFalse(counter.hasCapacity(6));
+        assertEquals(4, counter.getAvailable(10));
+        assertTrue(counter.millisUntilCapacity(6) > 0);
+        assertEquals(0, counter.millisUntilCapacity(10));
+        assertEquals(Integer.MAX_VALUE, counter.getAvailable(0));
+    }
+
+    @Test
+    @DisplayName("A lowered limit keeps its share of the rate scaled to the burst")
+    void shouldScaleKeptTokensToBurst() {
+        GcraTpsCounter counter = new GcraTpsCounter(1000, 100, 10);
+
+        // Holding back half the rate keeps half the burst
+        assertEquals(5, counter.getAvailable(50));
+        // Rounded down: a share below one token keeps nothing, and only the whole rate keeps the whole burst
+        assertEquals(10, counter.getAvailable(99));
+        assertEquals(1, counter.getAvailable(1));
+    }
+
+    @Test
+    @DisplayName("Count is the admissions in the window, not the pacing backlog")
+    void shouldCountAdmissionsInWindow() throws InterruptedException {
+        GcraTpsCounter counter = new GcraTpsCounter(1000, 100, 10);
+        counter.increment(5);
+
+        // Paced out after 50ms, still in the window
+        Thread.sleep(100);
+        assertEquals(10, counter.getAvailable(100));
+        assertEquals(5, counter.getCount());
+    }
+
+    @Test
+    @DisplayName("Burst must be between 1 and the TPS")
+    void shouldRejectInvalidBurst() {
+        assertThrows(IllegalArgumentException.class, () -> new GcraTpsCounter(1000, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GcraTpsCounter(1000, 10, 11));
+    }
+
+    @Test
+    @DisplayName("Sliding-window gate paces an executor configured with a GCRA counter")
+    void gateShouldPaceGcraExecutor() {
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 100, 100),
+                ExecutorSpec.child("fragile", "main", 10)));
+        ConcurrentHashMap<String, TpsCounter> counters = new ConcurrentHashMap<>();
+        counters.put("main", new TpsCounter(1000));
+        counters.put("fragile", new GcraTpsCounter(1000, 10, 3));
+        TpsGate gate = new TpsGate(hierarchy, counters, 1000);
+
+        assertEquals(3, gate.tryAcquire("fragile", 10));
+        assertFalse(gate.tryAcquire("fragile"));
+        assertEquals(3, gate.getCurrentTps("main"));
+        assertTrue(gate.millisUntilCapacity("fragile") <= 100);
+    }
+
+    @Test
+    @DisplayName("A GCRA parent with a small burst lends siblings the part of it a reservation does not keep")
+    void gateShouldScaleReservationOnGcraParent() {
+        ExecutorSpec vip = ExecutorSpec.child("vip", "main", 100);
+        vip.setMinTps(50);
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 100, 100), vip, ExecutorSpec.child("bulk", "main", 100)));
+        ConcurrentHashMap<String, TpsCounter> counters = new ConcurrentHashMap<>();
+        counters.put("main", new GcraTpsCounter(1000, 100, 10));
+        counters.put("vip", new TpsCounter(1000));
+        counters.put("bulk", new TpsCounter(1000));
+        TpsGate gate = new TpsGate(hierarchy, counters, 1000);
+
+        assertEquals(5, gate.tryAcquire("bulk", 10));
+        assertTrue(gate.millisUntilCapacity("bulk") <= 100);
+        assertEquals(5, gate.tryAcquire("vip", 10));
+        assertEquals(10, gate.getCurrentTps("main"));
+    }
+}
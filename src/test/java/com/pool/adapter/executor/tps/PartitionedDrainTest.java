@@ -0,0 +1,104 @@
+package com.pool.adapter.executor.tps;
+
+import com.pool.config.ExecutorHierarchy;
+import com.pool.config.ExecutorSpec;
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import com.pool.strategy.FIFOStrategy;
+import com.pool.strategy.PartitionedStrategy;
+import com.pool.strategy.PriorityStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drainer behavior with per-executor sub-queues: a throttled child must not
+ * block queued work for a sibling that has TPS to spare.
+ */
+class PartitionedDrainTest {
+
+    private TaskQueueManager queueManager;
+
+    @AfterEach
+    void tearDown() {
+        if (queueManager != null) {
+            queueManager.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Sibling with capacity is drained while head-of-queue child is throttled")
+    void shouldNotBlockSiblingBehindThrottledChild() throws Exception {
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 100, 100),
+                ExecutorSpec.child("vip", "main", 50),
+                ExecutorSpec.child("bulk", "main", 1)));
+        // Long window: bulk stays saturated for the whole test
+        TpsGate gate = new TpsGate(hierarchy, 60_000);
+        queueManager = build(hierarchy, gate);
+
+        assertTrue(gate.tryAcquire("bulk"));
+
+        CountDownLatch bulkRan = new CountDownLatch(1);
+        CountDownLatch vipRan = new CountDownLatch(2);
+        // bulk task has the highest priority, so it is the head of the root queue
+        queueManager.queueTask(bulkRan::countDown, "bulk-1", "bulk", key(0, 0), context());
+        queueManager.queueTask(vipRan::countDown, "vip-1", "vip", key(1, 1), context());
+        queueManager.queueTask(vipRan::countDown, "vip-2", "vip", key(1, 2), context());
+
+        assertTrue(vipRan.await(2, TimeUnit.SECONDS), "vip tasks should drain past throttled bulk");
+        assertFalse(bulkRan.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, queueManager.getQueueSize("bulk"));
+    }
+
+    @Test
+    @DisplayName("Partitioned drainer wakes on enqueue")
+    void shouldWakeOnEnqueue() throws Exception {
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 100, 100),
+                ExecutorSpec.child("vip", "main", 50)));
+        queueManager = build(hierarchy, new TpsGate(hierarchy));
+
+        Thread.sleep(50); // let the drainer go idle
+        CountDownLatch ran = new CountDownLatch(1);
+        long start = System.nanoTime();
+        queueManager.queueTask(ran::countDown, "vip-1", "vip", key(0, 0), context());
+
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+    }
+
+    private static TaskQueueManager build(ExecutorHierarchy hierarchy, TpsGate gate) {
+        Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+        Map<String, Condition> conditions = new ConcurrentHashMap<>();
+        Map<String, PriorityStrategy<TaskQueueManager.QueuedTask>> strategies = new ConcurrentHashMap<>();
+        for (String rootId : hierarchy.getRootIds()) {
+            ReentrantLock lock = new ReentrantLock();
+            locks.put(rootId, lock);
+            conditions.put(rootId, lock.newCondition());
+            int cap = hierarchy.getQueueCapacity(rootId);
+            strategies.put(rootId, new PartitionedStrategy<>(cap,
+                    TaskQueueManager.QueuedTask::executorId, () -> new FIFOStrategy<>(cap)));
+        }
+        return new TaskQueueManager(hierarchy, gate, strategies, locks, conditions,
+                Executors.newCachedThreadPool());
+    }
+
+    private static PriorityKey key(int branch, long submittedAt) {
+        return new PriorityKey(PathVector.of(branch), 0, submittedAt);
+    }
+
+    private static TaskContext context() {
+        return TaskContextFactory.create("{}", Map.of());
+    }
+}
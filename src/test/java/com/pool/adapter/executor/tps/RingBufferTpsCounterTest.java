@@ -0,0 +1,57 @@
+package com.pool.adapter.executor.tps;
+
+import com.pool.core.RingBufferTpsCounter;
+import com.pool.core.TpsCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the TpsCounter contract against the ring-buffer counter.
+ * The buffer starts small so the shared tests also exercise growth.
+ */
+class RingBufferTpsCounterTest extends TpsCounterTest {
+
+    @Override
+    protected TpsCounter createCounter(long windowSizeMs) {
+        return new RingBufferTpsCounter(windowSizeMs, 4);
+    }
+
+    @Test
+    @DisplayName("Ring buffer: entries wrap around after head eviction")
+    void shouldWrapAround() throws InterruptedException {
+        RingBufferTpsCounter c = new RingBufferTpsCounter(150, 3);
+
+        c.increment();
+        c.increment();
+        Thread.sleep(100);
+        c.increment();
+        Thread.sleep(80); // first two expired, third still live
+
+        assertEquals(1, c.getCount());
+        assertTrue(c.hasCapacity(3));
+
+        c.increment(); // written at index 0, behind the live entry at index 2
+        c.increment();
+        assertEquals(3, c.getCount());
+        assertFalse(c.hasCapacity(3));
+
+        Thread.sleep(200);
+        assertEquals(0, c.getCount());
+    }
+
+    @Test
+    @DisplayName("Ring buffer: unbounded use reclaims expired slots instead of growing")
+    void shouldReuseExpiredSlots() throws InterruptedException {
+        RingBufferTpsCounter c = new RingBufferTpsCounter(50, 2);
+
+        for (int round = 0; round < 5; round++) {
+            c.increment();
+            c.increment();
+            assertEquals(2, c.getCount());
+            Thread.sleep(70);
+        }
+        assertEquals(0, c.getCount());
+    }
+}
@@ -0,0 +1,159 @@
+package com.pool.adapter.executor.tps;
+
+import com.pool.config.ExecutorHierarchy;
+import com.pool.config.ExecutorSpec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the TpsGate contract against the lock-free token-bucket gate,
+ * plus concurrency checks that the chain is never over-admitted.
+ */
+class TokenBucketTpsGateTest extends TpsGateTest {
+
+    // Long window so refill is negligible while a test runs
+    private static final long WINDOW_MS = 3_600_000;
+
+    @Override
+    protected TpsGate createGate(ExecutorHierarchy hierarchy, long windowSizeMs) {
+        return new TokenBucketTpsGate(hierarchy, windowSizeMs);
+    }
+
+    @Override
+    protected long windowSizeMs() {
+        return WINDOW_MS;
+    }
+
+    @Test
+    @DisplayName("Executor burst limits back-to-back admissions below its TPS")
+    void shouldHonourExecutorBurst() {
+        ExecutorSpec fragile = ExecutorSpec.child("fragile", "main", 10);
+        fragile.setBurst(2);
+        TpsGate gate = createGate(new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 100, 100), fragile)), WINDOW_MS);
+
+        assertEquals(2, gate.tryAcquire("fragile", 10));
+        assertFalse(gate.tryAcquire("fragile"));
+        assertTrue(gate.tryAcquire("main"));
+    }
+
+    @Test
+    @DisplayName("Rejected admission rolls back tokens taken lower in the chain")
+    void shouldRollBackPartialReservation() {
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 4, 100),
+                ExecutorSpec.child("vip", "main", 3),
+                ExecutorSpec.child("bulk", "main", 3)));
+        TpsGate gate = createGate(hierarchy, WINDOW_MS);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(gate.tryAcquire("bulk"));
+        }
+        assertTrue(gate.tryAcquire("main"));
+
+        // vip has tokens but main does not: vip's token must be returned
+        for (int i = 0; i < 10; i++) {
+            assertFalse(gate.tryAcquire("vip"));
+        }
+        assertEquals(0, gate.getCurrentTps("vip"));
+        assertEquals(3, gate.getAvailableCapacity("vip"));
+    }
+
+    @Test
+    @DisplayName("Should report time until capacity for exhausted chain")
+    void shouldReportMillisUntilCapacity() {
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 10, 100),
+                ExecutorSpec.child("vip", "main", 2)));
+        TpsGate gate = createGate(hierarchy, 1000);
+
+        assertEquals(0, gate.millisUntilCapacity("vip"));
+
+        assertTrue(gate.tryAcquire("vip"));
+        assertTrue(gate.tryAcquire("vip"));
+
+        long wait = gate.millisUntilCapacity("vip");
+        assertTrue(wait > 0 && wait <= 500, "wait was " + wait);
+    }
+
+    @Test
+    @DisplayName("Concurrent admissions never exceed any level of the chain")
+    void shouldNotOverAdmitUnderContention() throws Exception {
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 100, 100),
+                ExecutorSpec.child("vip", "main", 80),
+                ExecutorSpec.child("bulk", "main", 80)));
+        TpsGate gate = createGate(hierarchy, WINDOW_MS);
+
+        int threads = 64;
+        int attemptsPerThread = 50;
+        AtomicInteger vip = new AtomicInteger();
+        AtomicInteger bulk = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                String executorId = t % 2 == 0 ? "vip" : "bulk";
+                AtomicInteger admitted = t % 2 == 0 ? vip : bulk;
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (gate.tryAcquire(executorId)) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(100, vip.get() + bulk.get());
+        assertTrue(vip.get() <= 80, "vip admitted " + vip.get());
+        assertTrue(bulk.get() <= 80, "bulk admitted " + bulk.get());
+        assertEquals(100, gate.getCurrentTps("main"));
+        assertFalse(gate.hasCapacityWithAncestors("vip"));
+    }
+
+    @Test
+    @DisplayName("A reservation larger than the parent's burst keeps only its share of the burst")
+    void shouldScaleReservationToBurst() {
+        ExecutorSpec main = ExecutorSpec.root("main", 100, 100);
+        main.setBurst(10);
+        ExecutorSpec vip = ExecutorSpec.child("vip", "main", 100);
+        vip.setMinTps(50);
+        TpsGate gate = createGate(new ExecutorHierarchy(List.of(
+                main, vip, ExecutorSpec.child("bulk", "main", 100))), WINDOW_MS);
+
+        // vip's 50 of main's 100 TPS keeps half of main's burst of 10
+        assertEquals(5, gate.tryAcquire("bulk", 10));
+        assertEquals(5, gate.tryAcquire("vip", 10));
+    }
+
+    @Test
+    @DisplayName("A reserved sibling's admissions count for the whole window, not just its bucket's backlog")
+    void shouldCountReservedAdmissionsPerWindow() throws InterruptedException {
+        ExecutorSpec vip = ExecutorSpec.child("vip", "main", 100);
+        vip.setMinTps(50);
+        TpsGate gate = createGate(new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 100, 100), vip, ExecutorSpec.child("bulk", "main", 100))), 1000);
+
+        assertEquals(50, gate.tryAcquire("vip", 50));
+        // Both buckets have refilled, but vip's 50 admissions are still in the window
+        Thread.sleep(600);
+        assertEquals(0, gate.getCurrentTps("vip"));
+        assertEquals(100, gate.tryAcquire("bulk", 100));
+    }
+}
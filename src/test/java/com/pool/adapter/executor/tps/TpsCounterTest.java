@@ -16,9 +16,16 @@ class TpsCounterTest {
 
     private TpsCounter counter;
 
+    /**
+     * Counter under test; overridden to run the same contract against other implementations.
+     */
+    protected TpsCounter createCounter(long windowSizeMs) {
+        return new TpsCounter(windowSizeMs);
+    }
+
     @BeforeEach
     void setUp() {
-        counter = new TpsCounter(1000);
+        counter = createCounter(1000);
     }
 
     @Test
@@ -46,6 +53,30 @@ class TpsCounterTest {
         assertTrue(counter.hasCapacity(6));
     }
 
+    @Test
+    @DisplayName("Wait for capacity is until the binding admission leaves the window")
+    void shouldReportTimeUntilCapacity() throws InterruptedException {
+        TpsCounter shortWindow = createCounter(300);
+        assertEquals(0, shortWindow.millisUntilCapacity(2));
+
+        shortWindow.increment();
+        Thread.sleep(100);
+        shortWindow.increment();
+        shortWindow.increment();
+        assertEquals(0, shortWindow.millisUntilCapacity(4));
+        assertEquals(0, shortWindow.millisUntilCapacity(0));
+
+        // At 3/2 the second admission (100ms younger than the first) must expire
+        long wait = shortWindow.millisUntilCapacity(2);
+        assertTrue(wait > 250 && wait <= 300, "wait=" + wait);
+        // At 3/3 only the first must expire
+        long firstWait = shortWindow.millisUntilCapacity(3);
+        assertTrue(firstWait > 100 && firstWait <= 200, "wait=" + firstWait);
+
+        Thread.sleep(firstWait + 5);
+        assertTrue(shortWindow.hasCapacity(3));
+    }
+
     @Test
     @DisplayName("Unbounded counter always has capacity")
     void unboundedAlwaysHasCapacity() {
@@ -59,7 +90,7 @@ class TpsCounterTest {
     @Test
     @DisplayName("Should reset after window expires")
     void shouldResetAfterWindow() throws InterruptedException {
-        TpsCounter shortWindow = new TpsCounter(100);
+        TpsCounter shortWindow = createCounter(100);
 
         shortWindow.increment();
         shortWindow.increment();
@@ -73,7 +104,7 @@ class TpsCounterTest {
     @Test
     @DisplayName("Should call onReset when window resets with non-zero count")
     void shouldCallOnResetCallback() throws InterruptedException {
-        TpsCounter shortWindow = new TpsCounter(100);
+        TpsCounter shortWindow = createCounter(100);
         AtomicInteger resetCount = new AtomicInteger(0);
         shortWindow.setOnReset(resetCount::incrementAndGet);
 
@@ -87,7 +118,7 @@ class TpsCounterTest {
     @Test
     @DisplayName("Should not call onReset when window resets with zero count")
     void shouldNotCallOnResetIfEmpty() throws InterruptedException {
-        TpsCounter shortWindow = new TpsCounter(100);
+        TpsCounter shortWindow = createCounter(100);
         AtomicInteger resetCount = new AtomicInteger(0);
         shortWindow.setOnReset(resetCount::incrementAndGet);
 
@@ -98,6 +129,18 @@ class TpsCounterTest {
         assertEquals(0, resetCount.get());
     }
 
+    @Test
+    @DisplayName("Batch increment records every admission and reduces availability")
+    void shouldIncrementInBatch() {
+        counter.increment(4);
+        counter.increment();
+
+        assertEquals(5, counter.getCount());
+        assertEquals(3, counter.getAvailable(8));
+        assertEquals(0, counter.getAvailable(5));
+        assertEquals(Integer.MAX_VALUE, counter.getAvailable(0));
+    }
+
     @Test
     @DisplayName("Should clear counter")
     void shouldClear() {
@@ -112,8 +155,8 @@ class TpsCounterTest {
     @Test
     @DisplayName("Should throw on invalid window size")
     void shouldThrowOnInvalidWindowSize() {
-        assertThrows(IllegalArgumentException.class, () -> new TpsCounter(0));
-        assertThrows(IllegalArgumentException.class, () -> new TpsCounter(-100));
+        assertThrows(IllegalArgumentException.class, () -> createCounter(0));
+        assertThrows(IllegalArgumentException.class, () -> createCounter(-100));
     }
 
     @Test
@@ -146,7 +189,7 @@ class TpsCounterTest {
     @Test
     @DisplayName("Sliding window: request admitted after earlier one expires")
     void slidingWindowAllowsAfterExpiry() throws InterruptedException {
-        TpsCounter c = new TpsCounter(200); // 200ms window
+        TpsCounter c = createCounter(200); // 200ms window
 
         c.increment(); // admitted at ~t=0
         assertFalse(c.hasCapacity(1)); // full (1/1)
@@ -164,7 +207,7 @@ class TpsCounterTest {
         // With a fixed window this would fail: both increments land in
         // the same window even though they are < windowSize apart and
         // looking back windowSize from the second there is only 1 entry.
-        TpsCounter c = new TpsCounter(300); // 300ms window, TPS=2
+        TpsCounter c = createCounter(300); // 300ms window, TPS=2
 
         c.increment(); // t ≈ 0
         c.increment(); // t ≈ 0
@@ -182,7 +225,7 @@ class TpsCounterTest {
     @Test
     @DisplayName("Sliding window: partial expiry frees only old entries")
     void slidingWindowPartialExpiry() throws InterruptedException {
-        TpsCounter c = new TpsCounter(200); // 200ms window
+        TpsCounter c = createCounter(200); // 200ms window
 
         c.increment(); // t ≈ 0
         Thread.sleep(120);
@@ -199,7 +242,7 @@ class TpsCounterTest {
     @Test
     @DisplayName("Sliding window: rapid burst then gradual recovery")
     void slidingWindowBurstAndRecovery() throws InterruptedException {
-        TpsCounter c = new TpsCounter(200); // 200ms window, TPS=3
+        TpsCounter c = createCounter(200); // 200ms window, TPS=3
 
         c.increment();
         c.increment();
@@ -18,6 +18,20 @@ class TpsGateTest {
     private ExecutorHierarchy hierarchy;
     private TpsGate gate;
 
+    /**
+     * Gate under test; overridden to run the same contract against other implementations.
+     */
+    protected TpsGate createGate(ExecutorHierarchy hierarchy, long windowSizeMs) {
+        return new TpsGate(hierarchy, windowSizeMs);
+    }
+
+    /**
+     * Window used by the shared tests.
+     */
+    protected long windowSizeMs() {
+        return 1000;
+    }
+
     @BeforeEach
     void setUp() {
         List<ExecutorSpec> specs = List.of(
@@ -26,7 +40,7 @@ class TpsGateTest {
                 ExecutorSpec.child("bulk", "main", 3)
         );
         hierarchy = new ExecutorHierarchy(specs);
-        gate = new TpsGate(hierarchy, 1000);
+        gate = createGate(hierarchy, windowSizeMs());
     }
 
     @Test
@@ -70,6 +84,49 @@ class TpsGateTest {
         assertFalse(gate.tryAcquire("bulk"));
     }
 
+    @Test
+    @DisplayName("Batch acquire grants what the tightest level allows and charges every level")
+    void shouldAcquireBatchUpToChainLimit() {
+        assertEquals(3, gate.tryAcquire("bulk", 10));
+        assertEquals(3, gate.getCurrentTps("bulk"));
+        assertEquals(3, gate.getCurrentTps("main"));
+
+        // main has 7 left, vip only 5
+        assertEquals(5, gate.tryAcquire("vip", 6));
+        assertEquals(2, gate.tryAcquire("main", 4));
+        assertEquals(10, gate.getCurrentTps("main"));
+
+        assertEquals(0, gate.tryAcquire("vip", 1));
+        assertEquals(0, gate.tryAcquire("main", 0));
+    }
+
+    @Test
+    @DisplayName("Released admissions are given back at every level")
+    void shouldReleaseUnusedAdmissions() {
+        assertEquals(3, gate.tryAcquire("bulk", 3));
+        assertFalse(gate.tryAcquire("bulk"));
+
+        gate.release("bulk", 2);
+
+        assertEquals(1, gate.getCurrentTps("bulk"));
+        assertEquals(1, gate.getCurrentTps("main"));
+        assertEquals(2, gate.tryAcquire("bulk", 5));
+    }
+
+    @Test
+    @DisplayName("Wait for capacity is zero when free and at most one window when exhausted")
+    void shouldReportTimeUntilCapacity() {
+        assertEquals(0, gate.millisUntilCapacity("vip"));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(gate.tryAcquire("vip"));
+        }
+        long wait = gate.millisUntilCapacity("vip");
+        assertTrue(wait > 0 && wait <= windowSizeMs(), "wait=" + wait);
+        // bulk shares only the root, which still has room
+        assertEquals(0, gate.millisUntilCapacity("bulk"));
+    }
+
     @Test
     @DisplayName("Should check capacity for executor and ancestors")
     void shouldCheckCapacityWithAncestors() {
@@ -137,7 +194,7 @@ class TpsGateTest {
                 ExecutorSpec.unboundedRoot("main", 100)
         );
         ExecutorHierarchy unboundedHierarchy = new ExecutorHierarchy(specs);
-        TpsGate unboundedGate = new TpsGate(unboundedHierarchy);
+        TpsGate unboundedGate = createGate(unboundedHierarchy, windowSizeMs());
 
         for (int i = 0; i < 1000; i++) {
             assertTrue(unboundedGate.tryAcquire("main"));
@@ -150,7 +207,7 @@ class TpsGateTest {
     @DisplayName("Should return hierarchy and window size")
     void shouldReturnMetadata() {
         assertSame(hierarchy, gate.getHierarchy());
-        assertEquals(1000, gate.getWindowSizeMs());
+        assertEquals(windowSizeMs(), gate.getWindowSizeMs());
     }
 
     @Test
@@ -185,4 +242,110 @@ class TpsGateTest {
         assertEquals(8, gate.getCurrentTps("main"));
         assertEquals(2, gate.getAvailableCapacity("main"));
     }
+
+    @Test
+    @DisplayName("Concurrency limit rejects without spending TPS until a task completes")
+    void shouldEnforceConcurrencyLimit() {
+        TpsGate limited = createGate(concurrencyHierarchy(), windowSizeMs());
+
+        assertTrue(limited.tryAcquire("vip"));
+        assertTrue(limited.tryAcquire("vip"));
+        assertFalse(limited.tryAcquire("vip"));
+        assertEquals(2, limited.getCurrentTps("vip"));
+        assertEquals(2, limited.getInFlight("vip"));
+
+        // Root cap of 3 binds the unlimited child too
+        assertTrue(limited.tryAcquire("bulk"));
+        assertFalse(limited.tryAcquire("bulk"));
+        assertEquals(3, limited.getInFlight("main"));
+
+        limited.onComplete("vip", 1_000_000, true);
+        assertEquals(1, limited.getInFlight("vip"));
+        assertTrue(limited.tryAcquire("vip"));
+    }
+
+    @Test
+    @DisplayName("Batch acquisition is capped by free in-flight slots and spends TPS only for those")
+    void shouldCapBatchByConcurrency() {
+        TpsGate limited = createGate(concurrencyHierarchy(), windowSizeMs());
+
+        assertEquals(2, limited.tryAcquire("vip", 5));
+        assertEquals(2, limited.getCurrentTps("vip"));
+        assertEquals(2, limited.getCurrentTps("main"));
+
+        limited.releaseConcurrency("vip", 2);
+        assertEquals(0, limited.getInFlight("main"));
+        assertTrue(limited.hasConcurrencyLimit("bulk"));
+    }
+
+    @Test
+    @DisplayName("A chain at its concurrency limit waits for a completion, not for the window")
+    void shouldReportWaitWhenConcurrencyBlocked() {
+        TpsGate limited = createGate(concurrencyHierarchy(), windowSizeMs());
+        assertEquals(0, limited.millisUntilCapacity("vip"));
+
+        limited.tryAcquire("vip", 2);
+        assertTrue(limited.millisUntilCapacity("vip") > 0);
+
+        limited.onComplete("vip", 1_000_000, true);
+        assertEquals(0, limited.millisUntilCapacity("vip"));
+    }
+
+    @Test
+    @DisplayName("A sibling cannot take another child's unused min-tps reservation")
+    void shouldHoldBackSiblingReservation() {
+        TpsGate shared = createGate(reservationHierarchy(), windowSizeMs());
+
+        int bulk = 0;
+        while (shared.tryAcquire("bulk")) {
+            bulk++;
+        }
+        // main 10 minus vip's reserved 4
+        assertEquals(6, bulk);
+        assertTrue(shared.millisUntilCapacity("bulk") > 0);
+        assertEquals(0, shared.millisUntilCapacity("vip"));
+
+        assertEquals(4, shared.tryAcquire("vip", 10));
+        assertEquals(10, shared.getCurrentTps("main"));
+    }
+
+    @Test
+    @DisplayName("Unused share beyond a child's minimum is borrowable by its siblings")
+    void shouldLendUnusedShare() {
+        TpsGate shared = createGate(reservationHierarchy(), windowSizeMs());
+
+        // vip borrows all but bulk's reserved 2
+        assertEquals(8, shared.tryAcquire("vip", 10));
+        // vip is past its own minimum, so nothing is held back for it
+        assertEquals(2, shared.tryAcquire("bulk", 5));
+        assertFalse(shared.tryAcquire("vip"));
+    }
+
+    @Test
+    @DisplayName("A reserved child without a TPS limit of its own still uses up its minimum")
+    void shouldCountUnlimitedReservedChild() {
+        ExecutorSpec vip = ExecutorSpec.child("vip", "main", 0);
+        vip.setMinTps(4);
+        TpsGate shared = createGate(new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 10, 100), vip, ExecutorSpec.child("bulk", "main", 10))), windowSizeMs());
+
+        assertEquals(4, shared.tryAcquire("vip", 4));
+        assertEquals(6, shared.tryAcquire("bulk", 10));
+    }
+
+    private static ExecutorHierarchy reservationHierarchy() {
+        ExecutorSpec vip = ExecutorSpec.child("vip", "main", 10);
+        vip.setMinTps(4);
+        ExecutorSpec bulk = ExecutorSpec.child("bulk", "main", 10);
+        bulk.setMinTps(2);
+        return new ExecutorHierarchy(List.of(ExecutorSpec.root("main", 10, 100), vip, bulk));
+    }
+
+    private static ExecutorHierarchy concurrencyHierarchy() {
+        ExecutorSpec main = ExecutorSpec.root("main", 100, 100);
+        main.setMaxConcurrency(3);
+        ExecutorSpec vip = ExecutorSpec.child("vip", "main", 50);
+        vip.setMaxConcurrency(2);
+        return new ExecutorHierarchy(List.of(main, vip, ExecutorSpec.child("bulk", "main", 50)));
+    }
 }
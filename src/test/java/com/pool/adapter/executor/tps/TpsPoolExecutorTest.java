@@ -1,10 +1,13 @@
 package com.pool.adapter.executor.tps;
 
+import com.pool.adapter.executor.Admission;
 import com.pool.config.*;
 import com.pool.core.TpsCounter;
 import com.pool.core.TaskContext;
 import com.pool.core.TaskContextFactory;
 import com.pool.exception.TaskRejectedException;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -28,6 +32,10 @@ class TpsPoolExecutorTest {
     @BeforeEach
     void setUp() {
         config = createTestConfig();
+        executor = createExecutor(config);
+    }
+
+    private static TpsPoolExecutor createExecutor(PoolConfig config) {
         ExecutorHierarchy hierarchy = new ExecutorHierarchy(config.getExecutors());
         TpsGate tpsGate = new TpsGate(hierarchy);
         ExecutorService threadPool = Executors.newCachedThreadPool(r -> {
@@ -38,7 +46,7 @@ class TpsPoolExecutorTest {
         });
         TaskQueueManager queueManager = buildQueueManager(hierarchy, tpsGate, threadPool);
         com.pool.policy.PolicyEngine policyEngine = com.pool.policy.PolicyEngineFactory.create(config);
-        executor = new TpsPoolExecutor(config, policyEngine, hierarchy, tpsGate, queueManager);
+        return new TpsPoolExecutor(config, policyEngine, hierarchy, tpsGate, queueManager);
     }
 
     @AfterEach
@@ -219,6 +227,338 @@ class TpsPoolExecutorTest {
         assertTrue(executor.isShutdown());
     }
 
+    @Test
+    @DisplayName("Cancelled queued task is removed and never consumes TPS")
+    void cancelledQueuedTaskIsRemoved() throws Exception {
+        TpsGate gate = executor.getTpsGate();
+        while (gate.tryAcquire("main")) {
+            // exhaust root TPS so the next submission is queued
+        }
+
+        AtomicInteger ran = new AtomicInteger(0);
+        // The drainer takes the head and waits on it; the second stays queued
+        Future<Integer> head = executor.submit(createTaskContext("main"), ran::incrementAndGet);
+        Future<Integer> queued = executor.submit(createTaskContext("main"), ran::incrementAndGet);
+        Thread.sleep(50);
+        assertEquals(1, executor.getQueueSize());
+
+        assertTrue(queued.cancel(true));
+        assertEquals(0, executor.getQueueSize());
+        assertTrue(head.cancel(true));
+
+        // Window rolls over: the cancelled task must not take the freed capacity
+        Thread.sleep(1200);
+        assertEquals(0, ran.get());
+        assertEquals(0, gate.getCurrentTps("main"));
+    }
+
+    @Test
+    @DisplayName("Queued burst is admitted in a batch after rollover, up to the child's limit")
+    void queuedBurstIsAdmittedInBatch() throws Exception {
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 100, 100),
+                ExecutorSpec.child("vip", "main", 10)));
+        TpsGate gate = new TpsGate(hierarchy);
+        ExecutorService threadPool = Executors.newCachedThreadPool();
+        TaskQueueManager queueManager = buildQueueManager(hierarchy, gate, threadPool);
+        try {
+            while (gate.tryAcquire("main")) {
+                // exhaust root TPS so every task is queued
+            }
+
+            AtomicInteger ran = new AtomicInteger(0);
+            for (int i = 0; i < 30; i++) {
+                queueManager.queueTask(ran::incrementAndGet, "t" + i, "vip",
+                        new PriorityKey(PathVector.of(1), 0, i), createTaskContext("vip"));
+            }
+            Thread.sleep(50);
+            assertEquals(0, ran.get());
+
+            // Window rolls over: vip admits its 10, the rest wait for vip's window
+            Thread.sleep(1300);
+            assertEquals(10, ran.get());
+            assertEquals(10, gate.getCurrentTps("vip"));
+            // One blocked head is held by the drainer, the rest are back in the queue
+            assertEquals(19, queueManager.getQueueSize("vip"));
+        } finally {
+            queueManager.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A task the drainer handed back to the queue can still be removed through its original handle")
+    void requeuedTaskCanBeRemoved() throws Exception {
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 100, 100),
+                ExecutorSpec.child("vip", "main", 10),
+                ExecutorSpec.child("bulk", "main", 10)));
+        TpsGate gate = new TpsGate(hierarchy);
+        ExecutorService threadPool = Executors.newCachedThreadPool();
+        TaskQueueManager queueManager = buildQueueManager(hierarchy, gate, threadPool);
+        try {
+            AtomicInteger ran = new AtomicInteger(0);
+            while (gate.tryAcquire("bulk")) {
+                // exhaust bulk: the drainer holds its task until bulk's window rolls over
+            }
+            queueManager.queueTask(ran::incrementAndGet, "bulk", "bulk",
+                    new PriorityKey(PathVector.of(1), 0, 0), createTaskContext("bulk"));
+            Thread.sleep(500);
+
+            while (gate.tryAcquire("vip")) {
+                // exhaust vip half a window later than bulk
+            }
+            List<com.pool.core.PrioritizedPayload<TaskQueueManager.QueuedTask>> handles = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                handles.add(queueManager.queueTask(ran::incrementAndGet, "v" + i, "vip",
+                        new PriorityKey(PathVector.of(1), 0, i + 1), createTaskContext("vip")));
+            }
+
+            // Bulk frees first; the drainer then drains the vip tasks, finds vip blocked
+            // and hands all but the head back to the queue
+            Thread.sleep(700);
+            assertEquals(1, ran.get());
+            assertEquals(3, queueManager.getQueueSize("vip"));
+
+            assertTrue(queueManager.remove(handles.get(2)));
+            assertEquals(2, queueManager.getQueueSize("vip"));
+
+            // Vip rolls over: the head and the two remaining tasks run, the removed one never does
+            Thread.sleep(800);
+            assertEquals(4, ran.get());
+            assertEquals(0, queueManager.getQueueSize("vip"));
+        } finally {
+            queueManager.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Queued task is admitted as soon as the window frees capacity, with no other traffic")
+    void queuedTaskIsAdmittedWhenCapacityFrees() throws Exception {
+        TpsGate gate = executor.getTpsGate();
+        long exhaustedAt = System.currentTimeMillis();
+        while (gate.tryAcquire("main")) {
+            // exhaust root TPS so the next submission is queued
+        }
+        Thread.sleep(400);
+
+        Future<Long> admitted = executor.submit(createTaskContext("main"), System::currentTimeMillis);
+
+        long latency = admitted.get(5, TimeUnit.SECONDS) - exhaustedAt;
+        // Capacity frees one window after exhaustion, not one window after the drainer blocked
+        assertTrue(latency >= 950 && latency < 1250, "admitted after " + latency + "ms");
+    }
+
+    @Test
+    @DisplayName("Task queued on the concurrency limit is admitted as soon as a running task completes")
+    void queuedTaskIsAdmittedWhenRunningTaskCompletes() throws Exception {
+        ExecutorSpec main = ExecutorSpec.root("main", 100, 100);
+        main.setMaxConcurrency(1);
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(main));
+        TpsGate gate = new TpsGate(hierarchy);
+        ExecutorService threadPool = Executors.newCachedThreadPool();
+        TaskQueueManager queueManager = buildQueueManager(hierarchy, gate, threadPool);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            assertTrue(gate.tryAcquire("main"));
+            queueManager.executeTask(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "running", "main");
+
+            AtomicLong ranAt = new AtomicLong();
+            assertFalse(gate.tryAcquire("main"));
+            queueManager.queueTask(() -> ranAt.set(System.nanoTime()), "queued", "main",
+                    new PriorityKey(PathVector.of(1), 0, 0), createTaskContext("main"));
+            Thread.sleep(100);
+            assertEquals(0, ranAt.get());
+
+            long releasedAt = System.nanoTime();
+            release.countDown();
+            Thread.sleep(300);
+
+            // Woken by the completion, well before the one-second fallback wait
+            assertTrue(ranAt.get() > 0, "queued task never ran");
+            assertTrue(ranAt.get() - releasedAt < TimeUnit.MILLISECONDS.toNanos(250));
+            assertEquals(2, gate.getCurrentTps("main"));
+        } finally {
+            queueManager.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Acquire completes at once under capacity and spends TPS for the caller's own work")
+    void acquireAdmitsImmediately() throws Exception {
+        CompletableFuture<Admission> admission = executor.acquire(createTaskContext("main"));
+
+        assertTrue(admission.isDone());
+        try (Admission granted = admission.get()) {
+            assertEquals("main", granted.getExecutorId());
+        }
+        assertEquals(1, executor.getCurrentTps("main"));
+        assertEquals(0, executor.getActiveCount());
+    }
+
+    @Test
+    @DisplayName("Acquired work counts as executed, and as active until released")
+    void acquiredWorkIsCountedInStats() throws Exception {
+        Admission granted = executor.acquire(createTaskContext("main")).get(1, TimeUnit.SECONDS);
+        assertEquals(1, executor.getStats().executed());
+        assertEquals(1, executor.getStats().activeThreads());
+
+        granted.release(true);
+        granted.release(true);
+        assertEquals(1, executor.getStats().executed());
+        assertEquals(0, executor.getStats().activeThreads());
+
+        // Abandoned work never ran
+        executor.acquire(createTaskContext("main")).get(1, TimeUnit.SECONDS).abandon();
+        assertEquals(1, executor.getStats().executed());
+        assertEquals(0, executor.getStats().activeThreads());
+    }
+
+    @Test
+    @DisplayName("Queued acquire completes on a pool thread once capacity frees")
+    void queuedAcquireCompletesOffDrainer() throws Exception {
+        TpsGate gate = executor.getTpsGate();
+        while (gate.tryAcquire("main")) {
+            // exhaust root TPS so the acquire is queued
+        }
+
+        CompletableFuture<String> thread = executor.acquire(createTaskContext("main"))
+                .thenApply(admission -> {
+                    admission.close();
+                    return Thread.currentThread().getName();
+                });
+        assertFalse(thread.isDone());
+
+        assertTrue(thread.get(3, TimeUnit.SECONDS).startsWith("test-pool-worker-"));
+    }
+
+    @Test
+    @DisplayName("Timed-out acquire leaves the queue and never takes the freed capacity")
+    void timedOutAcquireIsRemoved() throws Exception {
+        TpsGate gate = executor.getTpsGate();
+        while (gate.tryAcquire("main")) {
+            // exhaust root TPS so the acquire is queued
+        }
+
+        CompletableFuture<Admission> admission = executor.acquire(createTaskContext("main"))
+                .orTimeout(100, TimeUnit.MILLISECONDS);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> admission.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertEquals(0, executor.getQueueSize());
+
+        Thread.sleep(1200);
+        assertEquals(0, gate.getCurrentTps("main"));
+    }
+
+    @Test
+    @DisplayName("submitAsync holds the in-flight slot until the returned stage completes")
+    void submitAsyncReleasesOnStageCompletion() throws Exception {
+        PoolConfig limited = createTestConfig();
+        limited.getExecutors().get(0).setMaxConcurrency(1);
+        TpsPoolExecutor pool = createExecutor(limited);
+        try {
+            CompletableFuture<String> firstWork = new CompletableFuture<>();
+            CompletableFuture<String> first = pool.submitAsync(createTaskContext("main"), () -> firstWork);
+            AtomicInteger secondStarted = new AtomicInteger();
+            CompletableFuture<String> second = pool.submitAsync(createTaskContext("main"), () -> {
+                secondStarted.incrementAndGet();
+                return CompletableFuture.completedFuture("second");
+            });
+
+            Thread.sleep(100);
+            assertEquals(0, secondStarted.get());
+
+            firstWork.complete("first");
+            assertEquals("first", first.get(1, TimeUnit.SECONDS));
+            // Woken by the release, well before the one-second fallback wait
+            assertEquals("second", second.get(500, TimeUnit.MILLISECONDS));
+            assertEquals(0, pool.getTpsGate().getInFlight("main"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("submitAsync fails and frees the in-flight slot when the task returns no stage")
+    void submitAsyncFailsOnNullStage() throws Exception {
+        PoolConfig limited = createTestConfig();
+        limited.getExecutors().get(0).setMaxConcurrency(1);
+        TpsPoolExecutor pool = createExecutor(limited);
+        try {
+            CompletableFuture<String> result = pool.submitAsync(createTaskContext("main"), () -> null);
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> result.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(NullPointerException.class, failure.getCause());
+            assertEquals(0, pool.getTpsGate().getInFlight("main"));
+
+            CompletableFuture<String> next = pool.submitAsync(createTaskContext("main"),
+                    () -> CompletableFuture.completedFuture("next"));
+            assertEquals("next", next.get(1, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelling submitAsync before admission drops the request without spending TPS")
+    void cancelledSubmitAsyncIsDropped() throws Exception {
+        TpsGate gate = executor.getTpsGate();
+        while (gate.tryAcquire("main")) {
+            // exhaust root TPS so the submission is queued
+        }
+
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<Integer> result = executor.submitAsync(createTaskContext("main"),
+                () -> CompletableFuture.completedFuture(started.incrementAndGet()));
+        assertTrue(result.cancel(false));
+
+        // Window rolls over: the cancelled request must not take the freed capacity
+        Thread.sleep(1200);
+        assertEquals(0, started.get());
+        assertEquals(0, gate.getCurrentTps("main"));
+    }
+
+    @Test
+    @DisplayName("submitAsync settled before admission leaves the adaptive concurrency limit alone")
+    void settledSubmitAsyncKeepsAdaptiveLimit() throws Exception {
+        PoolConfig adaptive = createTestConfig();
+        ExecutorSpec.AdaptiveConcurrencyConfig aimd = new ExecutorSpec.AdaptiveConcurrencyConfig();
+        aimd.setBackoffRatio(0.5);
+        adaptive.getExecutors().get(0).setMaxConcurrency(4);
+        adaptive.getExecutors().get(0).setAdaptiveConcurrency(aimd);
+        TpsPoolExecutor pool = createExecutor(adaptive);
+        try {
+            TpsGate gate = pool.getTpsGate();
+            // Back the limit off to its floor, where a single reported success would raise it
+            pool.acquire(createTaskContext("main")).get(1, TimeUnit.SECONDS).release(false);
+            pool.acquire(createTaskContext("main")).get(1, TimeUnit.SECONDS).release(false);
+            assertEquals(1, gate.getConcurrencyLimit("main"));
+
+            Admission held = pool.acquire(createTaskContext("main")).get(1, TimeUnit.SECONDS);
+            AtomicInteger started = new AtomicInteger();
+            CompletableFuture<Integer> cancelled = pool.submitAsync(createTaskContext("main"),
+                    () -> CompletableFuture.completedFuture(started.incrementAndGet()));
+            // Settled by the caller with a fallback: stays queued and is admitted after it is done
+            CompletableFuture<Integer> settled = pool.submitAsync(createTaskContext("main"),
+                    () -> CompletableFuture.completedFuture(started.incrementAndGet()));
+            assertTrue(cancelled.cancel(false));
+            assertTrue(settled.complete(-1));
+            held.abandon();
+
+            Thread.sleep(200);
+            assertEquals(0, started.get());
+            assertEquals(1, gate.getConcurrencyLimit("main"));
+            assertEquals(0, gate.getInFlight("main"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     @Test
     @DisplayName("Should handle multiple concurrent submissions")
     void shouldHandleConcurrentSubmissions() throws Exception {
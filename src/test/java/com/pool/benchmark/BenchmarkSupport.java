@@ -0,0 +1,158 @@
+package com.pool.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.pool.adapter.executor.tps.TaskQueueManager;
+import com.pool.adapter.executor.tps.TpsGate;
+import com.pool.adapter.executor.tps.TpsPoolExecutor;
+import com.pool.config.ExecutionMode;
+import com.pool.config.ExecutorHierarchy;
+import com.pool.config.PoolConfig;
+import com.pool.config.PriorityNodeConfig;
+import com.pool.config.SortByConfig;
+import com.pool.config.TpsSystemConfig;
+import com.pool.core.TpsCounter;
+import com.pool.policy.PolicyEngineFactory;
+import com.pool.strategy.PriorityStrategy;
+import com.pool.strategy.PriorityStrategyFactory;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared fixtures for JMH benchmarks.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Raise the pool log level so debug/trace logging on the hot path does not dominate measurements.
+     */
+    static void quietLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.pool")).setLevel(Level.WARN);
+    }
+
+    /**
+     * Build a region → tier → amount priority tree.
+     * Each level has {@code regions} / 4 / 2 discriminating siblings followed by a catch-all,
+     * so a request for the last region visits every sibling at level 1.
+     *
+     * @param regions Number of region branches at level 1 (excluding the catch-all)
+     * @return Priority tree root nodes
+     */
+    static List<PriorityNodeConfig> regionTierTree(int regions) {
+        List<PriorityNodeConfig> roots = new ArrayList<>();
+        for (int r = 0; r < regions; r++) {
+            roots.add(node("L1.R" + r, "$req.region == \"R" + r + "\"", tierLevel()));
+        }
+        roots.add(node("L1.DEFAULT", "true", tierLevel()));
+        return roots;
+    }
+
+    /**
+     * Build a tree {@code depth} levels deep where every level has {@code fanout} siblings
+     * and only the last one matches {@link #chainPayload(int)}, so a matching request
+     * evaluates {@code depth * fanout} conditions.
+     *
+     * @param depth  Number of levels (1 to {@link com.pool.priority.PathVector#MAX_LEVELS})
+     * @param fanout Siblings per level
+     * @return Priority tree root nodes
+     */
+    static List<PriorityNodeConfig> chainTree(int depth, int fanout) {
+        return chainLevel(0, depth, fanout);
+    }
+
+    /**
+     * Payload matching the last sibling at every level of {@link #chainTree(int, int)}.
+     */
+    static Map<String, Object> chainPayload(int depth) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int level = 0; level < depth; level++) {
+            payload.put("l" + level, "HIT");
+        }
+        return payload;
+    }
+
+    private static List<PriorityNodeConfig> chainLevel(int level, int depth, int fanout) {
+        List<PriorityNodeConfig> siblings = new ArrayList<>();
+        for (int i = 0; i < fanout; i++) {
+            String value = i == fanout - 1 ? "HIT" : "MISS" + i;
+            String name = "L" + (level + 1) + "." + value;
+            String condition = "$req.l" + level + " == \"" + value + "\"";
+            siblings.add(level == depth - 1
+                    ? leaf(name, condition)
+                    : node(name, condition, chainLevel(level + 1, depth, fanout)));
+        }
+        return siblings;
+    }
+
+    /**
+     * Wire a platform-thread TpsPoolExecutor for the given config without Spring.
+     */
+    static TpsPoolExecutor executor(PoolConfig config) {
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(config.getExecutors());
+        TpsGate tpsGate = new TpsGate(hierarchy);
+        Map<String, ReentrantLock> locks = new HashMap<>();
+        Map<String, Condition> conditions = new HashMap<>();
+        Map<String, PriorityStrategy<TaskQueueManager.QueuedTask>> strategies = new HashMap<>();
+
+        for (String id : hierarchy.getAllExecutorIds()) {
+            ReentrantLock lock = new ReentrantLock();
+            Condition condition = lock.newCondition();
+            locks.put(id, lock);
+            conditions.put(id, condition);
+            int cap = hierarchy.getQueueCapacity(id);
+            strategies.put(id, PriorityStrategyFactory.createDefault(cap <= 0 ? Integer.MAX_VALUE : cap));
+            TpsCounter counter = tpsGate.getCounter(id);
+            if (counter != null) {
+                counter.setOnReset(() -> {
+                    lock.lock();
+                    try { condition.signalAll(); } finally { lock.unlock(); }
+                });
+            }
+        }
+        TaskQueueManager queueManager = new TaskQueueManager(hierarchy, tpsGate, strategies, locks, conditions,
+                TpsSystemConfig.taskExecutor(ExecutionMode.PLATFORM),
+                TpsSystemConfig.drainerThreadFactory(ExecutionMode.PLATFORM));
+        return new TpsPoolExecutor(config, PolicyEngineFactory.create(config), hierarchy, tpsGate, queueManager);
+    }
+
+    private static List<PriorityNodeConfig> tierLevel() {
+        List<PriorityNodeConfig> tiers = new ArrayList<>();
+        for (String tier : List.of("PLATINUM", "GOLD", "SILVER", "BRONZE")) {
+            tiers.add(node("L2." + tier, "$req.customerTier == \"" + tier + "\"", amountLevel()));
+        }
+        tiers.add(node("L2.DEFAULT", "true", amountLevel()));
+        return tiers;
+    }
+
+    private static List<PriorityNodeConfig> amountLevel() {
+        return List.of(
+                leaf("L3.HIGH_VALUE", "$req.transactionAmount > 100000 AND $req.channel IN (\"WEB\", \"APP\")"),
+                leaf("L3.DEFAULT", "true"));
+    }
+
+    private static PriorityNodeConfig node(String name, String condition, List<PriorityNodeConfig> children) {
+        PriorityNodeConfig node = new PriorityNodeConfig();
+        node.setName(name);
+        node.setCondition(condition);
+        node.setNestedLevels(new ArrayList<>(children));
+        return node;
+    }
+
+    private static PriorityNodeConfig leaf(String name, String condition) {
+        PriorityNodeConfig node = new PriorityNodeConfig();
+        node.setName(name);
+        node.setCondition(condition);
+        node.setSortBy(SortByConfig.fifo());
+        node.setExecutor("main");
+        return node;
+    }
+}
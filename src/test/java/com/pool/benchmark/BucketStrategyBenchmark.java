@@ -0,0 +1,68 @@
+package com.pool.benchmark;
+
+import com.pool.config.StrategyConfig;
+import com.pool.core.PrioritizedPayload;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import com.pool.strategy.PriorityStrategy;
+import com.pool.strategy.PriorityStrategyFactory;
+import com.pool.strategy.StrategyType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enqueue followed by pollNext on a deep backlog where almost all traffic lands
+ * in four top-level branches: the FIFO heap versus BUCKET_BASED buckets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BucketStrategyBenchmark {
+
+    @Param({"FIFO", "BUCKET_BASED"})
+    public StrategyType type;
+
+    @Param({"50000"})
+    public int backlog;
+
+    private PriorityStrategy<String> strategy;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        StrategyConfig.BucketBasedConfig buckets = new StrategyConfig.BucketBasedConfig();
+        buckets.setBucketCount(5);
+        int[] capacities = new int[5];
+        Arrays.fill(capacities, Integer.MAX_VALUE);
+        buckets.setBucketCapacities(capacities);
+
+        StrategyConfig config = new StrategyConfig();
+        config.setType(type);
+        config.setBucketBased(buckets);
+        strategy = PriorityStrategyFactory.create(config, Integer.MAX_VALUE);
+        for (int i = 0; i < backlog; i++) {
+            strategy.enqueue(randomTask());
+        }
+    }
+
+    @Benchmark
+    public Optional<PrioritizedPayload<String>> enqueueAndPoll() {
+        strategy.enqueue(randomTask());
+        return strategy.pollNext();
+    }
+
+    private static PrioritizedPayload<String> randomTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // 95% of tasks in branches 1-4, the rest spread over 5-8
+        int branch = random.nextInt(100) < 95 ? random.nextInt(1, 5) : random.nextInt(5, 9);
+        PathVector path = PathVector.of(branch, random.nextInt(1, 5), random.nextInt(1, 3));
+        return new PrioritizedPayload<>("task", "t", new PriorityKey(path, random.nextLong(1_000), System.nanoTime()));
+    }
+}
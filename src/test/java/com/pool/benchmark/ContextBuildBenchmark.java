@@ -0,0 +1,66 @@
+package com.pool.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code @Pooled} context building: serializing the builder's result to JSON and
+ * re-parsing it (previous aspect path) versus flattening the object directly.
+ * {@code create} is {@link TaskContextFactory#create} on the same payload as JSON text.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextBuildBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int fields;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Map<String, Object> payload;
+    private Map<String, String> contextVars;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Flat fields with every fifth one a nested object, like a typical request DTO
+        payload = new LinkedHashMap<>();
+        for (int i = 0; i < fields; i++) {
+            if (i % 5 == 4) {
+                payload.put("nested" + i, Map.of("code", "C" + i, "amount", i * 10));
+            } else if (i % 2 == 0) {
+                payload.put("field" + i, "value-" + i);
+            } else {
+                payload.put("field" + i, i);
+            }
+        }
+        contextVars = new HashMap<>(Map.of("_class", "OrderService", "_method", "process", "traceId", "abc"));
+        json = mapper.writeValueAsString(payload);
+    }
+
+    @Benchmark
+    public TaskContext create() {
+        return TaskContextFactory.create(json, contextVars);
+    }
+
+    @Benchmark
+    public TaskContext jsonRoundTrip() throws JsonProcessingException {
+        return TaskContextFactory.create(mapper.writeValueAsString(payload), contextVars);
+    }
+
+    @Benchmark
+    public TaskContext direct() {
+        return TaskContextFactory.fromObject(payload, contextVars, mapper);
+    }
+}
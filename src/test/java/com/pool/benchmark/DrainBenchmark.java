@@ -0,0 +1,69 @@
+package com.pool.benchmark;
+
+import com.pool.adapter.executor.tps.TpsGate;
+import com.pool.config.ExecutorHierarchy;
+import com.pool.config.ExecutorSpec;
+import com.pool.core.PrioritizedPayload;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import com.pool.strategy.FIFOStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of admitting a backlog of {@code burst} queued tasks when a window rolls
+ * over: one poll and one gate call per task, versus one {@code drainTo} and one
+ * multi-permit {@code tryAcquire} for the whole run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DrainBenchmark {
+
+    @Param({"2000"})
+    public int burst;
+
+    private FIFOStrategy<String> strategy;
+    private TpsGate gate;
+    private final List<PrioritizedPayload<String>> batch = new ArrayList<>();
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        gate = new TpsGate(new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("root", burst * 2, burst),
+                ExecutorSpec.child("leaf", "root", burst))));
+        strategy = new FIFOStrategy<>(burst);
+        for (int i = 0; i < burst; i++) {
+            strategy.enqueue(new PrioritizedPayload<>("task", "t" + i,
+                    new PriorityKey(PathVector.of(1 + i % 4), 0, i)));
+        }
+        batch.clear();
+    }
+
+    @Benchmark
+    public void perTask(Blackhole bh) {
+        Optional<PrioritizedPayload<String>> task;
+        while ((task = strategy.pollNext()).isPresent()) {
+            bh.consume(gate.tryAcquire("leaf"));
+            bh.consume(task.get());
+        }
+    }
+
+    @Benchmark
+    public void batched(Blackhole bh) {
+        int drained = strategy.drainTo(batch, burst);
+        bh.consume(gate.tryAcquire("leaf", drained));
+        for (PrioritizedPayload<String> task : batch) {
+            bh.consume(task);
+        }
+    }
+}
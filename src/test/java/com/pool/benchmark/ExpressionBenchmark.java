@@ -0,0 +1,91 @@
+package com.pool.benchmark;
+
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.expression.Expression;
+import com.pool.expression.ExpressionEvaluator;
+import com.pool.variable.DefaultVariableResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Condition cost: parsing an expression string into an AST, and evaluating the parsed
+ * AST against a context where every term matches (so AND cannot short-circuit).
+ * {@code evaluateMerchantList} is a single IN over a 300-element list, matching its last element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpressionBenchmark {
+
+    /** Number of AND-ed comparison terms (cycling ==, >, IN, STARTS_WITH). */
+    @Param({"1", "4", "16"})
+    public int terms;
+
+    private ExpressionEvaluator evaluator;
+    private String source;
+    private Expression parsed;
+    private TaskContext context;
+    private Expression merchantList;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        evaluator = new ExpressionEvaluator(new DefaultVariableResolver());
+
+        StringJoiner expression = new StringJoiner(" AND ");
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i < terms; i++) {
+            switch (i % 4) {
+                case 0 -> {
+                    expression.add("$req.f" + i + " == \"v" + i + "\"");
+                    payload.put("f" + i, "v" + i);
+                }
+                case 1 -> {
+                    expression.add("$req.f" + i + " > 100");
+                    payload.put("f" + i, 1000 + i);
+                }
+                case 2 -> {
+                    expression.add("$req.f" + i + " IN (\"A\", \"B\", \"C\")");
+                    payload.put("f" + i, "C");
+                }
+                default -> {
+                    expression.add("$req.f" + i + " STARTS_WITH \"pre\"");
+                    payload.put("f" + i, "prefix-" + i);
+                }
+            }
+        }
+        source = expression.toString();
+        parsed = evaluator.parse(source);
+        payload.put("merchant", "m299");
+        context = TaskContextFactory.fromObject(payload, Map.of());
+
+        StringJoiner merchants = new StringJoiner(", ", "$req.merchant IN (", ")");
+        for (int i = 0; i < 300; i++) {
+            merchants.add("\"m" + i + "\"");
+        }
+        merchantList = evaluator.parse(merchants.toString());
+    }
+
+    @Benchmark
+    public Expression parse() {
+        return evaluator.parse(source);
+    }
+
+    @Benchmark
+    public boolean evaluate() {
+        return evaluator.evaluate(parsed, context);
+    }
+
+    @Benchmark
+    public boolean evaluateMerchantList() {
+        return evaluator.evaluate(merchantList, context);
+    }
+}
@@ -0,0 +1,90 @@
+package com.pool.benchmark;
+
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.expression.Expression;
+import com.pool.expression.ExpressionCompiler;
+import com.pool.expression.ExpressionParser;
+import com.pool.variable.DefaultVariableResolver;
+import com.pool.variable.VariableResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 50-node condition (five OR-ed groups of five AND-ed comparisons, one negated)
+ * evaluated by walking the AST versus through the compiled method handle. Every group
+ * fails on its last term except the final one, so almost every node is visited.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpressionCompilerBenchmark {
+
+    private static final int GROUPS = 5;
+    private static final int TERMS = 5;
+
+    private final VariableResolver resolver = new DefaultVariableResolver();
+    private Expression interpreted;
+    private Expression compiled;
+    private TaskContext context;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        StringJoiner groups = new StringJoiner(" OR ");
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int g = 0; g < GROUPS; g++) {
+            StringJoiner terms = new StringJoiner(" AND ", "(", ")");
+            for (int t = 0; t < TERMS; t++) {
+                String field = "f" + g + "_" + t;
+                switch (t) {
+                    case 0 -> {
+                        terms.add("$req." + field + " == \"v\"");
+                        payload.put(field, "v");
+                    }
+                    case 1 -> {
+                        terms.add("$req." + field + " > 100");
+                        payload.put(field, 500);
+                    }
+                    case 2 -> {
+                        terms.add("$req." + field + " IN (\"A\", \"B\", \"C\")");
+                        payload.put(field, "B");
+                    }
+                    case 3 -> {
+                        terms.add(g == 0 ? "NOT $req." + field + " STARTS_WITH \"x\"" : "$req." + field + " STARTS_WITH \"pre\"");
+                        payload.put(field, "prefix");
+                    }
+                    default -> {
+                        // Only the last group's final term matches
+                        terms.add("$req." + field + " <= 10");
+                        payload.put(field, g == GROUPS - 1 ? 5 : 50);
+                    }
+                }
+            }
+            groups.add(terms.toString());
+        }
+        interpreted = new ExpressionParser(groups.toString()).parse();
+        compiled = ExpressionCompiler.compile(interpreted);
+        context = TaskContextFactory.fromObject(payload, Map.of());
+        if (!interpreted.evaluate(context, resolver) || !compiled.evaluate(context, resolver)) {
+            throw new IllegalStateException("Benchmark condition must match");
+        }
+    }
+
+    @Benchmark
+    public boolean interpreted() {
+        return interpreted.evaluate(context, resolver);
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return compiled.evaluate(context, resolver);
+    }
+}
@@ -0,0 +1,51 @@
+package com.pool.benchmark;
+
+import com.pool.core.PrioritizedPayload;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import com.pool.strategy.FIFOStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FIFOStrategy} enqueue followed by pollNext, on a queue already holding
+ * {@code backlog} entries with random priorities. Run with {@code -t N} to measure
+ * producers and consumers contending on the queue.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FIFOStrategyBenchmark {
+
+    @Param({"0", "10000"})
+    public int backlog;
+
+    private FIFOStrategy<String> strategy;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        strategy = new FIFOStrategy<>(Integer.MAX_VALUE);
+        for (int i = 0; i < backlog; i++) {
+            strategy.enqueue(randomTask());
+        }
+    }
+
+    @Benchmark
+    public Optional<PrioritizedPayload<String>> enqueueAndPoll() {
+        strategy.enqueue(randomTask());
+        return strategy.pollNext();
+    }
+
+    private static PrioritizedPayload<String> randomTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        PathVector path = PathVector.of(random.nextInt(1, 9), random.nextInt(1, 5), random.nextInt(1, 3));
+        return new PrioritizedPayload<>("task", "t", new PriorityKey(path, random.nextLong(1_000), System.nanoTime()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.pool.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-submit context cost for wide payloads: flattening everything up front
+ * ({@code DefaultTaskContext}) versus resolving only the handful of paths a
+ * priority tree reads ({@code LazyTaskContext}). Run with {@code -prof gc}
+ * to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazyContextBenchmark {
+
+    private static final String[] READS = {"region", "customer.tier", "transactionAmount", "field7"};
+
+    @Param({"20", "200"})
+    public int fields;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Map<String, Object> payload;
+    private String json;
+    private Map<String, String> contextVars;
+
+    @Setup
+    public void setUp() throws Exception {
+        payload = new LinkedHashMap<>();
+        payload.put("region", "NORTH_AMERICA");
+        payload.put("customer", Map.of("tier", "GOLD", "id", 42));
+        payload.put("transactionAmount", 250000);
+        for (int i = 0; i < fields; i++) {
+            if (i % 5 == 4) {
+                payload.put("nested" + i, Map.of("code", "C" + i, "amount", i * 10));
+            } else {
+                payload.put("field" + i, i % 2 == 0 ? "value-" + i : i);
+            }
+        }
+        json = mapper.writeValueAsString(payload);
+        contextVars = Map.of("_class", "OrderService", "_method", "process");
+    }
+
+    @Benchmark
+    public void eagerMap(Blackhole bh) {
+        read(TaskContextFactory.fromObject(payload, contextVars, mapper), bh);
+    }
+
+    @Benchmark
+    public void lazyMap(Blackhole bh) {
+        read(TaskContextFactory.fromObjectLazy(payload, contextVars, mapper), bh);
+    }
+
+    @Benchmark
+    public void eagerJson(Blackhole bh) {
+        read(TaskContextFactory.create(json, contextVars), bh);
+    }
+
+    @Benchmark
+    public void lazyJson(Blackhole bh) {
+        read(TaskContextFactory.createLazy(json, contextVars), bh);
+    }
+
+    private static void read(TaskContext ctx, Blackhole bh) {
+        for (String name : READS) {
+            bh.consume(ctx.getRequestVariable(name));
+        }
+        bh.consume(ctx.getTaskId());
+    }
+}
@@ -0,0 +1,62 @@
+package com.pool.benchmark;
+
+import com.pool.config.PriorityNodeConfig;
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.expression.ExpressionEvaluator;
+import com.pool.policy.MatchedPath;
+import com.pool.priority.CompiledPriorityTree;
+import com.pool.priority.TreeTraverser;
+import com.pool.variable.DefaultVariableResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Priority tree evaluation: re-parsing conditions on every call (interpreted config walk)
+ * versus walking the tree compiled once at config load.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PolicyEvaluationBenchmark {
+
+    @Param({"8", "40"})
+    public int regions;
+
+    private TreeTraverser traverser;
+    private List<PriorityNodeConfig> treeConfig;
+    private CompiledPriorityTree compiledTree;
+    private TaskContext context;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        ExpressionEvaluator evaluator = new ExpressionEvaluator(new DefaultVariableResolver());
+        traverser = new TreeTraverser(evaluator);
+        treeConfig = BenchmarkSupport.regionTierTree(regions);
+        compiledTree = CompiledPriorityTree.compile(treeConfig, evaluator);
+
+        // Last region + last tier: visits every sibling on levels 1 and 2
+        String json = """
+                {"region": "R%d", "customerTier": "BRONZE", "transactionAmount": 250000, "channel": "APP"}
+                """.formatted(regions - 1);
+        context = TaskContextFactory.create(json, Map.of());
+    }
+
+    @Benchmark
+    public Optional<MatchedPath> interpreted() {
+        return traverser.traverse(treeConfig, context);
+    }
+
+    @Benchmark
+    public Optional<MatchedPath> compiled() {
+        return traverser.traverse(compiledTree, context);
+    }
+}
@@ -0,0 +1,53 @@
+package com.pool.benchmark;
+
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PriorityKey#compareTo} — the comparison every queue insert and poll makes
+ * O(log n) times. Keys share a path prefix of {@code depth - 1} levels, so the
+ * vector comparison walks the whole prefix before it can decide.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriorityKeyBenchmark {
+
+    @Param({"1", "5", "10"})
+    public int depth;
+
+    private PriorityKey left;
+    private PriorityKey right;
+    private PriorityKey leftTie;
+
+    @Setup
+    public void setUp() {
+        int[] a = new int[depth];
+        int[] b = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            a[i] = i + 1;
+            b[i] = i + 1;
+        }
+        b[depth - 1]++;
+        left = new PriorityKey(PathVector.of(a), 100, 1_000);
+        right = new PriorityKey(PathVector.of(b), 100, 1_000);
+        // Same path and sort value: decided by submission time
+        leftTie = new PriorityKey(PathVector.of(a), 100, 2_000);
+    }
+
+    @Benchmark
+    public int pathDiffers() {
+        return left.compareTo(right);
+    }
+
+    @Benchmark
+    public int pathEqual() {
+        return left.compareTo(leftTie);
+    }
+}
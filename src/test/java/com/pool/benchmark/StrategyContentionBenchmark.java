@@ -0,0 +1,76 @@
+package com.pool.benchmark;
+
+import com.pool.core.PrioritizedPayload;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import com.pool.strategy.FIFOStrategy;
+import com.pool.strategy.PriorityStrategy;
+import com.pool.strategy.SkipListStrategy;
+import com.pool.strategy.StrategyType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue contention: FIFO (one PriorityBlockingQueue lock) versus SKIP_LIST (lock-free
+ * skip list). Every thread enqueues a task and polls one, on a queue holding a
+ * {@code backlog} of random-priority entries, so producers and consumers collide.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StrategyContentionBenchmark {
+
+    @Param({"FIFO", "SKIP_LIST"})
+    public StrategyType strategyType;
+
+    @Param({"1000"})
+    public int backlog;
+
+    private PriorityStrategy<String> strategy;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        strategy = strategyType == StrategyType.SKIP_LIST
+                ? new SkipListStrategy<>(Integer.MAX_VALUE)
+                : new FIFOStrategy<>(Integer.MAX_VALUE);
+        for (int i = 0; i < backlog; i++) {
+            strategy.enqueue(randomTask());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<PrioritizedPayload<String>> threads1() {
+        return enqueueAndPoll();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<PrioritizedPayload<String>> threads4() {
+        return enqueueAndPoll();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Optional<PrioritizedPayload<String>> threads16() {
+        return enqueueAndPoll();
+    }
+
+    private Optional<PrioritizedPayload<String>> enqueueAndPoll() {
+        strategy.enqueue(randomTask());
+        return strategy.pollNext();
+    }
+
+    private static PrioritizedPayload<String> randomTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        PathVector path = PathVector.of(random.nextInt(1, 9), random.nextInt(1, 5), random.nextInt(1, 3));
+        return new PrioritizedPayload<>("task", "t", new PriorityKey(path, random.nextLong(1_000), System.nanoTime()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.pool.benchmark;
+
+import com.pool.adapter.executor.tps.TpsPoolExecutor;
+import com.pool.config.AdaptersConfig;
+import com.pool.config.ExecutorSpec;
+import com.pool.config.PoolConfig;
+import com.pool.config.StrategyConfig;
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link TpsPoolExecutor#submit}: context build, policy evaluation, queueing,
+ * TPS admission, dispatch, execution and completion of a no-op task. TPS limits are high
+ * enough that admission never throttles. Run with {@code -t N} for concurrent submitters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubmitBenchmark {
+
+    @Param({"2", "5"})
+    public int depth;
+
+    private TpsPoolExecutor executor;
+    private Map<String, Object> payload;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        PoolConfig config = new PoolConfig();
+        config.setName("benchmark");
+        AdaptersConfig adapters = new AdaptersConfig();
+        adapters.setExecutors(new ArrayList<>(List.of(ExecutorSpec.unboundedRoot("main", 100_000))));
+        config.setAdapters(adapters);
+        config.setPriorityTree(new ArrayList<>(BenchmarkSupport.chainTree(depth, 4)));
+        config.setPriorityStrategy(StrategyConfig.fifo());
+        executor = BenchmarkSupport.executor(config);
+        payload = BenchmarkSupport.chainPayload(depth);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Integer submitAndComplete() throws Exception {
+        TaskContext context = TaskContextFactory.fromObject(payload, Map.of());
+        return executor.submit(context, () -> 1).get(10, TimeUnit.SECONDS);
+    }
+}
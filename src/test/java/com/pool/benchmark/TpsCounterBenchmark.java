@@ -0,0 +1,50 @@
+package com.pool.benchmark;
+
+import com.pool.config.TpsCounterType;
+import com.pool.core.RingBufferTpsCounter;
+import com.pool.core.TpsCounter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Check-then-admit cost of a full sliding window: boxed deque log versus
+ * primitive ring buffer. The window is kept at {@code tps} live entries.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TpsCounterBenchmark {
+
+    @Param({"SLIDING_LOG", "RING_BUFFER"})
+    public TpsCounterType counterType;
+
+    @Param({"10000"})
+    public int tps;
+
+    private TpsCounter counter;
+
+    @Setup
+    public void setUp() {
+        // Long window: entries never expire, so every call sees a full log
+        counter = counterType == TpsCounterType.RING_BUFFER
+                ? new RingBufferTpsCounter(3_600_000, tps)
+                : new TpsCounter(3_600_000);
+        for (int i = 0; i < tps - 1; i++) {
+            counter.increment();
+        }
+    }
+
+    @Benchmark
+    public boolean hasCapacity() {
+        return counter.hasCapacity(tps);
+    }
+
+    @Benchmark
+    public int getCount() {
+        return counter.getCount();
+    }
+}
@@ -0,0 +1,76 @@
+package com.pool.benchmark;
+
+import com.pool.adapter.executor.tps.TokenBucketTpsGate;
+import com.pool.adapter.executor.tps.TpsGate;
+import com.pool.config.ExecutorHierarchy;
+import com.pool.config.ExecutorSpec;
+import com.pool.config.TpsGateType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission throughput under contention: sliding-window gate (global lock)
+ * versus token-bucket gate (CAS per level). Limits are set high enough that
+ * the gate admits most calls, so the measurement is the admission path itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TpsGateBenchmark {
+
+    @Param({"SLIDING_WINDOW", "TOKEN_BUCKET"})
+    public TpsGateType gateType;
+
+    private TpsGate gate;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        ExecutorHierarchy hierarchy = new ExecutorHierarchy(List.of(
+                ExecutorSpec.root("main", 1_000_000, 100),
+                ExecutorSpec.child("vip", "main", 600_000),
+                ExecutorSpec.child("bulk", "main", 600_000)));
+        gate = gateType == TpsGateType.TOKEN_BUCKET
+                ? new TokenBucketTpsGate(hierarchy, 1000)
+                : new TpsGate(hierarchy, 1000);
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        String executorId;
+
+        @Setup
+        public void setUp() {
+            executorId = Thread.currentThread().threadId() % 2 == 0 ? "vip" : "bulk";
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean threads1(Caller caller) {
+        return gate.tryAcquire(caller.executorId);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean threads8(Caller caller) {
+        return gate.tryAcquire(caller.executorId);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean threads32(Caller caller) {
+        return gate.tryAcquire(caller.executorId);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean threads64(Caller caller) {
+        return gate.tryAcquire(caller.executorId);
+    }
+}
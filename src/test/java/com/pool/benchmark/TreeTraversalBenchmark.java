@@ -0,0 +1,52 @@
+package com.pool.benchmark;
+
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.expression.ExpressionEvaluator;
+import com.pool.policy.MatchedPath;
+import com.pool.priority.CompiledPriorityTree;
+import com.pool.priority.TreeTraverser;
+import com.pool.variable.DefaultVariableResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled priority tree traversal by tree depth. Every level has {@code fanout}
+ * siblings and the request matches the last one, so each call evaluates
+ * {@code depth * fanout} conditions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TreeTraversalBenchmark {
+
+    @Param({"2", "5", "10"})
+    public int depth;
+
+    @Param({"4"})
+    public int fanout;
+
+    private TreeTraverser traverser;
+    private CompiledPriorityTree tree;
+    private TaskContext context;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        ExpressionEvaluator evaluator = new ExpressionEvaluator(new DefaultVariableResolver());
+        traverser = new TreeTraverser(evaluator);
+        tree = CompiledPriorityTree.compile(BenchmarkSupport.chainTree(depth, fanout), evaluator);
+        context = TaskContextFactory.fromObject(BenchmarkSupport.chainPayload(depth), Map.of());
+    }
+
+    @Benchmark
+    public Optional<MatchedPath> traverse() {
+        return traverser.traverse(tree, context);
+    }
+}
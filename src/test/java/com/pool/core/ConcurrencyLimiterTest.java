@@ -0,0 +1,81 @@
+package com.pool.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the fixed and AIMD in-flight limiters.
+ */
+class ConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    @DisplayName("Fixed limiter grants up to its limit and frees a slot per completion")
+    void fixedLimiterCapsInFlight() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(3);
+
+        assertEquals(2, limiter.tryAcquire(2));
+        assertEquals(1, limiter.tryAcquire(5));
+        assertEquals(0, limiter.tryAcquire(1));
+        assertFalse(limiter.hasCapacity());
+
+        limiter.onComplete(SLOW, false);
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(3, limiter.getLimit());
+        assertEquals(1, limiter.tryAcquire(1));
+    }
+
+    @Test
+    @DisplayName("AIMD limit backs off on slow or failed tasks, down to the min limit")
+    void aimdBacksOff() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(10, 4, 0.5, THRESHOLD);
+        assertEquals(10, limiter.getLimit());
+
+        limiter.tryAcquire(3);
+        limiter.onComplete(SLOW, true);
+        assertEquals(5, limiter.getLimit());
+        limiter.onComplete(FAST, false);
+        assertEquals(4, limiter.getLimit());
+        limiter.onComplete(SLOW, true);
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("AIMD limit grows by about one per limit's worth of fast completions, up to the max")
+    void aimdRecovers() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(6, 2, 0.5, THRESHOLD);
+        limiter.tryAcquire(1);
+        limiter.onComplete(SLOW, true);
+        assertEquals(3, limiter.getLimit());
+
+        // 3 → 3.33 → 3.63 → 3.91 → 4.17
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire(1);
+            limiter.onComplete(FAST, true);
+        }
+        assertEquals(4, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(1);
+            limiter.onComplete(FAST, true);
+        }
+        assertEquals(6, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Invalid limiter settings are rejected")
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(0));
+        assertThrows(IllegalArgumentException.class, () -> new AimdConcurrencyLimiter(5, 6, 0.5, THRESHOLD));
+        assertThrows(IllegalArgumentException.class, () -> new AimdConcurrencyLimiter(5, 1, 1.0, THRESHOLD));
+        assertThrows(IllegalArgumentException.class, () -> new AimdConcurrencyLimiter(5, 1, 0.5, 0));
+    }
+}
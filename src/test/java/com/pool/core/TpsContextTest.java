@@ -1,9 +1,14 @@
 package com.pool.core;
 
+import com.pool.config.ExecutionMode;
+import com.pool.config.TpsSystemConfig;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -66,4 +71,44 @@ class TpsContextTest {
 
         assertFalse(childSaw.get());
     }
+
+    @Test
+    @DisplayName("Virtual worker should not inherit processed state from the submitting thread")
+    void virtualWorkerDoesNotInheritSubmitter() throws Exception {
+        ExecutorService workers = TpsSystemConfig.taskExecutor(ExecutionMode.VIRTUAL);
+        try {
+            TpsContext.markProcessed();
+
+            Future<Boolean> sawProcessed = workers.submit(TpsContext::isProcessed);
+            Future<Boolean> isVirtual = workers.submit(() -> Thread.currentThread().isVirtual());
+
+            assertFalse(sawProcessed.get(5, TimeUnit.SECONDS));
+            assertTrue(isVirtual.get(5, TimeUnit.SECONDS));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Threads spawned by an admitted virtual-thread task should inherit processed state")
+    void virtualTaskChildrenInherit() throws Exception {
+        ExecutorService workers = TpsSystemConfig.taskExecutor(ExecutionMode.VIRTUAL);
+        try {
+            Future<Boolean> childSaw = workers.submit(() -> {
+                TpsContext.markProcessed();
+                try {
+                    AtomicBoolean saw = new AtomicBoolean(false);
+                    Thread child = Thread.ofVirtual().start(() -> saw.set(TpsContext.isProcessed()));
+                    child.join();
+                    return saw.get();
+                } finally {
+                    TpsContext.clear();
+                }
+            });
+
+            assertTrue(childSaw.get(5, TimeUnit.SECONDS));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.pool.expression;
+
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.variable.DefaultVariableResolver;
+import com.pool.variable.VariableResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ExpressionCompiler: compiled handles must give the interpreter's results.
+ */
+class ExpressionCompilerTest {
+
+    private static final VariableResolver RESOLVER = new DefaultVariableResolver();
+
+    @Test
+    @DisplayName("Compiled expressions agree with the interpreter")
+    void shouldMatchInterpreter() {
+        List<String> sources = List.of(
+                "$req.region == \"US\" AND $req.amount > 100",
+                "$req.region == \"US\" OR NOT ($req.amount >= 500 AND $req.tier IN (\"GOLD\", \"PLATINUM\"))",
+                "NOT $req.tier EXISTS OR ($req.email REGEX \"[a-z]+@corp\\\\.com\" AND true)",
+                "($req.amount < 10 OR $req.amount > 1000) AND NOT false");
+        List<TaskContext> contexts = List.of(
+                context(Map.of("region", "US", "amount", 150, "tier", "GOLD", "email", "a@corp.com")),
+                context(Map.of("region", "EU", "amount", 600, "tier", "GOLD")),
+                context(Map.of("region", "EU", "amount", 5)),
+                context(Map.of("region", "US", "amount", 5000, "tier", "SILVER", "email", "x@other.com")));
+
+        for (String source : sources) {
+            Expression interpreted = new ExpressionParser(source).parse();
+            Expression compiled = ExpressionCompiler.compile(interpreted);
+            assertInstanceOf(CompiledExpression.class, compiled, source);
+            for (TaskContext context : contexts) {
+                assertEquals(interpreted.evaluate(context, RESOLVER), compiled.evaluate(context, RESOLVER), source);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("AND / OR keep left-to-right short-circuit order")
+    void shouldShortCircuit() {
+        List<String> calls = new ArrayList<>();
+        Expression and = new AndExpression(recording("a", false, calls), recording("b", true, calls));
+        Expression or = new OrExpression(recording("c", true, calls), recording("d", false, calls));
+
+        assertFalse(ExpressionCompiler.compile(and).evaluate(context(Map.of()), RESOLVER));
+        assertTrue(ExpressionCompiler.compile(or).evaluate(context(Map.of()), RESOLVER));
+        assertEquals(List.of("a", "c"), calls);
+    }
+
+    @Test
+    @DisplayName("Unknown node types are evaluated through their own evaluate")
+    void shouldFallBackToInterpreterForUnknownNodes() {
+        Expression custom = (context, resolver) -> resolver.resolve("$req.flag", context).isPresent();
+        Expression compiled = ExpressionCompiler.compile(new NotExpression(custom));
+
+        assertFalse(compiled.evaluate(context(Map.of("flag", 1)), RESOLVER));
+        assertTrue(compiled.evaluate(context(Map.of()), RESOLVER));
+    }
+
+    @Test
+    @DisplayName("Exceptions from a node propagate unchanged")
+    void shouldPropagateExceptions() {
+        Expression failing = (context, resolver) -> {
+            throw new IllegalStateException("boom");
+        };
+        Expression compiled = ExpressionCompiler.compile(new AndExpression(new LiteralExpression(true), failing));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> compiled.evaluate(context(Map.of()), RESOLVER));
+        assertEquals("boom", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Evaluator compiles on parse only when enabled")
+    void shouldCompileOnParseWhenEnabled() {
+        String source = "$req.a == 1 AND $req.b == 2";
+
+        assertInstanceOf(CompiledExpression.class, new ExpressionEvaluator(RESOLVER, true).parse(source));
+        assertInstanceOf(AndExpression.class, new ExpressionEvaluator(RESOLVER).parse(source));
+    }
+
+    private static Expression recording(String name, boolean result, List<String> calls) {
+        return (context, resolver) -> {
+            calls.add(name);
+            return result;
+        };
+    }
+
+    private static TaskContext context(Map<String, Object> payload) {
+        return TaskContextFactory.fromObject(payload, Map.of());
+    }
+}
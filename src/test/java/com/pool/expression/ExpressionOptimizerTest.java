@@ -0,0 +1,117 @@
+package com.pool.expression;
+
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.variable.DefaultVariableResolver;
+import com.pool.variable.VariableResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ExpressionOptimizer: rewritten trees must evaluate exactly like the parsed ones.
+ */
+class ExpressionOptimizerTest {
+
+    private static final VariableResolver RESOLVER = new DefaultVariableResolver();
+
+    @Test
+    @DisplayName("Cheap comparisons move ahead of regex and CONTAINS")
+    void shouldOrderByCost() {
+        Expression optimized = optimize("$req.note REGEX \".*x.*\" AND $req.tags CONTAINS \"a\" AND $req.tier == \"GOLD\"");
+
+        AllOfExpression all = assertInstanceOf(AllOfExpression.class, optimized);
+        assertEquals(List.of(ComparisonExpression.Operator.EQ, ComparisonExpression.Operator.CONTAINS,
+                        ComparisonExpression.Operator.REGEX),
+                all.getOperands().stream().map(e -> ((ComparisonExpression) e).getOperator()).toList());
+    }
+
+    @Test
+    @DisplayName("Nested ANDs and ORs are flattened")
+    void shouldFlatten() {
+        Expression optimized = optimize("($req.a == 1 AND ($req.b == 2 AND $req.c == 3)) AND $req.d == 4");
+
+        assertEquals(4, assertInstanceOf(AllOfExpression.class, optimized).getOperands().size());
+        assertEquals(3, assertInstanceOf(AnyOfExpression.class,
+                optimize("$req.a == 1 OR ($req.b == 2 OR $req.c == 3)")).getOperands().size());
+    }
+
+    @Test
+    @DisplayName("Literals and double negation are folded")
+    void shouldFoldConstants() {
+        assertFalse(assertInstanceOf(LiteralExpression.class, optimize("$req.a == 1 AND false")).getValue());
+        assertTrue(assertInstanceOf(LiteralExpression.class, optimize("$req.a == 1 OR NOT false")).getValue());
+        assertInstanceOf(ComparisonExpression.class, optimize("true AND $req.a == 1 AND true"));
+        assertInstanceOf(ComparisonExpression.class, optimize("NOT NOT $req.a == 1"));
+        assertInstanceOf(NotExpression.class, optimize("NOT NOT NOT $req.a == 1"));
+    }
+
+    @Test
+    @DisplayName("Repeated operands are evaluated once; differently typed literals are kept")
+    void shouldDeduplicate() {
+        assertInstanceOf(ComparisonExpression.class, optimize("$req.a == \"x\" AND $req.a == \"x\""));
+        assertInstanceOf(AndExpression.class, optimize("$req.a == 5 AND $req.a == \"5\""));
+    }
+
+    @Test
+    @DisplayName("Unknown node types are neither reordered nor removed")
+    void shouldKeepUnknownNodesInPlace() {
+        Expression custom = (context, resolver) -> true;
+        Expression regex = new ExpressionParser("$req.a REGEX \"x\"").parse();
+        Expression eq = new ExpressionParser("$req.b == 1").parse();
+
+        AllOfExpression all = assertInstanceOf(AllOfExpression.class,
+                ExpressionOptimizer.optimize(new AndExpression(new AndExpression(regex, custom), eq)));
+        assertEquals(List.of(regex, custom, eq), all.getOperands());
+    }
+
+    @Test
+    @DisplayName("Optimized trees give the parsed tree's result, including for missing variables")
+    void shouldPreserveSemantics() {
+        List<String> sources = List.of(
+                "$req.note REGEX \".*x.*\" AND $req.tier == \"GOLD\"",
+                "NOT NOT ($req.amount > 100 OR $req.tier IN (\"GOLD\", \"SILVER\")) AND true",
+                "NOT ($req.amount < 50 AND $req.note CONTAINS \"x\") OR $req.tier IS_NULL",
+                "($req.tier == \"GOLD\" OR false) AND ($req.amount >= 10 AND $req.tier == \"GOLD\")",
+                "$req.note STARTS_WITH \"x\" OR $req.tier EXISTS OR $req.amount != 5 OR $req.note ENDS_WITH \"y\"");
+        List<TaskContext> contexts = new ArrayList<>();
+        for (Object tier : new Object[]{"GOLD", "BRONZE", null}) {
+            for (Object amount : new Object[]{5, 75, 500, "abc", null}) {
+                for (Object note : new Object[]{"xyz", "abc", null}) {
+                    Map<String, Object> payload = new HashMap<>();
+                    put(payload, "tier", tier);
+                    put(payload, "amount", amount);
+                    put(payload, "note", note);
+                    contexts.add(TaskContextFactory.fromObject(payload, Map.of()));
+                }
+            }
+        }
+
+        for (String source : sources) {
+            Expression parsed = new ExpressionParser(source).parse();
+            Expression optimized = ExpressionOptimizer.optimize(parsed);
+            Expression compiled = ExpressionCompiler.compile(optimized);
+            for (TaskContext context : contexts) {
+                boolean expected = parsed.evaluate(context, RESOLVER);
+                assertEquals(expected, optimized.evaluate(context, RESOLVER), source);
+                assertEquals(expected, compiled.evaluate(context, RESOLVER), source);
+            }
+        }
+    }
+
+    private static Expression optimize(String source) {
+        return ExpressionOptimizer.optimize(new ExpressionParser(source).parse());
+    }
+
+    private static void put(Map<String, Object> payload, String name, Object value) {
+        if (value != null) {
+            payload.put(name, value);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.pool.expression;
+
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.exception.ConfigurationException;
+import com.pool.variable.DefaultVariableResolver;
+import com.pool.variable.VariableResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the comparison nodes the parser emits: the specialized nodes must
+ * agree with the generic {@link ComparisonExpression} on every value.
+ */
+class ExpressionParserTest {
+
+    private static final VariableResolver RESOLVER = new DefaultVariableResolver();
+
+    /** Values the field takes in the equivalence checks; null means the field is absent. */
+    private static final List<Object> VALUES = Arrays.asList(
+            null, "US", "us", "5", "5.0", "abc-123", "", "null", "true",
+            5, 5L, 5.0, 0, -0.0, 100, 100.5, 99, 101, Long.MAX_VALUE, true, false, Double.NaN);
+
+    @Test
+    @DisplayName("String equality against a string literal")
+    void shouldSpecializeStringEquality() {
+        assertEquivalent("$req.f == \"US\"", StringEqualsExpression.class);
+        assertEquivalent("$req.f != \"US\"", StringEqualsExpression.class);
+        assertEquivalent("$req.f == \"5\"", StringEqualsExpression.class);
+        assertEquivalent("$req.f == \"true\"", StringEqualsExpression.class);
+        assertEquivalent("$req.f == 5", ComparisonExpression.class);
+        assertEquivalent("$req.f == null", ComparisonExpression.class);
+    }
+
+    @Test
+    @DisplayName("Numeric thresholds, including missing and non-numeric values")
+    void shouldSpecializeNumericThresholds() {
+        for (String op : List.of(">", ">=", "<", "<=")) {
+            assertEquivalent("$req.f " + op + " 100", NumericComparisonExpression.class);
+            assertEquivalent("$req.f " + op + " 100.5", NumericComparisonExpression.class);
+            assertEquivalent("$req.f " + op + " 0", NumericComparisonExpression.class);
+        }
+    }
+
+    @Test
+    @DisplayName("REGEX is compiled at parse time and must match the whole value")
+    void shouldPrecompileRegex() {
+        assertEquivalent("$req.f REGEX \"[a-z]+-\\\\d+\"", RegexExpression.class);
+        assertEquivalent("$req.f REGEX \"U\"", RegexExpression.class);
+        assertEquivalent("$req.f REGEX \"[0-9.]+\"", RegexExpression.class);
+    }
+
+    @Test
+    @DisplayName("An invalid regex fails at parse time")
+    void shouldRejectInvalidRegex() {
+        assertThrows(ConfigurationException.class, () -> new ExpressionParser("$req.f REGEX \"[a-\"").parse());
+    }
+
+    @Test
+    @DisplayName("Long IN lists are hashed; short ones keep the scan")
+    void shouldHashLongInLists() {
+        assertEquivalent("$req.f IN (\"US\", 5, \"abc-123\")", ComparisonExpression.class);
+        assertEquivalent("$req.f IN (" + merchants(300) + ", \"US\", 5)", InSetExpression.class);
+        assertEquivalent("$req.f NOT IN (" + merchants(300) + ", \"US\", 5)", InSetExpression.class);
+        assertEquivalent("$req.f IN (" + merchants(20) + ", 100.5, 0, true, null)", InSetExpression.class);
+        assertEquivalent("$req.f IN (" + merchants(20) + ", \"5.0\", \"false\")", InSetExpression.class);
+    }
+
+    @Test
+    @DisplayName("Specialized nodes inside AND/OR keep the overall result")
+    void shouldEvaluateCompositeExpressions() {
+        Expression expr = new ExpressionParser(
+                "$req.region == \"US\" AND ($req.amount >= 100 OR $req.merchant IN (" + merchants(50) + "))").parse();
+
+        assertTrue(expr.evaluate(context(Map.of("region", "US", "amount", 150)), RESOLVER));
+        assertTrue(expr.evaluate(context(Map.of("region", "US", "amount", 5, "merchant", "m42")), RESOLVER));
+        assertFalse(expr.evaluate(context(Map.of("region", "US", "amount", 5, "merchant", "m99")), RESOLVER));
+        assertFalse(expr.evaluate(context(Map.of("region", "EU", "amount", 150)), RESOLVER));
+    }
+
+    @Test
+    @DisplayName("Comparisons built from a textual field reference evaluate like parsed ones")
+    void shouldBuildComparisonFromFieldText() {
+        TaskContext context = context(Map.of("f", 5, "tier", "GOLD"));
+
+        assertTrue(new ComparisonExpression("$req.f", ComparisonExpression.Operator.GTE, 5).evaluate(context, RESOLVER));
+        assertTrue(new ComparisonExpression("$req.tier", ComparisonExpression.Operator.IN, List.<Object>of("GOLD", "SILVER"))
+                .evaluate(context, RESOLVER));
+        assertTrue(new ComparisonExpression("$req.tier", ComparisonExpression.Operator.EXISTS).evaluate(context, RESOLVER));
+        assertEquals("$req.f", new ComparisonExpression("$req.f", ComparisonExpression.Operator.IS_NULL).getField().toString());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ComparisonExpression("f", ComparisonExpression.Operator.EXISTS));
+    }
+
+    private static void assertEquivalent(String source, Class<?> expectedType) {
+        ComparisonExpression parsed = (ComparisonExpression) new ExpressionParser(source).parse();
+        assertEquals(expectedType, parsed.getClass(), source);
+
+        ComparisonExpression generic = parsed.getListValue() != null
+                ? new ComparisonExpression(parsed.getField(), parsed.getOperator(), parsed.getListValue())
+                : new ComparisonExpression(parsed.getField(), parsed.getOperator(), parsed.getValue());
+        for (Object value : VALUES) {
+            TaskContext context = context(value == null ? Map.of() : Map.of("f", value));
+            assertEquals(generic.evaluate(context, RESOLVER), parsed.evaluate(context, RESOLVER),
+                    source + " with f=" + value);
+        }
+    }
+
+    private static TaskContext context(Map<String, Object> payload) {
+        return TaskContextFactory.fromObject(new HashMap<>(payload), Map.of());
+    }
+
+    private static String merchants(int count) {
+        StringJoiner list = new StringJoiner(", ");
+        for (int i = 0; i < count; i++) {
+            list.add("\"m" + i + "\"");
+        }
+        return list.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package com.pool.policy;
+
+import com.pool.config.PoolConfig;
+import com.pool.config.PriorityNodeConfig;
+import com.pool.config.SortByConfig;
+import com.pool.config.SortDirection;
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.exception.ConfigurationException;
+import com.pool.variable.DefaultVariableResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the routing cache in DefaultPolicyEngine.
+ */
+class EvaluationCacheTest {
+
+    @Test
+    @DisplayName("Repeated inputs reuse the route; sort value stays per task")
+    void shouldReuseRouteForSameInputs() {
+        DefaultPolicyEngine engine = engine(config("$req.tier == \"GOLD\"", "$req.region IN (\"EU\", \"US\")"), 100);
+        EvaluationCache cache = engine.getEvaluationCache().orElseThrow();
+
+        EvaluationResult first = engine.evaluate(task("GOLD", "EU", 7, "ignored"));
+        EvaluationResult second = engine.evaluate(task("GOLD", "EU", 42, "other"));
+        EvaluationResult other = engine.evaluate(task("SILVER", "US", 1, "ignored"));
+
+        assertEquals(first.getMatchedPath().toPathString(), second.getMatchedPath().toPathString());
+        assertEquals(first.getPriorityKey().getPathVector(), second.getPriorityKey().getPathVector());
+        assertEquals(-7, first.getPriorityKey().getSortValue());
+        assertEquals(-42, second.getPriorityKey().getSortValue());
+        assertEquals("REGION", other.getMatchedPath().nodes().get(0).name());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Unmatched tasks are cached too")
+    void shouldCacheUnmatched() {
+        DefaultPolicyEngine engine = engine(config("$req.tier == \"GOLD\"", "$req.region == \"EU\""), 100);
+
+        assertFalse(engine.evaluate(task("NONE", "APAC", 1, "x")).isMatched());
+        assertFalse(engine.evaluate(task("NONE", "APAC", 2, "x")).isMatched());
+        assertEquals(1, engine.getEvaluationCache().orElseThrow().getHits());
+    }
+
+    @Test
+    @DisplayName("Size stays bounded by evicting entries")
+    void shouldBoundSize() {
+        DefaultPolicyEngine engine = engine(config("$req.tier == \"GOLD\"", "$req.region == \"EU\""), 4);
+        for (int i = 0; i < 20; i++) {
+            engine.evaluate(task("T" + i, "EU", 1, "x"));
+        }
+
+        EvaluationCache cache = engine.getEvaluationCache().orElseThrow();
+        assertTrue(cache.size() <= 4);
+        assertEquals(16, cache.getEvictions());
+    }
+
+    @Test
+    @DisplayName("Conditions reading $sys variables disable the cache")
+    void shouldNotCacheSystemVariables() {
+        DefaultPolicyEngine engine = engine(config("$sys.submittedAt > 0", "$req.region == \"EU\""), 100);
+
+        assertTrue(engine.getEvaluationCache().isEmpty());
+        assertTrue(engine.evaluate(task("GOLD", "EU", 1, "x")).isMatched());
+    }
+
+    @Test
+    @DisplayName("updateConfig replaces the cache, so old routes are not reused")
+    void shouldInvalidateOnUpdate() {
+        DefaultPolicyEngine engine = engine(config("$req.tier == \"GOLD\"", "$req.region == \"EU\""), 100);
+        assertEquals("TIER", engine.evaluate(task("GOLD", "EU", 1, "x")).getMatchedPath().nodes().get(0).name());
+
+        PoolConfig updated = config("$req.tier == \"PLATINUM\"", "$req.region == \"EU\"");
+        updated.getEvaluation().getCache().setEnabled(true);
+        engine.updateConfig(updated);
+
+        assertEquals("REGION", engine.evaluate(task("GOLD", "EU", 1, "x")).getMatchedPath().nodes().get(0).name());
+        assertEquals(0, engine.getEvaluationCache().orElseThrow().getHits());
+    }
+
+    @Test
+    @DisplayName("A non-positive max size is rejected")
+    void shouldRejectInvalidMaxSize() {
+        assertThrows(ConfigurationException.class, () -> engine(config("true", "true"), 0));
+    }
+
+    private static DefaultPolicyEngine engine(PoolConfig config, int maxSize) {
+        config.getEvaluation().getCache().setEnabled(true);
+        config.getEvaluation().getCache().setMaxSize(maxSize);
+        return new DefaultPolicyEngine(config, new DefaultVariableResolver());
+    }
+
+    private static PoolConfig config(String tierCondition, String regionCondition) {
+        PoolConfig config = PoolConfig.minimal();
+        config.setPriorityTree(new ArrayList<>(List.of(
+                leaf("TIER", tierCondition),
+                leaf("REGION", regionCondition))));
+        return config;
+    }
+
+    private static PriorityNodeConfig leaf(String name, String condition) {
+        SortByConfig sortBy = new SortByConfig();
+        sortBy.setField("$req.priority");
+        sortBy.setDirection(SortDirection.DESC);
+
+        PriorityNodeConfig node = new PriorityNodeConfig();
+        node.setName(name);
+        node.setCondition(condition);
+        node.setSortBy(sortBy);
+        node.setExecutor("main");
+        return node;
+    }
+
+    private static TaskContext task(String tier, String region, int priority, String unread) {
+        return TaskContextFactory.fromObject(
+                Map.of("tier", tier, "region", region, "priority", priority, "note", unread), Map.of());
+    }
+}
@@ -0,0 +1,151 @@
+package com.pool.priority;
+
+import com.pool.config.PriorityNodeConfig;
+import com.pool.config.SortByConfig;
+import com.pool.config.SortDirection;
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.exception.ConfigurationException;
+import com.pool.expression.ExpressionEvaluator;
+import com.pool.policy.MatchedPath;
+import com.pool.variable.DefaultVariableResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CompiledPriorityTree: the compiled walk must match the config walk.
+ */
+class CompiledPriorityTreeTest {
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator(new DefaultVariableResolver());
+    private final TreeTraverser traverser = new TreeTraverser(evaluator);
+
+    @Test
+    @DisplayName("Compiled walk matches the config walk on a representative tree")
+    void shouldMatchConfigTraversal() {
+        List<PriorityNodeConfig> config = List.of(
+                node("PLATINUM", "$req.tier == \"PLATINUM\"", List.of(
+                        leaf("BIG", "$req.amount >= 1000", "fast", byAmount()),
+                        leaf("SMALL", "$req.amount < 1000", "main", null))),
+                node("REGION", "$req.region IN (\"EU\", \"US\")", List.of(
+                        node("EU", "$req.region == \"EU\"", List.of(
+                                leaf("EU.GOLD", "$req.tier == \"GOLD\"", "eu", null))),
+                        leaf("US", "$req.region == \"US\" AND $req.amount > 100", "us", byAmount()))),
+                leaf("FLAGGED", "$req.flagged == true", "slow", null),
+                node("DEFAULT", "true", List.of(
+                        leaf("DEFAULT.ANY", "true", "main", null))));
+        CompiledPriorityTree tree = CompiledPriorityTree.compile(config, evaluator);
+
+        for (Object tier : new Object[]{"PLATINUM", "GOLD", "SILVER", null}) {
+            for (Object region : new Object[]{"EU", "US", "APAC", null}) {
+                for (int amount : new int[]{50, 500, 5000}) {
+                    for (boolean flagged : new boolean[]{true, false}) {
+                        Map<String, Object> payload = new HashMap<>();
+                        if (tier != null) {
+                            payload.put("tier", tier);
+                        }
+                        if (region != null) {
+                            payload.put("region", region);
+                        }
+                        payload.put("amount", amount);
+                        payload.put("flagged", flagged);
+                        TaskContext context = TaskContextFactory.fromObject(payload, Map.of());
+
+                        Optional<MatchedPath> expected = traverser.traverse(config, context);
+                        assertTrue(expected.isPresent(), payload.toString());
+                        assertEquals(expected, traverser.traverse(tree, context), payload.toString());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Compiled walk rejects a request when every branch's children reject it")
+    void shouldMatchConfigWhenNothingMatches() {
+        List<PriorityNodeConfig> config = List.of(
+                node("EU", "$req.region == \"EU\"", List.of(
+                        leaf("EU.GOLD", "$req.tier == \"GOLD\"", "main", null))),
+                leaf("US", "$req.region == \"US\"", "main", null));
+        CompiledPriorityTree tree = CompiledPriorityTree.compile(config, evaluator);
+        TaskContext context = TaskContextFactory.fromObject(Map.of("region", "EU", "tier", "SILVER"), Map.of());
+
+        assertTrue(traverser.traverse(config, context).isEmpty());
+        assertTrue(traverser.traverse(tree, context).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Empty or missing config compiles to an empty tree")
+    void shouldCompileEmptyTree() {
+        TaskContext context = TaskContextFactory.fromObject(Map.of(), Map.of());
+
+        assertTrue(CompiledPriorityTree.compile(null, evaluator).isEmpty());
+        assertTrue(CompiledPriorityTree.compile(List.of(), evaluator).isEmpty());
+        assertTrue(traverser.traverse(CompiledPriorityTree.compile(List.of(), evaluator), context).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Tree at max depth compiles and walks to its leaf")
+    void shouldCompileTreeAtMaxDepth() {
+        List<PriorityNodeConfig> config = chain(PathVector.MAX_LEVELS);
+        CompiledPriorityTree tree = CompiledPriorityTree.compile(config, evaluator);
+        TaskContext context = TaskContextFactory.fromObject(Map.of(), Map.of());
+
+        Optional<MatchedPath> matched = traverser.traverse(tree, context);
+        assertEquals(PathVector.MAX_LEVELS, matched.orElseThrow().getDepth());
+        assertEquals(traverser.traverse(config, context), matched);
+    }
+
+    @Test
+    @DisplayName("Tree deeper than max depth is rejected at compile time")
+    void shouldRejectTreeBeyondMaxDepth() {
+        List<PriorityNodeConfig> config = chain(PathVector.MAX_LEVELS + 1);
+
+        ConfigurationException error = assertThrows(ConfigurationException.class,
+                () -> CompiledPriorityTree.compile(config, evaluator));
+        assertTrue(error.getMessage().contains("max depth"));
+    }
+
+    /**
+     * Single chain of {@code depth} always-true nodes ending in a leaf.
+     */
+    private static List<PriorityNodeConfig> chain(int depth) {
+        PriorityNodeConfig current = leaf("L" + depth, "true", "main", null);
+        for (int level = depth - 1; level >= 1; level--) {
+            current = node("L" + level, "true", List.of(current));
+        }
+        return List.of(current);
+    }
+
+    private static SortByConfig byAmount() {
+        SortByConfig sortBy = new SortByConfig();
+        sortBy.setField("$req.amount");
+        sortBy.setDirection(SortDirection.DESC);
+        return sortBy;
+    }
+
+    private static PriorityNodeConfig node(String name, String condition, List<PriorityNodeConfig> children) {
+        PriorityNodeConfig node = new PriorityNodeConfig();
+        node.setName(name);
+        node.setCondition(condition);
+        node.setNestedLevels(new ArrayList<>(children));
+        return node;
+    }
+
+    private static PriorityNodeConfig leaf(String name, String condition, String executor, SortByConfig sortBy) {
+        PriorityNodeConfig node = new PriorityNodeConfig();
+        node.setName(name);
+        node.setCondition(condition);
+        node.setSortBy(sortBy);
+        node.setExecutor(executor);
+        return node;
+    }
+}
@@ -0,0 +1,82 @@
+package com.pool.priority;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the packed PathVector encoding and PriorityKey ordering.
+ */
+class PathVectorTest {
+
+    @Test
+    @DisplayName("Packed comparison matches lexicographic array comparison")
+    void packedOrderMatchesLexicographicOrder() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            int[] a = randomVector(random);
+            int[] b = randomVector(random);
+
+            assertEquals(Integer.signum(Arrays.compare(a, b)),
+                    Integer.signum(PathVector.of(a).compareTo(PathVector.of(b))),
+                    Arrays.toString(a) + " vs " + Arrays.toString(b));
+        }
+    }
+
+    @Test
+    @DisplayName("Levels round-trip through the packed form")
+    void levelsRoundTrip() {
+        int[] values = {1, 2, 3, 4, 5, 6, 7, 8, 9, PathVector.MAX_BRANCH_INDEX};
+        PathVector vector = PathVector.of(values);
+
+        assertArrayEquals(values, vector.toArray());
+        assertEquals(9, vector.get(8));
+        assertEquals(10, vector.getDepth());
+        assertEquals(2, PathVector.of(1, 2).getDepth());
+        assertEquals("[1, 2, 0, 0, 0, 0, 0, 0, 0, 0]", PathVector.of(1, 2).toString());
+        assertEquals(PathVector.of(1, 2), PathVector.builder().set(0, 1).set(1, 2).build());
+    }
+
+    @Test
+    @DisplayName("Unmatched path sorts after any matched path")
+    void unmatchedSortsLast() {
+        assertEquals(PathVector.UNMATCHED_VALUE, PathVector.unmatched().get(0));
+        assertTrue(PathVector.of(998, 998).compareTo(PathVector.unmatched()) < 0);
+        assertTrue(new PriorityKey(PathVector.of(5), Long.MAX_VALUE, 2)
+                .compareTo(PriorityKey.unmatched(1)) < 0);
+    }
+
+    @Test
+    @DisplayName("PriorityKey breaks path ties by sort value, then submission time")
+    void priorityKeyTieBreaks() {
+        PathVector path = PathVector.of(1, 0, 0, 0, 0, 3);
+
+        assertTrue(new PriorityKey(path, 1, 9).compareTo(new PriorityKey(path, 2, 1)) < 0);
+        assertTrue(new PriorityKey(path, 1, 1).compareTo(new PriorityKey(path, 1, 2)) < 0);
+        assertTrue(new PriorityKey(PathVector.of(1, 0, 0, 0, 0, 2), 9, 9)
+                .compareTo(new PriorityKey(path, 1, 1)) < 0);
+        assertEquals(0, new PriorityKey(path, 1, 1).compareTo(new PriorityKey(PathVector.of(1, 0, 0, 0, 0, 3), 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Branch index outside the packed range is rejected")
+    void rejectsOutOfRangeBranch() {
+        assertThrows(IllegalArgumentException.class, () -> PathVector.of(PathVector.MAX_BRANCH_INDEX + 1));
+        assertThrows(IllegalArgumentException.class, () -> PathVector.of(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> PathVector.of(1).get(PathVector.MAX_LEVELS));
+    }
+
+    private static int[] randomVector(Random random) {
+        int[] vector = new int[PathVector.MAX_LEVELS];
+        int depth = random.nextInt(PathVector.MAX_LEVELS + 1);
+        for (int i = 0; i < depth; i++) {
+            // Small range so vectors often share prefixes
+            vector[i] = random.nextInt(4) == 0 ? PathVector.UNMATCHED_VALUE : random.nextInt(4);
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,128 @@
+package com.pool.priority;
+
+import com.pool.config.PriorityNodeConfig;
+import com.pool.config.SortByConfig;
+import com.pool.core.TaskContext;
+import com.pool.core.TaskContextFactory;
+import com.pool.expression.ExpressionEvaluator;
+import com.pool.policy.MatchedNode;
+import com.pool.policy.MatchedPath;
+import com.pool.variable.DefaultVariableResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TreeTraverser on compiled trees, checked against the config walk.
+ */
+class TreeTraverserTest {
+
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator(new DefaultVariableResolver());
+    private final TreeTraverser traverser = new TreeTraverser(evaluator);
+
+    @Test
+    @DisplayName("Indexed equality siblings match the same path as sequential evaluation")
+    void shouldMatchSequentialTraversal() {
+        List<PriorityNodeConfig> config = new ArrayList<>();
+        for (int r = 0; r < 40; r++) {
+            config.add(node("R" + r, "$req.region == \"R" + r + "\"", tiers()));
+        }
+        // Overlaps R3 and R7: reached only if their children reject the request
+        config.add(node("SOME", "$req.region IN (\"R3\", \"R7\", \"X\", 5)", tiers()));
+        config.add(node("NUM", "$req.region == 5.0", tiers()));
+        config.add(node("AMOUNT", "$req.amount > 100", tiers()));
+        config.add(node("DEFAULT", "true", tiers()));
+        CompiledPriorityTree tree = CompiledPriorityTree.compile(config, evaluator);
+        CompiledPriorityTree compiledConditions = CompiledPriorityTree.compile(config,
+                new ExpressionEvaluator(new DefaultVariableResolver(), true));
+        assertTrue(tree.getRootIndex().isIndexed());
+        assertTrue(compiledConditions.getRootIndex().isIndexed());
+
+        List<Object> regions = new ArrayList<>(List.of("R0", "R3", "R7", "R39", "X", "Y", "r3", "5", 5, 5.0, 7L));
+        regions.add(null);
+        for (Object region : regions) {
+            for (Object tier : new Object[]{"GOLD", "SILVER", "NONE", null}) {
+                for (int amount : new int[]{50, 500}) {
+                    Map<String, Object> payload = new HashMap<>();
+                    if (region != null) {
+                        payload.put("region", region);
+                    }
+                    if (tier != null) {
+                        payload.put("tier", tier);
+                    }
+                    payload.put("amount", amount);
+                    TaskContext context = TaskContextFactory.fromObject(payload, Map.of());
+
+                    String expected = pathOf(traverser.traverse(config, context));
+                    assertEquals(expected, pathOf(traverser.traverse(tree, context)), payload.toString());
+                    assertEquals(expected, pathOf(traverser.traverse(compiledConditions, context)), payload.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A matching indexed sibling whose children reject falls through to the next match")
+    void shouldFallThroughWhenChildrenReject() {
+        List<PriorityNodeConfig> config = List.of(
+                node("A", "$req.region == \"EU\"", List.of(leaf("A.GOLD", "$req.tier == \"GOLD\""))),
+                node("B", "$req.region == \"US\"", List.of(leaf("B.ANY", "true"))),
+                node("C", "$req.region IN (\"EU\", \"APAC\")", List.of(leaf("C.ANY", "true"))));
+        CompiledPriorityTree tree = CompiledPriorityTree.compile(config, evaluator);
+
+        TaskContext silver = TaskContextFactory.fromObject(Map.of("region", "EU", "tier", "SILVER"), Map.of());
+        TaskContext gold = TaskContextFactory.fromObject(Map.of("region", "EU", "tier", "GOLD"), Map.of());
+
+        assertEquals("C[3] → C.ANY[1]", pathOf(traverser.traverse(tree, silver)));
+        assertEquals("A[1] → A.GOLD[1]", pathOf(traverser.traverse(tree, gold)));
+    }
+
+    @Test
+    @DisplayName("Short runs and mixed fields are not indexed")
+    void shouldIndexOnlyRunsOnOneField() {
+        CompiledPriorityTree shortRun = CompiledPriorityTree.compile(List.of(
+                leaf("A", "$req.region == \"EU\""),
+                leaf("B", "$req.region == \"US\""),
+                leaf("C", "$req.tier == \"GOLD\""),
+                leaf("D", "$req.region == \"APAC\"")), evaluator);
+
+        assertFalse(shortRun.getRootIndex().isIndexed());
+    }
+
+    private static String pathOf(Optional<MatchedPath> path) {
+        return path.map(p -> p.nodes().stream().map(MatchedNode::toString).collect(Collectors.joining(" → ")))
+                .orElse("-");
+    }
+
+    private static List<PriorityNodeConfig> tiers() {
+        return List.of(
+                leaf("GOLD", "$req.tier == \"GOLD\""),
+                leaf("SILVER", "$req.tier == \"SILVER\" AND $req.amount > 100"),
+                leaf("BRONZE", "$req.tier == \"BRONZE\""));
+    }
+
+    private static PriorityNodeConfig node(String name, String condition, List<PriorityNodeConfig> children) {
+        PriorityNodeConfig node = new PriorityNodeConfig();
+        node.setName(name);
+        node.setCondition(condition);
+        node.setNestedLevels(new ArrayList<>(children));
+        return node;
+    }
+
+    private static PriorityNodeConfig leaf(String name, String condition) {
+        PriorityNodeConfig node = new PriorityNodeConfig();
+        node.setName(name);
+        node.setCondition(condition);
+        node.setSortBy(SortByConfig.fifo());
+        node.setExecutor("main");
+        return node;
+    }
+}
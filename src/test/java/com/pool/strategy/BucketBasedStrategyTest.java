@@ -0,0 +1,113 @@
+package com.pool.strategy;
+
+import com.pool.config.StrategyConfig;
+import com.pool.core.PrioritizedPayload;
+import com.pool.exception.ConfigurationException;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the FIFOStrategy contract against BucketBasedStrategy, plus bucket behavior.
+ */
+class BucketBasedStrategyTest extends FIFOStrategyTest {
+
+    @Override
+    protected PriorityStrategy<String> createStrategy(int capacity) {
+        return new BucketBasedStrategy<>(capacity, config(0, capacity, capacity, capacity, capacity));
+    }
+
+    @Test
+    @DisplayName("Dequeues from the highest non-empty bucket, in arrival order within a bucket")
+    void shouldDequeueByBucketThenArrival() {
+        PriorityStrategy<String> strategy = createStrategy(10);
+        enqueue(strategy, "b2-first", PathVector.of(2, 9));
+        enqueue(strategy, "b2-second", PathVector.of(2, 1));
+        enqueue(strategy, "b9", PathVector.of(9));
+        enqueue(strategy, "b1", PathVector.of(1));
+
+        assertEquals("b1", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("b2-first", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("b2-second", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("b9", strategy.pollNext().orElseThrow().getPayload());
+    }
+
+    @Test
+    @DisplayName("A full bucket rejects while other buckets still accept")
+    void shouldEnforcePerBucketCapacity() {
+        PriorityStrategy<String> strategy = new BucketBasedStrategy<>(10, config(0, 1, 5, 5, 5));
+        PrioritizedPayload<String> first = task("first", 1);
+
+        assertTrue(strategy.enqueue(first));
+        assertFalse(strategy.enqueue(task("second", 1)));
+        assertTrue(strategy.enqueue(task("other", 2)));
+
+        assertTrue(strategy.remove(first));
+        assertTrue(strategy.enqueue(task("second", 1)));
+        assertEquals("second", strategy.pollNext().orElseThrow().getPayload());
+    }
+
+    @Test
+    @DisplayName("Tasks that waited a full interval are promoted one bucket per interval")
+    void shouldPromoteWaitingTasks() throws Exception {
+        PriorityStrategy<String> strategy = new BucketBasedStrategy<>(10, config(50, 5, 5, 5, 5));
+        strategy.enqueue(task("old", 3));
+        Thread.sleep(120);
+        // First poll after the interval promotes "old" from bucket 2 to bucket 1
+        assertTrue(strategy.peekNext().isPresent());
+        strategy.enqueue(task("new", 2));
+
+        assertEquals("old", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("new", strategy.pollNext().orElseThrow().getPayload());
+    }
+
+    @Test
+    @DisplayName("Promotion stops at a full bucket and keeps the task where it is")
+    void shouldNotPromoteIntoFullBucket() throws Exception {
+        PriorityStrategy<String> strategy = new BucketBasedStrategy<>(10, config(20, 1, 5, 5, 5));
+        strategy.enqueue(task("top", 1));
+        strategy.enqueue(task("waiting", 2));
+        Thread.sleep(60);
+
+        assertEquals("top", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("waiting", strategy.pollNext().orElseThrow().getPayload());
+        assertTrue(strategy.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Invalid bucket settings are rejected")
+    void shouldRejectInvalidConfig() {
+        StrategyConfig.BucketBasedConfig mismatched = config(0, 1, 2);
+        mismatched.setBucketCount(4);
+        assertThrows(ConfigurationException.class, () -> new BucketBasedStrategy<String>(10, mismatched));
+        assertThrows(ConfigurationException.class,
+                () -> new BucketBasedStrategy<String>(10, config(0, 1, 0)));
+    }
+
+    @Test
+    @DisplayName("Factory creates BUCKET_BASED with default settings when none are configured")
+    void shouldCreateFromFactory() {
+        StrategyConfig config = new StrategyConfig();
+        config.setType(StrategyType.BUCKET_BASED);
+
+        PriorityStrategy<String> strategy = PriorityStrategyFactory.create(config, 10);
+
+        assertEquals("BUCKET_BASED", strategy.getName());
+    }
+
+    private static StrategyConfig.BucketBasedConfig config(long promotionIntervalMs, int... capacities) {
+        StrategyConfig.BucketBasedConfig config = new StrategyConfig.BucketBasedConfig();
+        config.setBucketCount(capacities.length);
+        config.setBucketCapacities(capacities);
+        config.setPromotionIntervalMs(promotionIntervalMs);
+        return config;
+    }
+
+    private static void enqueue(PriorityStrategy<String> strategy, String payload, PathVector path) {
+        assertTrue(strategy.enqueue(new PrioritizedPayload<>(payload, payload,
+                new PriorityKey(path, 0, System.currentTimeMillis()))));
+    }
+}
@@ -0,0 +1,139 @@
+package com.pool.strategy;
+
+import com.pool.core.PrioritizedPayload;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for FIFOStrategy ordering, capacity and removal of queued entries.
+ * Subclasses rerun them against other strategies with the same contract.
+ */
+class FIFOStrategyTest {
+
+    private PriorityStrategy<String> strategy;
+    private long clock;
+
+    @BeforeEach
+    void setUp() {
+        strategy = createStrategy(3);
+    }
+
+    @Test
+    @DisplayName("Should poll by priority, then FIFO")
+    void shouldPollInPriorityOrder() {
+        strategy.enqueue(task("a", 2));
+        strategy.enqueue(task("b", 1));
+        strategy.enqueue(task("c", 1));
+
+        assertEquals("b", strategy.peekNext().orElseThrow().getPayload());
+        assertEquals("b", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("c", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("a", strategy.pollNext().orElseThrow().getPayload());
+        assertTrue(strategy.pollNext().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Removal frees capacity immediately and the entry is never polled")
+    void shouldRemoveQueuedEntry() {
+        PrioritizedPayload<String> a = task("a", 0);
+        strategy.enqueue(a);
+        strategy.enqueue(task("b", 1));
+        strategy.enqueue(task("c", 1));
+        assertFalse(strategy.enqueue(task("d", 1)));
+
+        assertTrue(strategy.remove(a));
+        assertEquals(2, strategy.getQueueSize());
+        assertEquals(1, strategy.getRemainingCapacity());
+        assertTrue(strategy.enqueue(task("d", 1)));
+
+        assertEquals("b", strategy.peekNext().orElseThrow().getPayload());
+        assertEquals("b", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("c", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("d", strategy.pollNext().orElseThrow().getPayload());
+        assertTrue(strategy.isEmpty());
+        assertEquals(3, strategy.getRemainingCapacity());
+    }
+
+    @Test
+    @DisplayName("Removal and dequeue are mutually exclusive")
+    void shouldRemoveAtMostOnce() throws Exception {
+        PrioritizedPayload<String> a = task("a", 0);
+        PrioritizedPayload<String> b = task("b", 0);
+        strategy.enqueue(a);
+        strategy.enqueue(b);
+
+        assertTrue(strategy.remove(b));
+        assertFalse(strategy.remove(b));
+
+        assertSame(a, strategy.pollNext(100, TimeUnit.MILLISECONDS).orElseThrow());
+        assertFalse(strategy.remove(a));
+        assertTrue(strategy.pollNext(20, TimeUnit.MILLISECONDS).isEmpty());
+        assertEquals(3, strategy.getRemainingCapacity());
+    }
+
+    @Test
+    @DisplayName("drainTo removes up to the limit in priority order and skips removed entries")
+    void shouldDrainInPriorityOrder() {
+        PriorityStrategy<String> large = createStrategy(10);
+        PrioritizedPayload<String> removed = task("removed", 1);
+        large.enqueue(task("c", 3));
+        large.enqueue(removed);
+        large.enqueue(task("a", 1));
+        large.enqueue(task("b", 2));
+        large.enqueue(task("d", 4));
+        assertTrue(large.remove(removed));
+
+        List<PrioritizedPayload<String>> drained = new ArrayList<>();
+        assertEquals(3, large.drainTo(drained, 3));
+
+        assertEquals(List.of("a", "b", "c"), drained.stream().map(PrioritizedPayload::getPayload).toList());
+        assertEquals(1, large.getQueueSize());
+        assertEquals(9, large.getRemainingCapacity());
+        assertEquals(1, large.drainTo(drained, 5));
+        assertEquals(0, large.drainTo(drained, 5));
+        assertTrue(large.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Removed entries are purged in bulk")
+    void shouldPurgeRemovedEntries() {
+        PriorityStrategy<String> large = createStrategy(1000);
+        List<PrioritizedPayload<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            PrioritizedPayload<String> t = task("t" + i, 0);
+            tasks.add(t);
+            large.enqueue(t);
+        }
+
+        // Remove from the tail so nothing reaches the head lazily
+        for (int i = 499; i >= 100; i--) {
+            assertTrue(large.remove(tasks.get(i)));
+        }
+
+        assertEquals(100, large.getQueueSize());
+        assertEquals(900, large.getRemainingCapacity());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("t" + i, large.pollNext().orElseThrow().getPayload());
+        }
+        assertTrue(large.pollNext().isEmpty());
+        assertTrue(large.isEmpty());
+    }
+
+    protected PriorityStrategy<String> createStrategy(int capacity) {
+        return new FIFOStrategy<>(capacity);
+    }
+
+    protected PrioritizedPayload<String> task(String payload, int branch) {
+        return new PrioritizedPayload<>(payload, payload,
+                new PriorityKey(PathVector.of(branch), 0, clock++));
+    }
+}
@@ -0,0 +1,231 @@
+package com.pool.strategy;
+
+import com.pool.core.PrioritizedPayload;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PartitionedStrategy (per-executor sub-queues, shared capacity).
+ */
+class PartitionedStrategyTest {
+
+    private PartitionedStrategy<String> strategy;
+    private long clock;
+
+    @BeforeEach
+    void setUp() {
+        // Payload "vip:1" → partition "vip"
+        Function<String, String> partitioner = payload -> payload.substring(0, payload.indexOf(':'));
+        strategy = new PartitionedStrategy<>(5, partitioner, () -> new FIFOStrategy<>(5));
+    }
+
+    @Test
+    @DisplayName("Should poll heads across partitions in priority order")
+    void shouldPollInPriorityOrder() {
+        strategy.enqueue(task("bulk:1", 2));
+        strategy.enqueue(task("vip:1", 1));
+        strategy.enqueue(task("bulk:2", 1));
+
+        assertEquals("vip:1", strategy.peekNext().orElseThrow().getPayload());
+        assertEquals("vip:1", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("bulk:2", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("bulk:1", strategy.pollNext().orElseThrow().getPayload());
+        assertTrue(strategy.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should skip a rejected partition and take the next head")
+    void shouldSkipRejectedPartition() {
+        strategy.enqueue(task("bulk:1", 0));
+        strategy.enqueue(task("bulk:2", 0));
+        strategy.enqueue(task("vip:1", 3));
+
+        List<String> offered = new ArrayList<>();
+        Optional<PrioritizedPayload<String>> polled = strategy.pollNext(partition -> {
+            offered.add(partition);
+            return !partition.equals("bulk");
+        });
+
+        assertEquals("vip:1", polled.orElseThrow().getPayload());
+        assertEquals(List.of("bulk", "vip"), offered);
+        assertEquals(2, strategy.getQueueSize());
+        assertEquals(List.of("bulk"), strategy.getPendingPartitions());
+    }
+
+    @Test
+    @DisplayName("Should return empty when no partition is admitted")
+    void shouldReturnEmptyWhenNothingAdmitted() {
+        strategy.enqueue(task("bulk:1", 0));
+        strategy.enqueue(task("vip:1", 0));
+
+        assertTrue(strategy.pollNext(partition -> false).isEmpty());
+        assertEquals(2, strategy.getQueueSize());
+        assertEquals(Set.of("bulk", "vip"), Set.copyOf(strategy.getPendingPartitions()));
+    }
+
+    @Test
+    @DisplayName("Should enforce capacity shared across partitions")
+    void shouldEnforceSharedCapacity() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(strategy.enqueue(task("bulk:" + i, 0)));
+        }
+        assertTrue(strategy.enqueue(task("vip:1", 0)));
+        assertTrue(strategy.enqueue(task("vip:2", 0)));
+
+        assertFalse(strategy.enqueue(task("vip:3", 0)));
+        assertEquals(0, strategy.getRemainingCapacity());
+
+        strategy.pollNext();
+        assertTrue(strategy.enqueue(task("vip:3", 0)));
+    }
+
+    @Test
+    @DisplayName("Should drop stale heads without offering their partition")
+    void shouldDropStaleHeads() {
+        strategy.enqueue(task("vip:stale", 0));
+        strategy.enqueue(task("bulk:1", 1));
+
+        List<String> offered = new ArrayList<>();
+        Optional<PrioritizedPayload<String>> polled = strategy.pollNext(
+                payload -> payload.endsWith("stale"),
+                partition -> offered.add(partition),
+                partition -> fail("nothing to release"));
+
+        assertEquals("bulk:1", polled.orElseThrow().getPayload());
+        assertEquals(List.of("bulk"), offered);
+        assertTrue(strategy.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should release the admission when the admitted head is removed before the poll")
+    void shouldReleaseAdmissionOfRemovedHead() {
+        PrioritizedPayload<String> vip = task("vip:1", 0);
+        strategy.enqueue(vip);
+        strategy.enqueue(task("bulk:1", 1));
+
+        List<String> released = new ArrayList<>();
+        Optional<PrioritizedPayload<String>> polled = strategy.pollNext(
+                payload -> false,
+                partition -> {
+                    // Caller gives up between the peek and the poll
+                    if (partition.equals("vip")) {
+                        strategy.remove(vip);
+                    }
+                    return true;
+                },
+                released::add);
+
+        assertEquals("bulk:1", polled.orElseThrow().getPayload());
+        assertEquals(List.of("vip"), released);
+        assertTrue(strategy.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should remove a queued entry and release shared capacity")
+    void shouldRemoveQueuedEntry() {
+        PrioritizedPayload<String> vip = task("vip:1", 0);
+        strategy.enqueue(vip);
+        strategy.enqueue(task("bulk:1", 1));
+
+        assertTrue(strategy.remove(vip));
+        assertFalse(strategy.remove(vip));
+        assertEquals(1, strategy.getQueueSize());
+        assertEquals(List.of("bulk"), strategy.getPendingPartitions());
+        assertEquals("bulk:1", strategy.pollNext().orElseThrow().getPayload());
+    }
+
+    @Test
+    @DisplayName("Should count enqueues")
+    void shouldCountEnqueues() {
+        long before = strategy.getEnqueueCount();
+        strategy.enqueue(task("vip:1", 0));
+        assertEquals(before + 1, strategy.getEnqueueCount());
+    }
+
+    @Test
+    @DisplayName("Timed poll should wait for an enqueue")
+    void timedPollShouldWaitForEnqueue() throws Exception {
+        assertTrue(strategy.pollNext(20, TimeUnit.MILLISECONDS).isEmpty());
+
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            strategy.enqueue(task("vip:1", 0));
+        });
+        producer.start();
+
+        Optional<PrioritizedPayload<String>> polled = strategy.pollNext(2, TimeUnit.SECONDS);
+        producer.join();
+        assertEquals("vip:1", polled.orElseThrow().getPayload());
+    }
+
+    @Test
+    @DisplayName("Should reject after shutdown")
+    void shouldRejectAfterShutdown() {
+        strategy.shutdown();
+        assertFalse(strategy.enqueue(task("vip:1", 0)));
+    }
+
+    @Test
+    @DisplayName("Weighted partitions are polled in proportion to their weights, lower priority included")
+    void shouldPollInWeightedOrder() {
+        Function<String, String> partitioner = payload -> payload.substring(0, payload.indexOf(':'));
+        PartitionedStrategy<String> weighted = new PartitionedStrategy<>(20, partitioner,
+                () -> new FIFOStrategy<>(20), partition -> partition.equals("vip") ? 3 : 1);
+        for (int i = 0; i < 8; i++) {
+            weighted.enqueue(task("bulk:" + i, 1));
+            weighted.enqueue(task("vip:" + i, 2));
+        }
+
+        StringBuilder order = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            order.append(weighted.pollNext().orElseThrow().getPayload().charAt(0));
+        }
+        // Ties go to priority (bulk), then vip gets three turns per bulk turn
+        assertEquals("bvvvbvvv", order.toString());
+    }
+
+    @Test
+    @DisplayName("A throttled weighted partition does not bank turns while others are admitted")
+    void weightedPartitionDoesNotBankTurns() {
+        Function<String, String> partitioner = payload -> payload.substring(0, payload.indexOf(':'));
+        PartitionedStrategy<String> weighted = new PartitionedStrategy<>(20, partitioner,
+                () -> new FIFOStrategy<>(20), partition -> 1);
+        for (int i = 0; i < 6; i++) {
+            weighted.enqueue(task("bulk:" + i, 1));
+            weighted.enqueue(task("vip:" + i, 2));
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals('v', weighted.pollNext(partition -> !partition.equals("bulk"))
+                    .orElseThrow().getPayload().charAt(0));
+        }
+        // bulk restarts at the current virtual time: one catch-up turn, then alternation,
+        // not four bulk turns in a row
+        StringBuilder order = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            order.append(weighted.pollNext().orElseThrow().getPayload().charAt(0));
+        }
+        assertEquals("bbvbv", order.toString());
+    }
+
+    private PrioritizedPayload<String> task(String payload, int branch) {
+        return new PrioritizedPayload<>(payload, payload,
+                new PriorityKey(PathVector.of(branch), 0, clock++));
+    }
+}
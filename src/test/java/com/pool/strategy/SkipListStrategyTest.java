@@ -0,0 +1,102 @@
+package com.pool.strategy;
+
+import com.pool.core.PrioritizedPayload;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the FIFOStrategy contract against SkipListStrategy, plus skip-list specifics.
+ */
+class SkipListStrategyTest extends FIFOStrategyTest {
+
+    @Override
+    protected PriorityStrategy<String> createStrategy(int capacity) {
+        return new SkipListStrategy<>(capacity);
+    }
+
+    @Test
+    @DisplayName("Entries with identical priority keys are kept and polled in enqueue order")
+    void shouldKeepEqualKeysInArrivalOrder() {
+        PriorityStrategy<String> strategy = createStrategy(10);
+        PriorityKey key = new PriorityKey(PathVector.of(1), 0, 42);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(strategy.enqueue(new PrioritizedPayload<>("t" + i, "t" + i, key)));
+        }
+
+        assertEquals(5, strategy.getQueueSize());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("t" + i, strategy.pollNext().orElseThrow().getPayload());
+        }
+    }
+
+    @Test
+    @DisplayName("Timed poll wakes up when a task is enqueued")
+    void shouldWakeBlockedConsumer() throws Exception {
+        PriorityStrategy<String> strategy = createStrategy(10);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<PrioritizedPayload<String>>> polled =
+                    pool.submit(() -> strategy.pollNext(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            strategy.enqueue(task("a", 1));
+
+            assertEquals("a", polled.get(1, TimeUnit.SECONDS).orElseThrow().getPayload());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent producers and a consumer neither lose nor duplicate tasks")
+    void shouldHandleConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 2_000;
+        PriorityStrategy<String> strategy = createStrategy(producers * perProducer);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        String id = producer + "-" + i;
+                        assertTrue(strategy.enqueue(new PrioritizedPayload<>(id, id,
+                                new PriorityKey(PathVector.of(1 + i % 3), 0, i))));
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            Set<String> seen = new HashSet<>();
+            while (seen.size() < producers * perProducer) {
+                strategy.pollNext(1, TimeUnit.SECONDS)
+                        .ifPresent(task -> assertTrue(seen.add(task.getPayload()), task.getPayload()));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertTrue(strategy.isEmpty());
+            assertEquals(producers * perProducer, strategy.getRemainingCapacity());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.pool.strategy;
+
+import com.pool.config.StrategyConfig;
+import com.pool.core.PrioritizedPayload;
+import com.pool.exception.ConfigurationException;
+import com.pool.priority.PathVector;
+import com.pool.priority.PriorityKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the FIFOStrategy contract against TimeBasedStrategy, plus aging behavior.
+ */
+class TimeBasedStrategyTest extends FIFOStrategyTest {
+
+    @Override
+    protected PriorityStrategy<String> createStrategy(int capacity) {
+        return new TimeBasedStrategy<>(capacity, new StrategyConfig.TimeBasedConfig());
+    }
+
+    @Test
+    @DisplayName("A task that waited long enough overtakes a newer task in a higher branch")
+    void shouldAgeWaitingTask() throws Exception {
+        PriorityStrategy<String> strategy = new TimeBasedStrategy<>(10, config(50, 1, 100, 0));
+        strategy.enqueue(task("old", 3));
+        Thread.sleep(250);
+        strategy.enqueue(task("new", 1));
+
+        assertEquals("old", strategy.peekNext().orElseThrow().getPayload());
+        assertEquals("old", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("new", strategy.pollNext().orElseThrow().getPayload());
+    }
+
+    @Test
+    @DisplayName("Boost never exceeds max-boost")
+    void shouldCapBoost() throws Exception {
+        PriorityStrategy<String> strategy = new TimeBasedStrategy<>(10, config(20, 1, 1, 0));
+        strategy.enqueue(task("old", 3));
+        Thread.sleep(200);
+        strategy.enqueue(task("new", 1));
+
+        assertEquals("new", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("old", strategy.pollNext().orElseThrow().getPayload());
+    }
+
+    @Test
+    @DisplayName("Capped and still-aging tasks are merged by effective priority")
+    void shouldMergeCappedAndAgingTasks() throws Exception {
+        PriorityStrategy<String> strategy = new TimeBasedStrategy<>(10, config(20, 1, 2, 0));
+        strategy.enqueue(task("capped", 4));
+        Thread.sleep(200);
+        strategy.enqueue(task("young", 5));
+        strategy.enqueue(task("top", 1));
+
+        // capped: 4 - 2 = 2, young: at least 5 - 2 = 3, top: 1
+        assertEquals("top", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("capped", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("young", strategy.pollNext().orElseThrow().getPayload());
+    }
+
+    @Test
+    @DisplayName("Aging only reorders tasks within the same prefix above the aging level")
+    void shouldNotOvertakeAcrossPrefix() throws Exception {
+        PriorityStrategy<String> strategy = new TimeBasedStrategy<>(10, config(20, 1, 100, 1));
+        enqueue(strategy, "otherRoot", PathVector.of(2, 1));
+        enqueue(strategy, "old", PathVector.of(1, 5));
+        Thread.sleep(200);
+        enqueue(strategy, "new", PathVector.of(1, 1));
+
+        assertEquals("old", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("new", strategy.pollNext().orElseThrow().getPayload());
+        assertEquals("otherRoot", strategy.pollNext().orElseThrow().getPayload());
+    }
+
+    @Test
+    @DisplayName("Removed tasks are skipped after they have been capped")
+    void shouldSkipRemovedCappedTask() throws Exception {
+        PriorityStrategy<String> strategy = new TimeBasedStrategy<>(10, config(20, 1, 1, 0));
+        PrioritizedPayload<String> removed = task("removed", 1);
+        strategy.enqueue(removed);
+        strategy.enqueue(task("kept", 2));
+        Thread.sleep(100);
+
+        assertTrue(strategy.peekNext().isPresent());
+        assertTrue(strategy.remove(removed));
+        assertEquals("kept", strategy.pollNext().orElseThrow().getPayload());
+        assertTrue(strategy.pollNext().isEmpty());
+        assertTrue(strategy.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Invalid aging settings are rejected")
+    void shouldRejectInvalidConfig() {
+        assertThrows(ConfigurationException.class,
+                () -> new TimeBasedStrategy<String>(10, config(0, 1, 100, 0)));
+        assertThrows(ConfigurationException.class,
+                () -> new TimeBasedStrategy<String>(10, config(100, 1, 100, PathVector.MAX_LEVELS)));
+    }
+
+    @Test
+    @DisplayName("Factory creates TIME_BASED with default settings when none are configured")
+    void shouldCreateFromFactory() {
+        StrategyConfig config = new StrategyConfig();
+        config.setType(StrategyType.TIME_BASED);
+
+        PriorityStrategy<String> strategy = PriorityStrategyFactory.create(config, 10);
+
+        assertEquals("TIME_BASED", strategy.getName());
+    }
+
+    private static StrategyConfig.TimeBasedConfig config(long intervalMs, long boost, long maxBoost, int level) {
+        StrategyConfig.TimeBasedConfig config = new StrategyConfig.TimeBasedConfig();
+        config.setAgingIntervalMs(intervalMs);
+        config.setBoostPerInterval(boost);
+        config.setMaxBoost(maxBoost);
+        config.setAgingLevel(level);
+        return config;
+    }
+
+    private static void enqueue(PriorityStrategy<String> strategy, String payload, PathVector path) {
+        assertTrue(strategy.enqueue(new PrioritizedPayload<>(payload, payload,
+                new PriorityKey(path, 0, System.currentTimeMillis()))));
+    }
+}